@@ -0,0 +1,111 @@
+package com.turkcell.aimobile.benchmarks;
+
+import com.turkcell.aimobile.AiMobileApplication;
+import com.turkcell.aimobile.application.CategoryApplicationService;
+import com.turkcell.aimobile.infrastructure.persistence.h2.adapter.ProductRepositoryJpaAdapter;
+import com.turkcell.aimobile.model.Category;
+import com.turkcell.aimobile.model.Product;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shared fixtures: deterministic products and a backend context on a private H2 database.
+ */
+final class Catalog {
+
+    /** One of these words starts every product name, so a search for one hits 1/16 of the rows. */
+    static final String[] WORDS = {
+            "nova", "galaxy", "pixel", "redmi", "iphone", "xperia", "moto", "zenfone",
+            "oneplus", "poco", "mate", "find", "reno", "blade", "aquos", "lumia"
+    };
+
+    private static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    private static final int SEED_BATCH = 10_000;
+
+    private Catalog() {
+    }
+
+    static Product product(int i, String categoryId) {
+        Product p = new Product();
+        p.setId(new UUID(0L, i).toString());
+        p.setName(WORDS[i % WORDS.length] + " model " + i);
+        p.setSku("SKU-" + i);
+        p.setDescription("Smartphone number " + i + " with " + WORDS[(i / 7) % WORDS.length] + " camera and a large battery");
+        p.setPrice(100.0 + (i % 5000));
+        p.setCurrency("TRY");
+        p.setIsActive(i % 10 != 0);
+        p.setCategoryId(categoryId);
+        p.setImageUrl("https://cdn.example.com/p/" + i + ".jpg");
+        p.setCreatedAt(EPOCH.plusSeconds(i));
+        p.setUpdatedAt(EPOCH.plusSeconds(i));
+        return p;
+    }
+
+    static List<Product> products(int count, String categoryId) {
+        List<Product> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(product(i, categoryId));
+        }
+        return list;
+    }
+
+    /**
+     * Start the backend without a web server on its own in-memory database.
+     */
+    static ConfigurableApplicationContext start(String database) {
+        return new SpringApplicationBuilder(AiMobileApplication.class)
+                .web(WebApplicationType.NONE)
+                // arguments, not default properties, so they win over application.yml
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--app.cache.products.warmup-size=0");
+    }
+
+    static String createCategory(ConfigurableApplicationContext context) {
+        Category category = new Category();
+        category.setId(UUID.randomUUID().toString());
+        category.setName("Phones");
+        return context.getBean(CategoryApplicationService.class).create(category).getId();
+    }
+
+    /**
+     * Bulk insert {@code rows} products with plain JDBC batches; far faster than going
+     * through JPA, which matters at a million rows. Every column the migrations add is
+     * filled the way a write through the adapter would (version 0, the next change_seq of
+     * V4), and the adapter then reloads its counters, change sequence and indexes, as it
+     * does on startup.
+     */
+    static void seed(ConfigurableApplicationContext context, int rows, String categoryId) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        long lastChangeSeq = jdbc.queryForObject("SELECT COALESCE(MAX(change_seq), 0) FROM products", Long.class);
+        String sql = "INSERT INTO products (id, name, sku, description, price, currency, is_active, "
+                + "category_id, image_url, created_at, updated_at, version, change_seq) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?)";
+        for (int from = 0; from < rows; from += SEED_BATCH) {
+            List<Object[]> batch = new ArrayList<>(SEED_BATCH);
+            for (int i = from; i < Math.min(rows, from + SEED_BATCH); i++) {
+                Product p = product(i, categoryId);
+                batch.add(new Object[]{
+                        p.getId(), p.getName(), p.getSku(), p.getDescription(), p.getPrice(), p.getCurrency(),
+                        p.getIsActive(), p.getCategoryId(), p.getImageUrl(),
+                        Timestamp.from(p.getCreatedAt()), Timestamp.from(p.getUpdatedAt()), lastChangeSeq + i + 1
+                });
+            }
+            jdbc.batchUpdate(sql, batch);
+        }
+        ProductRepositoryJpaAdapter adapter = context.getBean(ProductRepositoryJpaAdapter.class);
+        adapter.loadActiveCounts();
+        adapter.loadChangeSequence();
+        adapter.rebuildIndexes();
+    }
+}
@@ -0,0 +1,63 @@
+package com.turkcell.aimobile.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkcell.aimobile.dto.v2.PagedProductV2Response;
+import com.turkcell.aimobile.dto.v2.ProductV2Response;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.web.mapper.ProductV2WebMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing a list response, configured the way Spring MVC configures its ObjectMapper
+ * (JavaTimeModule, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"20", "100", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PagedProductV2Response<ProductV2Response> response;
+    private PagedProductV2Response<?> summaryResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ProductV2WebMapper mapper = new ProductV2WebMapper();
+        List<Product> products = Catalog.products(pageSize, "category-1");
+        response = mapper.toPagedResponse(products, 0, pageSize, 100_000);
+        summaryResponse = mapper.toPagedResponse(products, 0, pageSize, 100_000, ProductField.SUMMARY);
+    }
+
+    @Benchmark
+    public byte[] pagedResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] pagedSummaryResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaryResponse);
+    }
+}
@@ -0,0 +1,175 @@
+package com.turkcell.aimobile.benchmarks;
+
+import com.turkcell.aimobile.AiMobileApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against {@code GET /api/v2/products}, to compare the platform-thread
+ * and virtual-thread request modes. The backend is started in-process on a random port,
+ * seeded, warmed up, then driven by {@code concurrency} clients for {@code duration}.
+ * Throughput and latency percentiles are printed and written to {@code load-<mode>.json}.
+ *
+ * Arguments (key=value): mode=platform|virtual, rows=100000, concurrency=400,
+ * warmup=10s, duration=30s, out=target.
+ */
+public final class LoadTest {
+
+    private static final String[] QUERIES = {
+            "?page=0&size=20",
+            "?page=5&size=20&sort=price,asc",
+            "?q=nova&size=20",
+            "?q=galaxy&size=20&includeTotal=false",
+    };
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> opts = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                opts.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        String mode = opts.getOrDefault("mode", "platform");
+        int rows = Integer.parseInt(opts.getOrDefault("rows", "100000"));
+        int concurrency = Integer.parseInt(opts.getOrDefault("concurrency", "400"));
+        Duration warmup = Duration.parse("PT" + opts.getOrDefault("warmup", "10s"));
+        Duration duration = Duration.parse("PT" + opts.getOrDefault("duration", "30s"));
+        Path out = Path.of(opts.getOrDefault("out", "target"));
+
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && Runtime.version().feature() < 21) {
+            System.err.println("mode=virtual needs a Java 21+ runtime (running " + Runtime.version() + ")");
+            System.exit(2);
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(AiMobileApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run("--server.port=0",
+                        "--spring.profiles.active=" + (virtual ? "virtual" : "default"),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN");
+        try {
+            String categoryId = Catalog.createCategory(context);
+            Catalog.seed(context, rows, categoryId);
+
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v2/products";
+            run(base, concurrency, warmup);
+            Result result = run(base, concurrency, duration);
+
+            String json = String.format(Locale.ROOT,
+                    "{\"mode\":\"%s\",\"java\":\"%s\",\"rows\":%d,\"concurrency\":%d,\"durationSeconds\":%d,"
+                            + "\"requests\":%d,\"errors\":%d,\"throughput\":%.1f,"
+                            + "\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}%n",
+                    mode, Runtime.version(), rows, concurrency, duration.toSeconds(),
+                    result.requests(), result.errors(), result.requests() / (double) duration.toSeconds(),
+                    result.percentile(50), result.percentile(90), result.percentile(99), result.percentile(100));
+            System.out.print(json);
+            Files.createDirectories(out);
+            Files.writeString(out.resolve("load-" + mode + ".json"), json);
+        } finally {
+            context.close();
+        }
+    }
+
+    private static Result run(String base, int concurrency, Duration duration) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        long[][] samples = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        for (int w = 0; w < concurrency; w++) {
+            int worker = w;
+            workers.execute(() -> {
+                long[] own = new long[1024];
+                int n = 0;
+                int i = worker;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(base + QUERIES[i++ % QUERIES.length]))
+                                .timeout(Duration.ofSeconds(30))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException ex) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (n == own.length) {
+                            own = Arrays.copyOf(own, n * 2);
+                        }
+                        own[n++] = System.nanoTime() - start;
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    samples[worker] = own;
+                    counts[worker] = n;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        workers.shutdown();
+
+        int total = 0;
+        for (int c : counts) {
+            total += c;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (int w = 0; w < concurrency; w++) {
+            System.arraycopy(samples[w], 0, all, at, counts[w]);
+            at += counts[w];
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private record Result(long[] latencies, long errors) {
+
+        long requests() {
+            return latencies.length;
+        }
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+    }
+}
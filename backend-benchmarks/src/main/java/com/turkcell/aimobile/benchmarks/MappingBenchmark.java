@@ -0,0 +1,70 @@
+package com.turkcell.aimobile.benchmarks;
+
+import com.turkcell.aimobile.dto.v2.PagedProductV2Response;
+import com.turkcell.aimobile.dto.v2.ProductV2Response;
+import com.turkcell.aimobile.infrastructure.mapper.ProductEntityMapper;
+import com.turkcell.aimobile.infrastructure.persistence.h2.entity.ProductEntity;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.web.mapper.ProductV2WebMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity ↔ domain ↔ DTO mapping cost for one product and for a whole page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private final ProductEntityMapper entityMapper = new ProductEntityMapper();
+    private final ProductV2WebMapper webMapper = new ProductV2WebMapper();
+    private Product product;
+    private ProductEntity entity;
+    private List<Product> page;
+
+    @Setup
+    public void setUp() {
+        product = Catalog.product(42, "category-1");
+        entity = entityMapper.toEntity(product);
+        page = Catalog.products(pageSize, "category-1");
+    }
+
+    @Benchmark
+    public ProductEntity entityFromDomain() {
+        return entityMapper.toEntity(product);
+    }
+
+    @Benchmark
+    public Product domainFromEntity() {
+        return entityMapper.toDomain(entity);
+    }
+
+    @Benchmark
+    public ProductV2Response responseFromDomain() {
+        return webMapper.toResponse(product);
+    }
+
+    @Benchmark
+    public PagedProductV2Response<ProductV2Response> pagedResponse() {
+        return webMapper.toPagedResponse(page, 0, pageSize, 10_000);
+    }
+}
@@ -0,0 +1,66 @@
+package com.turkcell.aimobile.benchmarks;
+
+import com.turkcell.aimobile.application.ProductApplicationService;
+import com.turkcell.aimobile.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Full create path through the application service: category check, insert (name and SKU
+ * uniqueness enforced by the table's constraints), change sequence, counters, search index
+ * and cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class ProductCreateBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductApplicationService service;
+    private String categoryId;
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        context = Catalog.start("create" + rows);
+        service = context.getBean(ProductApplicationService.class);
+        categoryId = Catalog.createCategory(context);
+        Catalog.seed(context, rows, categoryId);
+        next.set(rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Product create() {
+        Product p = Catalog.product(next.getAndIncrement(), categoryId);
+        p.setId(UUID.randomUUID().toString());
+        p.setIsActive(true);
+        p.setCreatedAt(null);
+        return service.create(p);
+    }
+}
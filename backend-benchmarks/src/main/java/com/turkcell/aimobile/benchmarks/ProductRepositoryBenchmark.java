@@ -0,0 +1,116 @@
+package com.turkcell.aimobile.benchmarks;
+
+import com.turkcell.aimobile.infrastructure.persistence.h2.adapter.ProductRepositoryJpaAdapter;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductCursor;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.model.ProductSlice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * List, search and count paths of the JPA adapter against a seeded H2 database.
+ * The adapter is called directly, below the product cache, so every call reaches the
+ * database or the search index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx6g"})
+public class ProductRepositoryBenchmark {
+
+    private static final int PAGE = 20;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepositoryJpaAdapter adapter;
+    private String categoryId;
+    private int deepPage;
+    private ProductCursor midCursor;
+
+    @Setup
+    public void setUp() {
+        context = Catalog.start("products" + rows);
+        adapter = context.getBean(ProductRepositoryJpaAdapter.class);
+        categoryId = Catalog.createCategory(context);
+        Catalog.seed(context, rows, categoryId);
+
+        deepPage = (int) (adapter.count() / 2 / PAGE);
+        Product mid = Catalog.product(rows / 2, categoryId);
+        midCursor = new ProductCursor("createdAt", false, List.of(mid.getCreatedAt()), mid.getId());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Product> listFirstPage() {
+        return adapter.findAll(0, PAGE, "createdAt", false);
+    }
+
+    @Benchmark
+    public List<Product> listMiddlePageByOffset() {
+        return adapter.findAll(deepPage, PAGE, "createdAt", false);
+    }
+
+    @Benchmark
+    public ProductSlice listMiddlePageByCursor() {
+        return adapter.findAfter(null, null, midCursor, PAGE, "createdAt", false, null);
+    }
+
+    @Benchmark
+    public ProductSlice listFirstPageWithoutCount() {
+        return adapter.findSlice(categoryId, null, 0, PAGE, "createdAt", false, null);
+    }
+
+    @Benchmark
+    public ProductSlice listFirstPageSummaryFields() {
+        return adapter.findSlice(categoryId, null, 0, PAGE, "createdAt", false, ProductField.SUMMARY);
+    }
+
+    @Benchmark
+    public List<Product> searchIndexed() {
+        return adapter.search("nova", 0, PAGE, "relevance", false);
+    }
+
+    @Benchmark
+    public List<Product> searchShortQuery() {
+        // below the trigram length, so this runs as a LIKE scan
+        return adapter.search("no", 0, PAGE, "createdAt", false);
+    }
+
+    @Benchmark
+    public long count() {
+        return adapter.count();
+    }
+
+    @Benchmark
+    public long countSearchIndexed() {
+        return adapter.countSearch(null, "nova");
+    }
+
+    @Benchmark
+    public long countSearchShortQuery() {
+        return adapter.countSearch(null, "no");
+    }
+}
@@ -1,20 +1,35 @@
 package com.turkcell.aimobile.application;
 
+import com.turkcell.aimobile.domain.port.CatalogEventPublisher;
 import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
 import com.turkcell.aimobile.exception.ConflictException;
+import com.turkcell.aimobile.exception.PreconditionFailedException;
 import com.turkcell.aimobile.exception.ProductNotFoundException;
+import com.turkcell.aimobile.model.CatalogChange;
 import com.turkcell.aimobile.model.Category;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 
 public class CategoryApplicationService {
 
     private final CategoryRepositoryPort repository;
+    private final CatalogVersion catalogVersion;
+    private final CatalogEventPublisher events;
 
-    public CategoryApplicationService(CategoryRepositoryPort repository) {
+    public CategoryApplicationService(CategoryRepositoryPort repository, CatalogVersion catalogVersion,
+                                      CatalogEventPublisher events) {
         this.repository = Objects.requireNonNull(repository, "repository");
+        this.catalogVersion = Objects.requireNonNull(catalogVersion, "catalogVersion");
+        this.events = Objects.requireNonNull(events, "events");
+    }
+
+    public long catalogVersion() {
+        return catalogVersion.current();
     }
 
     public List<Category> list(int page, int size) {
@@ -29,8 +44,33 @@ public class CategoryApplicationService {
         return repository.findById(id).orElseThrow(() -> new ProductNotFoundException("Category not found: " + id));
     }
 
+    /**
+     * The category's ancestors from the root down, ending with the category itself. The
+     * ids come from its materialized path, so this is one look-up per level.
+     */
+    public List<Category> breadcrumb(String id) {
+        Category category = getById(id);
+        List<Category> trail = new ArrayList<>();
+        for (String ancestorId : category.getPath().split("/")) {
+            if (ancestorId.isEmpty()) {
+                continue;
+            }
+            if (ancestorId.equals(category.getId())) {
+                trail.add(category);
+            } else {
+                repository.findById(ancestorId).ifPresent(trail::add);
+            }
+        }
+        return trail;
+    }
+
     public Category create(Category category) {
         ensureUniqueNameWithinParent(category.getName(), category.getParentId());
+        // the id is part of the path, so it is assigned here rather than on insert
+        if (category.getId() == null || category.getId().isBlank()) {
+            category.setId(UUID.randomUUID().toString());
+        }
+        category.setPath(pathUnder(category.getParentId(), category.getId()));
         if (category.getCreatedAt() == null) {
             category.setCreatedAt(Instant.now());
         }
@@ -41,11 +81,17 @@ public class CategoryApplicationService {
         if (category.getIsActive() == null) {
             category.setIsActive(true);
         }
-        return repository.save(category);
+        Category created = repository.save(category);
+        catalogVersion.advance();
+        events.publish(CatalogChange.of(created));
+        return created;
     }
 
-    public Category update(String id, Category changes) {
+    public Category update(String id, Category changes, Long expectedVersion) {
         Category current = getById(id);
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw new PreconditionFailedException("CATEGORY_VERSION_MISMATCH");
+        }
         if (changes.getName() != null && !changes.getName().equals(current.getName())) {
             ensureUniqueNameWithinParent(changes.getName(), changes.getParentId() != null ? changes.getParentId() : current.getParentId());
             current.setName(changes.getName());
@@ -53,8 +99,16 @@ public class CategoryApplicationService {
         if (changes.getDescription() != null) {
             current.setDescription(changes.getDescription());
         }
-        if (changes.getParentId() != null) {
+        boolean moving = false;
+        if (changes.getParentId() != null && !changes.getParentId().equals(current.getParentId())) {
+            String path = pathUnder(changes.getParentId(), current.getId());
+            // the own id may only end the new path; earlier it means the parent is inside the subtree
+            if (path.indexOf("/" + current.getId() + "/") != path.length() - current.getId().length() - 2) {
+                throw new IllegalArgumentException("A category cannot be moved under itself or one of its descendants");
+            }
             current.setParentId(changes.getParentId());
+            current.setPath(path);
+            moving = true;
         }
         if (changes.getOrdering() != null) {
             current.setOrdering(changes.getOrdering());
@@ -64,7 +118,32 @@ public class CategoryApplicationService {
             current.setIsActive(changes.getIsActive());
         }
         current.setUpdatedAt(Instant.now());
-        return repository.save(current);
+        Category saved;
+        try {
+            // a move rewrites the subtree's paths in the same atomic step as the category itself
+            saved = moving ? repository.move(current) : repository.save(current);
+        } catch (PreconditionFailedException ex) {
+            if (expectedVersion != null) {
+                throw ex;
+            }
+            throw new ConflictException("CATEGORY_MODIFIED_CONCURRENTLY");
+        }
+        catalogVersion.advance();
+        events.publish(CatalogChange.of(saved));
+        if (moving) {
+            for (Category d : repository.findSubtree(saved.getId())) {
+                if (!d.getId().equals(saved.getId())) {
+                    events.publish(CatalogChange.of(d));
+                }
+            }
+        }
+        return saved;
+    }
+
+    // A parent that does not exist contributes nothing, as in the schema migration's backfill.
+    private String pathUnder(String parentId, String id) {
+        String parentPath = parentId == null ? null : repository.findById(parentId).map(Category::getPath).orElse(null);
+        return (parentPath != null ? parentPath : "/") + id + "/";
     }
 
     private void ensureUniqueNameWithinParent(String name, String parentId) {
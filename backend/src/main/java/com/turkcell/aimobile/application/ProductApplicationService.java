@@ -1,14 +1,34 @@
 package com.turkcell.aimobile.application;
 
 import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.port.CatalogEventPublisher;
 import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
 import com.turkcell.aimobile.domain.service.ProductDomainService;
+import com.turkcell.aimobile.exception.ConflictException;
+import com.turkcell.aimobile.exception.PreconditionFailedException;
 import com.turkcell.aimobile.exception.ProductNotFoundException;
+import com.turkcell.aimobile.model.BulkItemResult;
+import com.turkcell.aimobile.model.CatalogChange;
+import com.turkcell.aimobile.model.Category;
 import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductChanges;
+import com.turkcell.aimobile.model.ProductCursor;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.model.ProductFilter;
+import com.turkcell.aimobile.model.ProductSlice;
+import com.turkcell.aimobile.model.ProductSortField;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Application service orchestrating product use-cases.
@@ -16,46 +36,99 @@ import java.util.Objects;
  */
 public class ProductApplicationService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_IDS_PER_LOOKUP = 500;
+    public static final int MAX_CHANGES_PER_REQUEST = 1000;
+
     private final ProductRepositoryPort repository;
     private final CategoryRepositoryPort categoryRepository;
     private final ProductDomainService domainService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogEventPublisher events;
 
     public ProductApplicationService(ProductRepositoryPort repository,
                                      ProductDomainService domainService,
-                                     CategoryRepositoryPort categoryRepository) {
+                                     CategoryRepositoryPort categoryRepository,
+                                     CatalogVersion catalogVersion,
+                                     CatalogEventPublisher events) {
         this.repository = Objects.requireNonNull(repository, "repository");
         this.domainService = Objects.requireNonNull(domainService, "domainService");
         this.categoryRepository = Objects.requireNonNull(categoryRepository, "categoryRepository");
+        this.catalogVersion = Objects.requireNonNull(catalogVersion, "catalogVersion");
+        this.events = Objects.requireNonNull(events, "events");
+    }
+
+    /**
+     * Current catalog revision. Read it before the listing it describes, so that a write
+     * landing in between can only make the tag older than the data, never newer.
+     */
+    public long catalogVersion() {
+        return catalogVersion.current();
     }
 
     public List<Product> list(int page, int size, String sortBy, boolean asc) {
-        return repository.findAll(page, size, sortBy, asc);
+        return repository.findAll(pageOf(page), sizeOf(size), ProductSortField.require(sortBy), asc);
     }
 
     public List<Product> list(int page, int size, String q, String sortBy, boolean asc) {
         if (q != null && !q.isBlank()) {
-            return repository.search(q, page, size, sortBy, asc);
+            return repository.search(q, pageOf(page), sizeOf(size), ProductSortField.require(sortBy), asc);
         }
-        return repository.findAll(page, size, sortBy, asc);
+        return repository.findAll(pageOf(page), sizeOf(size), ProductSortField.require(sortBy), asc);
     }
 
     public long count() {
         return repository.count();
     }
 
+    // Total matching the listing; search totals are exact and only computed here.
+    public long count(String q) {
+        if (q != null && !q.isBlank()) {
+            return repository.countSearch(null, q);
+        }
+        return repository.count();
+    }
+
+    // Count-free page: hasNext comes from reading one extra row.
+    public ProductSlice listSlice(int page, int size, String q, String sortBy, boolean asc) {
+        String query = q == null || q.isBlank() ? null : q;
+        return repository.findSlice(null, query, pageOf(page), sizeOf(size), ProductSortField.require(sortBy), asc, null);
+    }
+
     // v2: list with optional category filter
     public List<Product> listV2(Integer page, Integer size, String q, String categoryId, String sortBy, boolean asc) {
-        int p = page == null ? 0 : page;
-        int s = size == null ? 20 : size;
+        int p = pageOf(page);
+        int s = sizeOf(size);
         if (categoryId != null && !categoryId.isBlank()) {
             if (q != null && !q.isBlank()) {
-                return repository.searchByCategory(categoryId, q, p, s, sortBy, asc);
+                return repository.searchByCategory(categoryId, q, p, s, ProductSortField.require(sortBy), asc);
             }
-            return repository.findAllByCategory(categoryId, p, s, sortBy, asc);
+            return repository.findAllByCategory(categoryId, p, s, ProductSortField.require(sortBy), asc);
         }
         return list(p, s, q, sortBy, asc);
     }
 
+    /**
+     * v2 list reading only {@code fields} (null for all). A restricted page is read as a
+     * slice, since the totals come from {@link #countV2(String, String)} anyway.
+     */
+    public List<Product> listV2(Integer page, Integer size, String q, String categoryId, String sortBy, boolean asc,
+                                Set<ProductField> fields) {
+        if (fields == null) {
+            return listV2(page, size, q, categoryId, sortBy, asc);
+        }
+        return listV2Slice(page, size, q, categoryId, sortBy, asc, fields).getItems();
+    }
+
+    // v2: keyset (cursor) pagination, same filters as listV2
+    public ProductSlice listV2After(ProductCursor after, Integer size, String q, String categoryId, String sortBy, boolean asc,
+                                    Set<ProductField> fields) {
+        int s = sizeOf(size);
+        String query = q == null || q.isBlank() ? null : q;
+        String category = categoryId == null || categoryId.isBlank() ? null : categoryId;
+        return repository.findAfter(category, query, after, s, ProductSortField.require(sortBy), asc, fields);
+    }
+
     public long countV2(String categoryId) {
         if (categoryId != null && !categoryId.isBlank()) {
             return repository.countByCategory(categoryId);
@@ -63,16 +136,124 @@ public class ProductApplicationService {
         return repository.count();
     }
 
+    public long countV2(String q, String categoryId) {
+        if (q != null && !q.isBlank()) {
+            return repository.countSearch(categoryId == null || categoryId.isBlank() ? null : categoryId, q);
+        }
+        return countV2(categoryId);
+    }
+
+    public ProductSlice listV2Slice(Integer page, Integer size, String q, String categoryId, String sortBy, boolean asc,
+                                    Set<ProductField> fields) {
+        int p = pageOf(page);
+        int s = sizeOf(size);
+        String query = q == null || q.isBlank() ? null : q;
+        String category = categoryId == null || categoryId.isBlank() ? null : categoryId;
+        return repository.findSlice(category, query, p, s, ProductSortField.require(sortBy), asc, fields);
+    }
+
+    // v2: page narrowed by any combination of filters, totals from countV2(ProductFilter)
+    public ProductSlice listV2Slice(Integer page, Integer size, ProductFilter filter, String sortBy, boolean asc,
+                                    Set<ProductField> fields) {
+        int p = pageOf(page);
+        int s = sizeOf(size);
+        return repository.findSlice(filter, p, s, ProductSortField.require(sortBy), asc, fields);
+    }
+
+    private static int pageOf(Integer page) {
+        if (page == null) {
+            return 0;
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        return page;
+    }
+
+    // Checked here for every list mode; adapters treat a size of 0 as "no limit".
+    private static int sizeOf(Integer size) {
+        if (size == null) {
+            return 20;
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+
+    /**
+     * The filter widened from its category to the category's whole subtree. Descendants
+     * come from the category paths, so the product query stays one indexed lookup of a
+     * set of category ids.
+     */
+    public ProductFilter withDescendants(ProductFilter filter) {
+        String categoryId = filter.categoryId();
+        if (categoryId == null) {
+            return filter;
+        }
+        Set<String> ids = new HashSet<>();
+        for (Category c : categoryRepository.findSubtree(categoryId)) {
+            ids.add(c.getId());
+        }
+        return ids.isEmpty() ? filter : filter.inCategories(ids);
+    }
+
+    public long countV2(ProductFilter filter) {
+        return repository.count(filter);
+    }
+
+    /**
+     * Counts per value of each requested facet over the products matching {@code filter}.
+     */
+    public Map<ProductFacet, Map<String, Long>> facets(ProductFilter filter, Set<ProductFacet> facets) {
+        if (facets.isEmpty()) {
+            return Map.of();
+        }
+        return repository.facets(filter, facets);
+    }
+
+    /**
+     * Feed every active product matching the filters to {@code action}, in id order.
+     */
+    public void export(String categoryId, Instant updatedSince, Consumer<Product> action) {
+        String category = categoryId == null || categoryId.isBlank() ? null : categoryId;
+        repository.forEachActive(category, updatedSince, action);
+    }
+
     public Product getById(String id) {
         return repository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found: " + id));
     }
 
+    /**
+     * Active products for the given ids in request order, duplicates dropped. Ids of
+     * missing or inactive products are left out rather than failing the whole call.
+     */
+    public List<Product> getByIds(List<String> ids) {
+        if (ids.size() > MAX_IDS_PER_LOOKUP) {
+            throw new IllegalArgumentException("At most " + MAX_IDS_PER_LOOKUP + " ids per request");
+        }
+        return repository.findAllByIds(List.copyOf(new LinkedHashSet<>(ids)));
+    }
+
+    /**
+     * Products written after the {@code since} watermark, deactivated ones included, oldest
+     * first; a client replays them and resumes from the returned watermark.
+     */
+    public ProductChanges changesSince(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        if (limit < 1 || limit > MAX_CHANGES_PER_REQUEST) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CHANGES_PER_REQUEST);
+        }
+        return repository.findChanges(since, limit);
+    }
+
     public Product create(Product product) {
-        // business rules
-        domainService.ensureUniqueName(product.getName());
-        domainService.ensureUniqueSku(product.getSku());
-        // BR-06: ensure category exists and is active
+        // BR-01/BR-02 (unique name/SKU) are enforced by the insert itself
+        domainService.normalizeSku(product);
+        // BR-06: ensure category exists and is active (in-memory snapshot, no query)
         if (product.getCategoryId() == null || product.getCategoryId().isBlank() ||
                 !categoryRepository.existsByIdAndIsActiveTrue(product.getCategoryId())) {
             throw new IllegalArgumentException("Invalid or inactive categoryId");
@@ -82,19 +263,99 @@ public class ProductApplicationService {
             product.setCreatedAt(Instant.now());
         }
         product.setUpdatedAt(product.getCreatedAt());
-        return repository.save(product);
+        Product created = repository.insert(product);
+        catalogVersion.advance();
+        events.publish(CatalogChange.of(created));
+        return created;
     }
 
-    public Product update(String id, Product changes) {
+    /**
+     * Bulk create for one chunk of an import. Name/SKU uniqueness (BR-01, BR-02) is
+     * checked for the whole chunk with two set-based lookups, category binding (BR-06)
+     * against the category port, and accepted rows are inserted as one batch.
+     * Results are returned in input order.
+     */
+    public List<BulkItemResult> createAll(List<Product> products) {
+        Set<String> names = new HashSet<>();
+        Set<String> skus = new HashSet<>();
+        for (Product p : products) {
+            domainService.normalizeSku(p);
+            if (p.getName() != null) names.add(p.getName());
+            if (p.getSku() != null && !p.getSku().isBlank()) skus.add(p.getSku());
+        }
+        Set<String> takenNames = new HashSet<>(repository.findExistingNames(names));
+        Set<String> takenSkus = new HashSet<>(repository.findExistingSkus(skus));
+
+        BulkItemResult[] results = new BulkItemResult[products.size()];
+        List<Product> accepted = new ArrayList<>();
+        List<Integer> acceptedRows = new ArrayList<>();
+        Instant now = Instant.now();
+        for (int i = 0; i < products.size(); i++) {
+            Product p = products.get(i);
+            boolean hasSku = p.getSku() != null && !p.getSku().isBlank();
+            if (takenNames.contains(p.getName())) {
+                results[i] = BulkItemResult.rejected("CONFLICT", List.of(ProductDomainService.NAME_TAKEN));
+            } else if (hasSku && takenSkus.contains(p.getSku())) {
+                results[i] = BulkItemResult.rejected("CONFLICT", List.of(ProductDomainService.SKU_TAKEN));
+            } else if (p.getCategoryId() == null || p.getCategoryId().isBlank() ||
+                    !categoryRepository.existsByIdAndIsActiveTrue(p.getCategoryId())) {
+                results[i] = BulkItemResult.rejected("VALIDATION_ERROR", List.of("Invalid or inactive categoryId"));
+            } else {
+                // later rows of the same chunk must not reuse this name/sku
+                takenNames.add(p.getName());
+                if (hasSku) takenSkus.add(p.getSku());
+                if (p.getCreatedAt() == null) {
+                    p.setCreatedAt(now);
+                }
+                p.setUpdatedAt(p.getCreatedAt());
+                accepted.add(p);
+                acceptedRows.add(i);
+            }
+        }
+        if (!accepted.isEmpty()) {
+            try {
+                List<Product> saved = repository.saveAll(accepted);
+                catalogVersion.advance();
+                for (int j = 0; j < saved.size(); j++) {
+                    results[acceptedRows.get(j)] = BulkItemResult.created(saved.get(j).getId());
+                    events.publish(CatalogChange.of(saved.get(j)));
+                }
+            } catch (ConflictException ex) {
+                // a concurrent writer took a name/sku after our check; settle row by row
+                for (int j = 0; j < accepted.size(); j++) {
+                    results[acceptedRows.get(j)] = createOne(accepted.get(j));
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private BulkItemResult createOne(Product product) {
+        try {
+            return BulkItemResult.created(create(product).getId());
+        } catch (ConflictException ex) {
+            return BulkItemResult.rejected("CONFLICT", List.of(ex.getMessage()));
+        } catch (IllegalArgumentException ex) {
+            return BulkItemResult.rejected("VALIDATION_ERROR", List.of(ex.getMessage()));
+        }
+    }
+
+    /**
+     * @param expectedVersion version the client last read (from {@code If-Match}), or null
+     *                        to skip the precondition and rely on the optimistic lock alone
+     */
+    public Product update(String id, Product changes, Long expectedVersion) {
         Product current = getById(id);
-        // apply changes and validate rules when name/sku change
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+            throw new PreconditionFailedException(ProductDomainService.VERSION_MISMATCH);
+        }
+        // apply changes; a name/sku collision is reported by save() as a conflict
         if (changes.getName() != null && !changes.getName().equals(current.getName())) {
-            domainService.ensureUniqueName(changes.getName());
             current.setName(changes.getName());
         }
         if (changes.getSku() != null && !changes.getSku().equals(current.getSku())) {
-            domainService.ensureUniqueSku(changes.getSku());
             current.setSku(changes.getSku());
+            domainService.normalizeSku(current);
         }
         if (changes.getDescription() != null) {
             current.setDescription(changes.getDescription());
@@ -115,7 +376,19 @@ public class ProductApplicationService {
             current.setImageUrl(changes.getImageUrl());
         }
         current.setUpdatedAt(Instant.now());
-        return repository.save(current);
+        Product saved;
+        try {
+            saved = repository.save(current);
+        } catch (PreconditionFailedException ex) {
+            // lost the race with another writer between our read and the UPDATE
+            if (expectedVersion != null) {
+                throw ex;
+            }
+            throw new ConflictException(ProductDomainService.MODIFIED_CONCURRENTLY);
+        }
+        catalogVersion.advance();
+        events.publish(CatalogChange.of(saved));
+        return saved;
     }
 
     // Hard delete removed per BA guidance; prefer active/passive lifecycle.
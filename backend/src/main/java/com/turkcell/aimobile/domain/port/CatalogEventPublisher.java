@@ -0,0 +1,11 @@
+package com.turkcell.aimobile.domain.port;
+
+import com.turkcell.aimobile.model.CatalogChange;
+
+/**
+ * Announces catalog writes once they are stored. Must not block the writer: delivery to
+ * listeners happens elsewhere.
+ */
+public interface CatalogEventPublisher {
+    void publish(CatalogChange change);
+}
@@ -6,10 +6,20 @@ import java.util.Optional;
 
 public interface CategoryRepositoryPort {
     Category save(Category category);
+    /**
+     * Saves a category that was given a new path and moves the paths of all of its
+     * descendants from its stored path to the new one, as one atomic step: either the
+     * whole subtree moves or nothing does. Every rewritten descendant gets a new version,
+     * so an edit made from a copy read before the move is rejected.
+     */
+    Category move(Category category);
     Optional<Category> findById(String id);
     boolean existsByNameAndParentId(String name, String parentId);
     List<Category> findActiveOrdered(int page, int size);
     long countActive();
     List<Category> findChildren(String parentId);
+    /** The category and all of its descendants, by prefix of its materialized path; empty if it does not exist. */
+    List<Category> findSubtree(String id);
     boolean existsByIdAndIsActiveTrue(String id);
+    List<Category> findAll();
 }
\ No newline at end of file
@@ -1,22 +1,58 @@
 package com.turkcell.aimobile.domain.port;
 
 import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductChanges;
+import com.turkcell.aimobile.model.ProductCursor;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.model.ProductFilter;
+import com.turkcell.aimobile.model.ProductSlice;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Port exposing persistence operations needed by application/domain.
  * Framework-agnostic signatures to keep domain clean.
  */
 public interface ProductRepositoryPort {
+    /**
+     * Store changes to a product.
+     * @throws com.turkcell.aimobile.exception.ConflictException if the new name or SKU is already used
+     */
     Product save(Product product);
 
+    /**
+     * Insert a new product in a single statement; the unique constraints decide conflicts.
+     * @throws com.turkcell.aimobile.exception.ConflictException with PRODUCT_NAME_ALREADY_EXISTS
+     *         or SKU_ALREADY_EXISTS
+     */
+    Product insert(Product product);
+
+    /**
+     * Insert new products as one batch; either all are stored or none.
+     * @throws com.turkcell.aimobile.exception.ConflictException when a unique constraint is violated
+     */
+    List<Product> saveAll(List<Product> products);
+
     Optional<Product> findById(String id);
 
-    boolean existsByName(String name);
+    /**
+     * Active products among {@code ids}, in the order of {@code ids}; missing and inactive
+     * ones are left out. Read with one IN query per chunk of ids, not one query per id.
+     */
+    List<Product> findAllByIds(List<String> ids);
+
+    /** Subset of the given names already used by a product. */
+    Set<String> findExistingNames(Collection<String> names);
 
-    boolean existsBySku(String sku);
+    /** Subset of the given SKUs already used by a product. */
+    Set<String> findExistingSkus(Collection<String> skus);
 
     /**
      * Retrieve a page of products with simple offset-based pagination.
@@ -40,4 +76,64 @@ public interface ProductRepositoryPort {
     List<Product> findAllByCategory(String categoryId, int page, int size, String sortBy, boolean asc);
     List<Product> searchByCategory(String categoryId, String q, int page, int size, String sortBy, boolean asc);
     long countByCategory(String categoryId);
+
+    /**
+     * Keyset pagination over active products: up to {@code size} items strictly after
+     * {@code after} in (sortBy, id) order. Cost does not grow with the position.
+     * @param categoryId optional category filter
+     * @param q optional search query
+     * @param after position returned by a previous call, null for the first page
+     * @param fields attributes the caller needs, null for all; adapters may leave the others null
+     */
+    ProductSlice findAfter(String categoryId, String q, ProductCursor after, int size, String sortBy, boolean asc,
+                           Set<ProductField> fields);
+
+    /**
+     * Offset page of active products without a total count; whether a next page exists
+     * is determined by reading one extra row.
+     * @param categoryId optional category filter
+     * @param q optional search query
+     * @param fields attributes the caller needs, null for all; adapters may leave the others null
+     */
+    ProductSlice findSlice(String categoryId, String q, int page, int size, String sortBy, boolean asc,
+                           Set<ProductField> fields);
+
+    /**
+     * Exact number of active products matching the search query.
+     * @param categoryId optional category filter
+     */
+    long countSearch(String categoryId, String q);
+
+    /**
+     * Offset page of active products matching every criterion of {@code filter}, without a
+     * total count; whether a next page exists is determined by reading one extra row.
+     * @param fields attributes the caller needs, null for all; adapters may leave the others null
+     */
+    ProductSlice findSlice(ProductFilter filter, int page, int size, String sortBy, boolean asc,
+                           Set<ProductField> fields);
+
+    /** Exact number of active products matching {@code filter}. */
+    long count(ProductFilter filter);
+
+    /**
+     * Number of active products matching {@code filter} per value of each requested facet,
+     * all gathered in a single pass. Price buckets come in price order with empty ones
+     * included; other values are in no particular order and only present when counted.
+     */
+    Map<ProductFacet, Map<String, Long>> facets(ProductFilter filter, Set<ProductFacet> facets);
+
+    /**
+     * Visit every active product in id order without materializing the result set.
+     * @param categoryId optional category filter
+     * @param updatedSince optional lower bound (inclusive) on updatedAt
+     */
+    void forEachActive(String categoryId, Instant updatedSince, Consumer<Product> action);
+
+    /**
+     * Up to {@code limit} products, active or not, whose last write comes after
+     * {@code since} in the change sequence, oldest first. Reads only as far as every
+     * earlier write has completed, so the returned watermark never passes an unfinished one.
+     * @param since watermark of a previous call, 0 for the whole catalog
+     */
+    ProductChanges findChanges(long since, int limit);
 }
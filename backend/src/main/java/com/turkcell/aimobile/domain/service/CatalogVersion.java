@@ -0,0 +1,38 @@
+package com.turkcell.aimobile.domain.service;
+
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Revision of the catalog as a whole, advanced after every successful product or
+ * category write. List responses are tagged with it: the same revision means the same
+ * page. The high bits are a random epoch drawn once per boot and the low {@value #COUNTER_BITS}
+ * bits count writes, so a tag issued before a restart does not match after it, however
+ * many writes either run saw.
+ */
+public class CatalogVersion {
+
+    static final int COUNTER_BITS = 40;
+    private static final long EPOCHS = 1L << (Long.SIZE - 1 - COUNTER_BITS);
+
+    private final AtomicLong revision;
+
+    public CatalogVersion() {
+        this(1 + new SecureRandom().nextLong(EPOCHS - 1));
+    }
+
+    CatalogVersion(long epoch) {
+        if (epoch <= 0 || epoch >= EPOCHS) {
+            throw new IllegalArgumentException("epoch must be between 1 and " + (EPOCHS - 1));
+        }
+        this.revision = new AtomicLong(epoch << COUNTER_BITS);
+    }
+
+    public long current() {
+        return revision.get();
+    }
+
+    public void advance() {
+        revision.incrementAndGet();
+    }
+}
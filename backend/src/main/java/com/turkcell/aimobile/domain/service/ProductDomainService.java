@@ -1,38 +1,29 @@
 package com.turkcell.aimobile.domain.service;
 
-import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
-import com.turkcell.aimobile.exception.ConflictException;
-
-import java.util.Objects;
+import com.turkcell.aimobile.model.Product;
 
 /**
  * Encapsulates product business rules as defined in docs/business-rules.
  * - Product name must be unique.
  * - If SKU is provided (non-null/non-blank), it must be unique.
+ * Uniqueness itself is enforced by the store's unique constraints; adapters report a
+ * violation as a ConflictException carrying one of the codes below.
  */
 public class ProductDomainService {
 
-    private final ProductRepositoryPort repository;
-
-    public ProductDomainService(ProductRepositoryPort repository) {
-        this.repository = Objects.requireNonNull(repository, "repository");
-    }
-
-    public void ensureUniqueName(String name) {
-        if (name == null || name.isBlank()) {
-            return; // Bean validation should handle requiredness/length; domain enforces uniqueness.
-        }
-        if (repository.existsByName(name)) {
-            throw new ConflictException("PRODUCT_NAME_ALREADY_EXISTS");
-        }
-    }
+    public static final String NAME_TAKEN = "PRODUCT_NAME_ALREADY_EXISTS";
+    public static final String SKU_TAKEN = "SKU_ALREADY_EXISTS";
+    /** The client's If-Match version is not the stored one (412). */
+    public static final String VERSION_MISMATCH = "PRODUCT_VERSION_MISMATCH";
+    /** Another write landed between read and update and the client sent no If-Match (409). */
+    public static final String MODIFIED_CONCURRENTLY = "PRODUCT_MODIFIED_CONCURRENTLY";
 
-    public void ensureUniqueSku(String sku) {
-        if (sku == null || sku.isBlank()) {
-            return; // rule applies only when SKU is provided
-        }
-        if (repository.existsBySku(sku)) {
-            throw new ConflictException("SKU_ALREADY_EXISTS");
+    /**
+     * A blank SKU counts as not provided, so it is stored as null and never collides.
+     */
+    public void normalizeSku(Product product) {
+        if (product.getSku() != null && product.getSku().isBlank()) {
+            product.setSku(null);
         }
     }
 }
@@ -9,6 +9,7 @@ public class PagedProductResponse {
     private Integer size;
     private Long totalItems;
     private Integer totalPages;
+    private Boolean hasNext;
 
     public List<ProductResponse> getItems() {
         return items;
@@ -49,4 +50,12 @@ public class PagedProductResponse {
     public void setTotalPages(Integer totalPages) {
         this.totalPages = totalPages;
     }
+
+    public Boolean getHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(Boolean hasNext) {
+        this.hasNext = hasNext;
+    }
 }
@@ -13,6 +13,7 @@ public class ProductResponse {
     private Boolean isActive;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
 
     public String getId() {
         return id;
@@ -85,4 +86,12 @@ public class ProductResponse {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -11,6 +11,7 @@ public class CategoryResponse {
     private Boolean isActive;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
 
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -28,4 +29,6 @@ public class CategoryResponse {
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -1,17 +1,25 @@
 package com.turkcell.aimobile.dto.v2;
 
 import java.util.List;
+import java.util.Map;
 
-public class PagedProductV2Response {
+/**
+ * @param <T> item type: {@link ProductV2Response}, or a property map for sparse fieldsets
+ */
+public class PagedProductV2Response<T> {
 
-    private List<ProductV2Response> items;
+    private List<T> items;
     private Integer page;
     private Integer size;
     private Long totalItems;
     private Integer totalPages;
+    private Boolean hasNext;
+    private String nextCursor;
+    private Map<String, Map<String, Long>> facets;
+    private List<String> missingIds;
 
-    public List<ProductV2Response> getItems() { return items; }
-    public void setItems(List<ProductV2Response> items) { this.items = items; }
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
     public Integer getPage() { return page; }
     public void setPage(Integer page) { this.page = page; }
     public Integer getSize() { return size; }
@@ -20,4 +28,12 @@ public class PagedProductV2Response {
     public void setTotalItems(Long totalItems) { this.totalItems = totalItems; }
     public Integer getTotalPages() { return totalPages; }
     public void setTotalPages(Integer totalPages) { this.totalPages = totalPages; }
+    public Boolean getHasNext() { return hasNext; }
+    public void setHasNext(Boolean hasNext) { this.hasNext = hasNext; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public Map<String, Map<String, Long>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Long>> facets) { this.facets = facets; }
+    public List<String> getMissingIds() { return missingIds; }
+    public void setMissingIds(List<String> missingIds) { this.missingIds = missingIds; }
 }
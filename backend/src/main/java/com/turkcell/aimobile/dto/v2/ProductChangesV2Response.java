@@ -0,0 +1,24 @@
+package com.turkcell.aimobile.dto.v2;
+
+import java.util.List;
+
+/**
+ * One batch of the product change feed. A product appears at most once per batch, in
+ * its latest state: in {@code items} when active, otherwise its id in {@code tombstones}.
+ */
+public class ProductChangesV2Response {
+
+    private List<ProductV2Response> items;
+    private List<String> tombstones;
+    private Long watermark;
+    private Boolean hasMore;
+
+    public List<ProductV2Response> getItems() { return items; }
+    public void setItems(List<ProductV2Response> items) { this.items = items; }
+    public List<String> getTombstones() { return tombstones; }
+    public void setTombstones(List<String> tombstones) { this.tombstones = tombstones; }
+    public Long getWatermark() { return watermark; }
+    public void setWatermark(Long watermark) { this.watermark = watermark; }
+    public Boolean getHasMore() { return hasMore; }
+    public void setHasMore(Boolean hasMore) { this.hasMore = hasMore; }
+}
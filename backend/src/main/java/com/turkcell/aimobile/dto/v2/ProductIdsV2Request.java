@@ -0,0 +1,15 @@
+package com.turkcell.aimobile.dto.v2;
+
+import jakarta.validation.constraints.*;
+
+import java.util.List;
+
+public class ProductIdsV2Request {
+
+    @NotEmpty
+    @Size(max = 500)
+    private List<@NotBlank String> ids;
+
+    public List<String> getIds() { return ids; }
+    public void setIds(List<String> ids) { this.ids = ids; }
+}
@@ -15,6 +15,7 @@ public class ProductV2Response {
     private String imageUrl;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
 
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -38,4 +39,6 @@ public class ProductV2Response {
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
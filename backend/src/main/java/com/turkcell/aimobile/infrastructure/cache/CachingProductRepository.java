@@ -0,0 +1,313 @@
+package com.turkcell.aimobile.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductChanges;
+import com.turkcell.aimobile.model.ProductCursor;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.model.ProductFilter;
+import com.turkcell.aimobile.model.ProductSlice;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of {@link ProductRepositoryPort#findById} and
+ * {@link ProductRepositoryPort#findAllByIds}, which share their entries. Entries are
+ * bounded in number (W-TinyLFU eviction) and expire after a TTL. Missing or inactive
+ * products are cached as negative entries so repeated 404s do not reach the database.
+ * Facet counts are cached per {@link CatalogVersion}: the key includes the revision, so
+ * a write makes every earlier entry unreachable without tracking what it affected, and
+ * the stale ones age out of the bounded cache. List and search pages and their totals
+ * are cached the same way, but keyed by {@link CategoryVersions}: a product write only
+ * makes the pages of its categories, old and new, and of the unfiltered listing
+ * unreachable. Keyset pages are not cached. Every other operation is passed straight
+ * to the delegate.
+ *
+ * Callers mutate the products they get back, so values are copied in and out.
+ */
+public class CachingProductRepository implements ProductRepositoryPort {
+
+    private final ProductRepositoryPort delegate;
+    private final Cache<String, Optional<Product>> byId;
+    private final Cache<FacetKey, Map<ProductFacet, Map<String, Long>>> facets;
+    private final Cache<PageKey, Object> pages;
+    private final CategoryVersions categoryVersions = new CategoryVersions();
+    private final CatalogVersion catalogVersion;
+    private final int warmupSize;
+
+    public CachingProductRepository(ProductRepositoryPort delegate, long maximumSize, Duration ttl, int warmupSize,
+                                    CatalogVersion catalogVersion, long facetMaximumSize, long pageMaximumSize) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.facets = Caffeine.newBuilder()
+                .maximumSize(facetMaximumSize)
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(pageMaximumSize)
+                .recordStats()
+                .build();
+        this.catalogVersion = Objects.requireNonNull(catalogVersion, "catalogVersion");
+        this.warmupSize = warmupSize;
+    }
+
+    private record FacetKey(long revision, ProductFilter filter, Set<ProductFacet> facets) {
+    }
+
+    private record PageKey(long version, String operation, List<Object> arguments) {
+    }
+
+    /**
+     * Preload the most recently updated products once the context is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (warmupSize <= 0) {
+            return;
+        }
+        for (Product p : delegate.findAll(0, warmupSize, "updatedAt", false)) {
+            byId.put(p.getId(), Optional.of(Product.copyOf(p)));
+        }
+    }
+
+    public CacheStats stats() {
+        return byId.stats();
+    }
+
+    public long size() {
+        return byId.estimatedSize();
+    }
+
+    public CacheStats facetStats() {
+        return facets.stats();
+    }
+
+    public CacheStats pageStats() {
+        return pages.stats();
+    }
+
+    @Override
+    public Product save(Product product) {
+        // the previous category loses the product; usually cached, since updates read it first
+        String previousCategory = product.getId() == null ? null
+                : findById(product.getId()).map(Product::getCategoryId).orElse(null);
+        Product saved = delegate.save(product);
+        if (previousCategory != null && !previousCategory.equals(saved.getCategoryId())) {
+            categoryVersions.advance(previousCategory);
+        }
+        categoryVersions.advance(saved.getCategoryId());
+        if (Boolean.TRUE.equals(saved.getIsActive())) {
+            byId.invalidate(saved.getId());
+        } else {
+            byId.put(saved.getId(), Optional.empty());
+        }
+        return saved;
+    }
+
+    @Override
+    public Product insert(Product product) {
+        Product saved = delegate.insert(product);
+        byId.invalidate(saved.getId());
+        categoryVersions.advance(saved.getCategoryId());
+        return saved;
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> saved = delegate.saveAll(products);
+        for (Product p : saved) {
+            byId.invalidate(p.getId());
+            categoryVersions.advance(p.getCategoryId());
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return byId.get(id, key -> delegate.findById(key).map(Product::copyOf))
+                .map(Product::copyOf);
+    }
+
+    // Cached ids are served from memory; the rest are loaded with a single delegate call.
+    @Override
+    public List<Product> findAllByIds(List<String> ids) {
+        Map<String, Optional<Product>> cached = byId.getAll(ids, missing -> {
+            Map<String, Optional<Product>> loaded = new HashMap<>();
+            for (String id : missing) {
+                loaded.put(id, Optional.empty());
+            }
+            for (Product p : delegate.findAllByIds(List.copyOf(missing))) {
+                loaded.put(p.getId(), Optional.of(Product.copyOf(p)));
+            }
+            return loaded;
+        });
+        List<Product> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            cached.getOrDefault(id, Optional.empty()).map(Product::copyOf).ifPresent(result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        String previousCategory = findById(id).map(Product::getCategoryId).orElse(null);
+        delegate.deleteById(id);
+        byId.put(id, Optional.empty());
+        categoryVersions.advance(previousCategory);
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        return delegate.findExistingNames(names);
+    }
+
+    @Override
+    public Set<String> findExistingSkus(Collection<String> skus) {
+        return delegate.findExistingSkus(skus);
+    }
+
+    @Override
+    public List<Product> findAll(int page, int size, String sortBy, boolean asc) {
+        return cachedList(categoryVersions.of((String) null), "findAll",
+                () -> delegate.findAll(page, size, sortBy, asc), page, size, sortBy, asc);
+    }
+
+    @Override
+    public List<Product> search(String q, int page, int size, String sortBy, boolean asc) {
+        return cachedList(categoryVersions.of((String) null), "search",
+                () -> delegate.search(q, page, size, sortBy, asc), q, page, size, sortBy, asc);
+    }
+
+    @Override
+    public long count() {
+        return cached(categoryVersions.of((String) null), "count", delegate::count);
+    }
+
+    @Override
+    public List<Product> findAllByCategory(String categoryId, int page, int size, String sortBy, boolean asc) {
+        return cachedList(categoryVersions.of(categoryId), "findAllByCategory",
+                () -> delegate.findAllByCategory(categoryId, page, size, sortBy, asc), categoryId, page, size, sortBy, asc);
+    }
+
+    @Override
+    public List<Product> searchByCategory(String categoryId, String q, int page, int size, String sortBy, boolean asc) {
+        return cachedList(categoryVersions.of(categoryId), "searchByCategory",
+                () -> delegate.searchByCategory(categoryId, q, page, size, sortBy, asc),
+                categoryId, q, page, size, sortBy, asc);
+    }
+
+    @Override
+    public long countByCategory(String categoryId) {
+        return cached(categoryVersions.of(categoryId), "countByCategory",
+                () -> delegate.countByCategory(categoryId), categoryId);
+    }
+
+    @Override
+    public ProductSlice findAfter(String categoryId, String q, ProductCursor after, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        return delegate.findAfter(categoryId, q, after, size, sortBy, asc, fields);
+    }
+
+    @Override
+    public ProductSlice findSlice(String categoryId, String q, int page, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        return cachedSlice(categoryVersions.of(categoryId), "findSlice",
+                () -> delegate.findSlice(categoryId, q, page, size, sortBy, asc, fields),
+                categoryId, q, page, size, sortBy, asc, fields);
+    }
+
+    @Override
+    public long countSearch(String categoryId, String q) {
+        return cached(categoryVersions.of(categoryId), "countSearch", () -> delegate.countSearch(categoryId, q),
+                categoryId, q);
+    }
+
+    @Override
+    public ProductSlice findSlice(ProductFilter filter, int page, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        return cachedSlice(categoryVersions.of(filter.categoryIds()), "findSliceFiltered",
+                () -> delegate.findSlice(filter, page, size, sortBy, asc, fields), filter, page, size, sortBy, asc, fields);
+    }
+
+    @Override
+    public long count(ProductFilter filter) {
+        return cached(categoryVersions.of(filter.categoryIds()), "countFiltered", () -> delegate.count(filter), filter);
+    }
+
+    // The revision is read before computing, so a result can only be newer than its key.
+    @Override
+    public Map<ProductFacet, Map<String, Long>> facets(ProductFilter filter, Set<ProductFacet> facets) {
+        FacetKey key = new FacetKey(catalogVersion.current(), filter, Set.copyOf(facets));
+        return this.facets.get(key, k -> unmodifiable(delegate.facets(filter, facets)));
+    }
+
+    @Override
+    public void forEachActive(String categoryId, Instant updatedSince, Consumer<Product> action) {
+        delegate.forEachActive(categoryId, updatedSince, action);
+    }
+
+    // Every call reads the store: a sync client wants exactly what is committed.
+    @Override
+    public ProductChanges findChanges(long since, int limit) {
+        return delegate.findChanges(since, limit);
+    }
+
+    /*
+     * The key, version included, is captured before the read. A write that lands between
+     * the two bumps the version first, so the page put afterwards may be stale but goes
+     * under a key no later read computes: it only fills a dead key until it ages out.
+     * Misses are loaded outside the cache; identical concurrent misses are merged by the
+     * coalescing layer below, which saves reads but is not what keeps pages fresh.
+     */
+    @SuppressWarnings("unchecked")
+    private <V> V cached(long version, String operation, Supplier<V> loader, Object... arguments) {
+        PageKey key = new PageKey(version, operation, Arrays.asList(arguments));
+        Object value = pages.getIfPresent(key);
+        if (value == null) {
+            value = loader.get();
+            pages.put(key, value);
+        }
+        return (V) value;
+    }
+
+    private List<Product> cachedList(long version, String operation, Supplier<List<Product>> loader,
+                                     Object... arguments) {
+        return Product.copyOf(cached(version, operation, () -> Product.copyOf(loader.get()), arguments));
+    }
+
+    private ProductSlice cachedSlice(long version, String operation, Supplier<ProductSlice> loader,
+                                     Object... arguments) {
+        return ProductSlice.copyOf(cached(version, operation, () -> ProductSlice.copyOf(loader.get()), arguments));
+    }
+
+    private static Map<ProductFacet, Map<String, Long>> unmodifiable(Map<ProductFacet, Map<String, Long>> counts) {
+        Map<ProductFacet, Map<String, Long>> result = new EnumMap<>(ProductFacet.class);
+        counts.forEach((facet, values) -> result.put(facet, Collections.unmodifiableMap(values)));
+        return Collections.unmodifiableMap(result);
+    }
+}
@@ -0,0 +1,124 @@
+package com.turkcell.aimobile.infrastructure.cache;
+
+import com.turkcell.aimobile.model.Category;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Immutable snapshot of the whole category hierarchy: id → category plus the
+ * children of every parent (null key = roots), ordered by {@code ordering}, and the
+ * categories sorted by materialized path, where a subtree is one contiguous range.
+ * Changes produce a new tree; readers holding the old one are never affected.
+ */
+public final class CategoryTree {
+
+    private static final Comparator<Category> BY_ORDERING = Comparator
+            .comparing(Category::getOrdering, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(Category::getId);
+
+    private final Map<String, Category> byId;
+    private final Map<String, List<Category>> childrenByParent;
+    private final NavigableMap<String, Category> byPath = new TreeMap<>();
+
+    private CategoryTree(Map<String, Category> byId) {
+        this.byId = byId;
+        Map<String, List<Category>> children = new HashMap<>();
+        for (Category c : byId.values()) {
+            children.computeIfAbsent(c.getParentId(), k -> new ArrayList<>()).add(c);
+            if (c.getPath() != null) {
+                byPath.put(c.getPath(), c);
+            }
+        }
+        children.replaceAll((parent, list) -> {
+            list.sort(BY_ORDERING);
+            return Collections.unmodifiableList(list);
+        });
+        this.childrenByParent = children;
+    }
+
+    public static CategoryTree of(Collection<Category> categories) {
+        Map<String, Category> byId = new HashMap<>();
+        for (Category c : categories) {
+            byId.put(c.getId(), copy(c));
+        }
+        return new CategoryTree(byId);
+    }
+
+    /**
+     * Copy of this tree with the given category inserted or replaced.
+     */
+    public CategoryTree with(Category category) {
+        Map<String, Category> next = new HashMap<>(byId);
+        next.put(category.getId(), copy(category));
+        return new CategoryTree(next);
+    }
+
+    public Optional<Category> find(String id) {
+        return Optional.ofNullable(byId.get(id)).map(CategoryTree::copy);
+    }
+
+    public boolean isActive(String id) {
+        Category c = id == null ? null : byId.get(id);
+        return c != null && Boolean.TRUE.equals(c.getIsActive());
+    }
+
+    public List<Category> children(String parentId) {
+        return childrenByParent.getOrDefault(parentId, List.of()).stream().map(CategoryTree::copy).toList();
+    }
+
+    /**
+     * The category and its descendants, parents before children.
+     */
+    public List<Category> subtree(String id) {
+        Category root = id == null ? null : byId.get(id);
+        if (root == null || root.getPath() == null) {
+            return root == null ? List.of() : List.of(copy(root));
+        }
+        // every path in the subtree extends the root's path, which ends with '/'
+        return byPath.subMap(root.getPath(), true, root.getPath() + Character.MAX_VALUE, false).values().stream()
+                .map(CategoryTree::copy)
+                .toList();
+    }
+
+    public boolean hasChildNamed(String parentId, String name) {
+        for (Category c : childrenByParent.getOrDefault(parentId, List.of())) {
+            if (c.getName() != null && c.getName().equals(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public long countActive() {
+        return byId.values().stream().filter(c -> Boolean.TRUE.equals(c.getIsActive())).count();
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Category is mutable; never hand out or keep a caller's instance.
+    static Category copy(Category c) {
+        Category r = new Category();
+        r.setId(c.getId());
+        r.setName(c.getName());
+        r.setDescription(c.getDescription());
+        r.setParentId(c.getParentId());
+        r.setPath(c.getPath());
+        r.setOrdering(c.getOrdering());
+        r.setIsActive(c.getIsActive());
+        r.setCreatedAt(c.getCreatedAt());
+        r.setUpdatedAt(c.getUpdatedAt());
+        r.setVersion(c.getVersion());
+        return r;
+    }
+}
@@ -0,0 +1,50 @@
+package com.turkcell.aimobile.infrastructure.cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write counters per category, plus one for the catalog as a whole, that list page
+ * cache keys are built from. A product write advances its category's counter and the
+ * catalog's, so pages of other categories keep their keys. Counters only grow, so a sum
+ * over several categories changes whenever any of them is written.
+ */
+final class CategoryVersions {
+
+    private final AtomicLong all = new AtomicLong();
+    private final Map<String, AtomicLong> byCategory = new ConcurrentHashMap<>();
+
+    /**
+     * @param categoryId null for listings over every category
+     */
+    long of(String categoryId) {
+        if (categoryId == null) {
+            return all.get();
+        }
+        AtomicLong version = byCategory.get(categoryId);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * @param categoryIds null for listings over every category
+     */
+    long of(Set<String> categoryIds) {
+        if (categoryIds == null) {
+            return all.get();
+        }
+        long sum = 0;
+        for (String id : categoryIds) {
+            sum += of(id);
+        }
+        return sum;
+    }
+
+    void advance(String categoryId) {
+        if (categoryId != null) {
+            byCategory.computeIfAbsent(categoryId, id -> new AtomicLong()).incrementAndGet();
+        }
+        all.incrementAndGet();
+    }
+}
@@ -0,0 +1,190 @@
+package com.turkcell.aimobile.infrastructure.cache;
+
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductChanges;
+import com.turkcell.aimobile.model.ProductCursor;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.model.ProductFilter;
+import com.turkcell.aimobile.model.ProductSlice;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Shares list, search and count queries between concurrent identical calls, so that a
+ * burst of clients asking for the same page costs one query. Calls are identical when
+ * they name the same operation and arguments at the same {@link CatalogVersion}: a call
+ * made after a write never joins a query started before it, and sees the write.
+ * <p>
+ * Joined calls wait at most {@code timeout} for the shared query and fail with the same
+ * exception it fails with. Every caller gets its own copy of the products. Coalesced and
+ * executed calls are counted as {@code app.coalescing.calls}. Every other operation is
+ * passed straight to the delegate.
+ */
+public class CoalescingProductRepository implements ProductRepositoryPort {
+
+    private final ProductRepositoryPort delegate;
+    private final CatalogVersion catalogVersion;
+    private final SingleFlight<Key> flights;
+
+    public CoalescingProductRepository(ProductRepositoryPort delegate, CatalogVersion catalogVersion, Duration timeout,
+                                       MeterRegistry registry) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.catalogVersion = Objects.requireNonNull(catalogVersion, "catalogVersion");
+        this.flights = new SingleFlight<>(timeout, registry, "product");
+    }
+
+    private record Key(long revision, String operation, List<Object> arguments) {
+    }
+
+    // The revision is read before the query, so a shared result can only be newer than its key.
+    private <V> V coalesce(String operation, Supplier<V> query, Object... arguments) {
+        return flights.get(new Key(catalogVersion.current(), operation, Arrays.asList(arguments)), query);
+    }
+
+    private List<Product> coalesceList(String operation, Supplier<List<Product>> query, Object... arguments) {
+        return Product.copyOf(coalesce(operation, query, arguments));
+    }
+
+    private ProductSlice coalesceSlice(String operation, Supplier<ProductSlice> query, Object... arguments) {
+        return ProductSlice.copyOf(coalesce(operation, query, arguments));
+    }
+
+    @Override
+    public Product save(Product product) {
+        return delegate.save(product);
+    }
+
+    @Override
+    public Product insert(Product product) {
+        return delegate.insert(product);
+    }
+
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        return delegate.saveAll(products);
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Product> findAllByIds(List<String> ids) {
+        return delegate.findAllByIds(ids);
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        return delegate.findExistingNames(names);
+    }
+
+    @Override
+    public Set<String> findExistingSkus(Collection<String> skus) {
+        return delegate.findExistingSkus(skus);
+    }
+
+    @Override
+    public List<Product> findAll(int page, int size, String sortBy, boolean asc) {
+        return coalesceList("findAll", () -> delegate.findAll(page, size, sortBy, asc), page, size, sortBy, asc);
+    }
+
+    @Override
+    public List<Product> search(String q, int page, int size, String sortBy, boolean asc) {
+        return coalesceList("search", () -> delegate.search(q, page, size, sortBy, asc), q, page, size, sortBy, asc);
+    }
+
+    @Override
+    public void deleteById(String id) {
+        delegate.deleteById(id);
+    }
+
+    @Override
+    public long count() {
+        return coalesce("count", delegate::count);
+    }
+
+    @Override
+    public List<Product> findAllByCategory(String categoryId, int page, int size, String sortBy, boolean asc) {
+        return coalesceList("findAllByCategory", () -> delegate.findAllByCategory(categoryId, page, size, sortBy, asc),
+                categoryId, page, size, sortBy, asc);
+    }
+
+    @Override
+    public List<Product> searchByCategory(String categoryId, String q, int page, int size, String sortBy, boolean asc) {
+        return coalesceList("searchByCategory", () -> delegate.searchByCategory(categoryId, q, page, size, sortBy, asc),
+                categoryId, q, page, size, sortBy, asc);
+    }
+
+    @Override
+    public long countByCategory(String categoryId) {
+        return coalesce("countByCategory", () -> delegate.countByCategory(categoryId), categoryId);
+    }
+
+    @Override
+    public ProductSlice findAfter(String categoryId, String q, ProductCursor after, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        return coalesceSlice("findAfter", () -> delegate.findAfter(categoryId, q, after, size, sortBy, asc, fields),
+                categoryId, q, position(after), size, sortBy, asc, fields);
+    }
+
+    @Override
+    public ProductSlice findSlice(String categoryId, String q, int page, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        return coalesceSlice("findSlice", () -> delegate.findSlice(categoryId, q, page, size, sortBy, asc, fields),
+                categoryId, q, page, size, sortBy, asc, fields);
+    }
+
+    @Override
+    public long countSearch(String categoryId, String q) {
+        return coalesce("countSearch", () -> delegate.countSearch(categoryId, q), categoryId, q);
+    }
+
+    @Override
+    public ProductSlice findSlice(ProductFilter filter, int page, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        return coalesceSlice("findSliceFiltered", () -> delegate.findSlice(filter, page, size, sortBy, asc, fields),
+                filter, page, size, sortBy, asc, fields);
+    }
+
+    @Override
+    public long count(ProductFilter filter) {
+        return coalesce("countFiltered", () -> delegate.count(filter), filter);
+    }
+
+    // Computed once per key by the facet cache in front of this layer already.
+    @Override
+    public Map<ProductFacet, Map<String, Long>> facets(ProductFilter filter, Set<ProductFacet> facets) {
+        return delegate.facets(filter, facets);
+    }
+
+    @Override
+    public void forEachActive(String categoryId, Instant updatedSince, Consumer<Product> action) {
+        delegate.forEachActive(categoryId, updatedSince, action);
+    }
+
+    @Override
+    public ProductChanges findChanges(long since, int limit) {
+        return delegate.findChanges(since, limit);
+    }
+
+    // ProductCursor has no value equality of its own.
+    private static List<Object> position(ProductCursor cursor) {
+        return cursor == null ? null
+                : Arrays.asList(cursor.getSortBy(), cursor.isAsc(), cursor.getKeys(), cursor.getId());
+    }
+}
@@ -0,0 +1,48 @@
+package com.turkcell.aimobile.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes product detail, facet and list page cache statistics on /actuator/productcache.
+ */
+@Component
+@Endpoint(id = "productcache")
+public class ProductCacheEndpoint {
+
+    private final CachingProductRepository cache;
+
+    public ProductCacheEndpoint(CachingProductRepository cache) {
+        this.cache = cache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("size", cache.size());
+        body.put("hits", stats.hitCount());
+        body.put("misses", stats.missCount());
+        body.put("hitRate", stats.hitRate());
+        body.put("evictions", stats.evictionCount());
+        body.put("loads", stats.loadCount());
+        CacheStats facetStats = cache.facetStats();
+        Map<String, Object> facets = new LinkedHashMap<>();
+        facets.put("hits", facetStats.hitCount());
+        facets.put("misses", facetStats.missCount());
+        facets.put("hitRate", facetStats.hitRate());
+        body.put("facets", facets);
+        CacheStats pageStats = cache.pageStats();
+        Map<String, Object> pages = new LinkedHashMap<>();
+        pages.put("hits", pageStats.hitCount());
+        pages.put("misses", pageStats.missCount());
+        pages.put("hitRate", pageStats.hitRate());
+        body.put("pages", pages);
+        return body;
+    }
+}
@@ -0,0 +1,83 @@
+package com.turkcell.aimobile.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one load per key at a time. The first caller of a key loads on its own
+ * thread; callers arriving while that load is in flight wait for it and get the same
+ * result, or the same exception. Nothing is kept once the load completes.
+ */
+final class SingleFlight<K> {
+
+    private final Map<K, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final long timeoutNanos;
+    private final Counter loads;
+    private final Counter joins;
+    private final Counter timeouts;
+
+    SingleFlight(Duration timeout, MeterRegistry registry, String component) {
+        this.timeoutNanos = timeout.toNanos();
+        this.loads = Counter.builder("app.coalescing.calls").tag("component", component).tag("role", "load")
+                .description("Calls that ran their query").register(registry);
+        this.joins = Counter.builder("app.coalescing.calls").tag("component", component).tag("role", "join")
+                .description("Calls that shared the result of an identical query in flight").register(registry);
+        this.timeouts = Counter.builder("app.coalescing.timeouts").tag("component", component)
+                .description("Calls that gave up waiting for a shared query").register(registry);
+    }
+
+    /**
+     * @throws QueryTimeoutException when a shared load does not complete within the timeout
+     */
+    @SuppressWarnings("unchecked")
+    <V> V get(K key, Supplier<V> loader) {
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            joins.increment();
+            return (V) await(running);
+        }
+        loads.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            timeouts.increment();
+            throw new QueryTimeoutException("Timed out waiting for an identical query in flight", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted waiting for an identical query in flight", ex);
+        } catch (ExecutionException ex) {
+            // the loader's own exception, so every caller fails the same way
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.turkcell.aimobile.infrastructure.cache;
+
+import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.model.Category;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Serves category lookups from an in-memory {@link CategoryTree}. The tree is loaded
+ * once and swapped copy-on-write after every save, so the product write path can
+ * validate categories and walk children without a database round trip or a lock.
+ */
+public class SnapshotCategoryRepository implements CategoryRepositoryPort {
+
+    private final CategoryRepositoryPort delegate;
+    private volatile CategoryTree tree;
+
+    public SnapshotCategoryRepository(CategoryRepositoryPort delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    public CategoryTree tree() {
+        CategoryTree current = tree;
+        return current != null ? current : reload();
+    }
+
+    public synchronized CategoryTree reload() {
+        tree = CategoryTree.of(delegate.findAll());
+        return tree;
+    }
+
+    // Category writes are rare; serializing them keeps the published tree in commit order.
+    @Override
+    public synchronized Category save(Category category) {
+        Category saved = delegate.save(category);
+        tree = tree().with(saved);
+        return saved;
+    }
+
+    // Moves are serialized with saves and the tree is only swapped once the store has moved
+    // the whole subtree; a failed move leaves the previous tree in place.
+    @Override
+    public synchronized Category move(Category category) {
+        Category saved = delegate.move(category);
+        reload();
+        return saved;
+    }
+
+    @Override
+    public Optional<Category> findById(String id) {
+        return tree().find(id);
+    }
+
+    @Override
+    public boolean existsByNameAndParentId(String name, String parentId) {
+        return tree().hasChildNamed(parentId, name);
+    }
+
+    @Override
+    public List<Category> findActiveOrdered(int page, int size) {
+        return delegate.findActiveOrdered(page, size);
+    }
+
+    @Override
+    public long countActive() {
+        return tree().countActive();
+    }
+
+    @Override
+    public List<Category> findChildren(String parentId) {
+        return tree().children(parentId);
+    }
+
+    @Override
+    public List<Category> findSubtree(String id) {
+        return tree().subtree(id);
+    }
+
+    @Override
+    public boolean existsByIdAndIsActiveTrue(String id) {
+        return tree().isActive(id);
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return delegate.findAll();
+    }
+}
@@ -0,0 +1,500 @@
+package com.turkcell.aimobile.infrastructure.catalog;
+
+import com.turkcell.aimobile.model.PriceBuckets;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductFilter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Read-side columnar copy of the active products for lists without a search query.
+ * Every attribute a list filters or sorts on is one array indexed by row: prices as
+ * {@code double[]}, timestamps as epoch nanos in {@code long[]}, categoryId and currency
+ * dictionary-encoded as {@code int[]}, and a {@link BitSet} of the rows holding the
+ * current state of an active product. For each sortable field a permutation of the rows
+ * is kept in (field, id) order, so a page is a walk along one {@code int[]} that skips
+ * rows not matching the filter; only the ids of the page are handed back to be loaded.
+ * Totals and facet counts for a filter are one sequential scan over the same arrays.
+ *
+ * Rows are append-only like the ordinals of the search index: updating a product
+ * retires its row and appends a new one, which is inserted into each permutation by
+ * binary search. Retired rows are purged once they outnumber half of the live rows.
+ */
+public class ColumnarProductCatalog {
+
+    public static final Set<String> SORT_FIELDS = Set.of("createdAt", "updatedAt", "price", "name");
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final int NO_CODE = -1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> rowById = new HashMap<>();
+    private final Dictionary categories = new Dictionary();
+    private final Dictionary currencies = new Dictionary();
+    private final BitSet active = new BitSet();
+    private final Map<String, int[]> orders = new HashMap<>();
+    private String[] ids = new String[0];
+    private String[] names = new String[0];
+    private double[] prices = new double[0];
+    private long[] createdAt = new long[0];
+    private long[] updatedAt = new long[0];
+    private int[] category = new int[0];
+    private int[] currency = new int[0];
+    private int rows;
+    private int retired;
+
+    public ColumnarProductCatalog() {
+        for (String field : SORT_FIELDS) {
+            orders.put(field, new int[0]);
+        }
+    }
+
+    public boolean supports(String sortBy) {
+        return sortBy != null && SORT_FIELDS.contains(sortBy);
+    }
+
+    /**
+     * Insert or replace a product; inactive products are dropped.
+     */
+    public void index(Product product) {
+        indexAll(List.of(product));
+    }
+
+    public void indexAll(Iterable<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                if (product == null || product.getId() == null) {
+                    continue;
+                }
+                retire(product.getId());
+                if (Boolean.TRUE.equals(product.getIsActive())) {
+                    int row = append(product);
+                    for (Map.Entry<String, int[]> order : orders.entrySet()) {
+                        insertSorted(order, row);
+                    }
+                }
+            }
+            maybePurge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            retire(id);
+            maybePurge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the current content and load the given products, sorting each permutation once.
+     */
+    public void rebuild(Iterable<Product> products) {
+        lock.writeLock().lock();
+        try {
+            rowById.clear();
+            categories.clear();
+            currencies.clear();
+            active.clear();
+            rows = 0;
+            retired = 0;
+            for (Product product : products) {
+                if (product.getId() != null && Boolean.TRUE.equals(product.getIsActive())) {
+                    retire(product.getId());
+                    append(product);
+                }
+            }
+            for (String field : SORT_FIELDS) {
+                orders.put(field, sortedRows(field));
+            }
+            maybePurge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return rowById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the active products at [offset, offset + limit) in (sortBy, id) order.
+     *
+     * @param categoryId optional exact category filter
+     * @param sortBy one of {@link #SORT_FIELDS}
+     */
+    public List<String> page(String categoryId, String sortBy, boolean asc, long offset, int limit) {
+        return page(ProductFilter.of(categoryId, null), sortBy, asc, offset, limit);
+    }
+
+    /**
+     * Same as {@link #page(String, String, boolean, long, int)} for any filter without a
+     * search query.
+     */
+    public List<String> page(ProductFilter filter, String sortBy, boolean asc, long offset, int limit) {
+        if (!supports(sortBy)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        }
+        lock.readLock().lock();
+        try {
+            Criteria criteria = criteria(filter);
+            if (criteria == null) {
+                return List.of();
+            }
+            int[] order = orders.get(sortBy);
+            List<String> page = new ArrayList<>(Math.max(0, Math.min(limit, rowById.size())));
+            long skip = offset;
+            for (int i = 0; i < rows && page.size() < limit; i++) {
+                int row = order[asc ? i : rows - 1 - i];
+                if (!criteria.test(row)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    page.add(ids[row]);
+                }
+            }
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of active products matching a filter without a search query.
+     */
+    public long count(ProductFilter filter) {
+        lock.readLock().lock();
+        try {
+            Criteria criteria = criteria(filter);
+            long count = 0;
+            for (int row = 0; criteria != null && row < rows; row++) {
+                if (criteria.test(row)) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Facet counts over the active products matching a filter without a search query, in
+     * one scan of the columns: each matching row bumps one slot per facet in a plain
+     * {@code int[]} indexed by dictionary code or bucket.
+     */
+    public Map<ProductFacet, Map<String, Long>> facets(ProductFilter filter, Set<ProductFacet> facets,
+                                                       PriceBuckets buckets) {
+        lock.readLock().lock();
+        try {
+            Criteria criteria = criteria(filter);
+            int[] byCategory = new int[categories.size()];
+            int[] byCurrency = new int[currencies.size()];
+            int[] byBucket = new int[buckets.count()];
+            boolean wantCategory = facets.contains(ProductFacet.CATEGORY_ID);
+            boolean wantCurrency = facets.contains(ProductFacet.CURRENCY);
+            boolean wantBucket = facets.contains(ProductFacet.PRICE_BUCKET);
+            for (int row = 0; criteria != null && row < rows; row++) {
+                if (!criteria.test(row)) {
+                    continue;
+                }
+                if (wantCategory && category[row] != NO_CODE) {
+                    byCategory[category[row]]++;
+                }
+                if (wantCurrency && currency[row] != NO_CODE) {
+                    byCurrency[currency[row]]++;
+                }
+                if (wantBucket && !Double.isNaN(prices[row])) {
+                    byBucket[buckets.bucketOf(prices[row])]++;
+                }
+            }
+            Map<ProductFacet, Map<String, Long>> result = new EnumMap<>(ProductFacet.class);
+            if (wantCategory) {
+                result.put(ProductFacet.CATEGORY_ID, categories.decode(byCategory));
+            }
+            if (wantCurrency) {
+                result.put(ProductFacet.CURRENCY, currencies.decode(byCurrency));
+            }
+            if (wantBucket) {
+                Map<String, Long> counts = new LinkedHashMap<>();
+                for (int i = 0; i < byBucket.length; i++) {
+                    counts.put(buckets.label(i), (long) byBucket[i]);
+                }
+                result.put(ProductFacet.PRICE_BUCKET, counts);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The filter resolved against the dictionaries; null when a value is unknown, as
+     * then nothing can match.
+     */
+    private Criteria criteria(ProductFilter filter) {
+        if (filter.q() != null) {
+            throw new IllegalArgumentException("The catalog does not evaluate search queries");
+        }
+        BitSet categoryCodes = null;
+        if (filter.categoryIds() != null) {
+            categoryCodes = new BitSet();
+            for (String categoryId : filter.categoryIds()) {
+                int code = categories.codeOf(categoryId);
+                if (code != NO_CODE) {
+                    categoryCodes.set(code);
+                }
+            }
+            if (categoryCodes.isEmpty()) {
+                return null;
+            }
+        }
+        int currencyCode = NO_CODE;
+        if (filter.currency() != null) {
+            currencyCode = currencies.codeOf(filter.currency());
+            if (currencyCode == NO_CODE) {
+                return null;
+            }
+        }
+        return new Criteria(categoryCodes, currencyCode,
+                filter.minPrice() == null ? Double.NEGATIVE_INFINITY : filter.minPrice(),
+                filter.maxPrice() == null ? Double.POSITIVE_INFINITY : filter.maxPrice(),
+                filter.minPrice() != null || filter.maxPrice() != null);
+    }
+
+    private final class Criteria {
+
+        private final BitSet categoryCodes;
+        private final int currencyCode;
+        private final double minPrice;
+        private final double maxPrice;
+        private final boolean priced;
+
+        Criteria(BitSet categoryCodes, int currencyCode, double minPrice, double maxPrice, boolean priced) {
+            this.categoryCodes = categoryCodes;
+            this.currencyCode = currencyCode;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.priced = priced;
+        }
+
+        // NaN compares false both ways, so a missing price fails any bound
+        boolean test(int row) {
+            return active.get(row)
+                    && (categoryCodes == null || (category[row] != NO_CODE && categoryCodes.get(category[row])))
+                    && (currencyCode == NO_CODE || currency[row] == currencyCode)
+                    && (!priced || (prices[row] >= minPrice && prices[row] <= maxPrice));
+        }
+    }
+
+    private int append(Product p) {
+        if (rows == ids.length) {
+            int capacity = Math.max(1024, rows * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            createdAt = Arrays.copyOf(createdAt, capacity);
+            updatedAt = Arrays.copyOf(updatedAt, capacity);
+            category = Arrays.copyOf(category, capacity);
+            currency = Arrays.copyOf(currency, capacity);
+        }
+        int row = rows++;
+        ids[row] = p.getId();
+        names[row] = p.getName();
+        // NaN stands for a missing price and sorts first, as NULL does in the database
+        prices[row] = p.getPrice() == null ? Double.NaN : p.getPrice();
+        createdAt[row] = nanos(p.getCreatedAt());
+        updatedAt[row] = nanos(p.getUpdatedAt());
+        category[row] = categories.encode(p.getCategoryId());
+        currency[row] = currencies.encode(p.getCurrency());
+        active.set(row);
+        rowById.put(p.getId(), row);
+        return row;
+    }
+
+    private void retire(String id) {
+        Integer row = rowById.remove(id);
+        if (row != null) {
+            active.clear(row);
+            retired++;
+        }
+    }
+
+    private void insertSorted(Map.Entry<String, int[]> order, int row) {
+        String field = order.getKey();
+        int[] sorted = order.getValue();
+        int size = row; // the new row is the only one not yet in the permutation
+        int lo = 0;
+        int hi = size;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(field, sorted[mid], row) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        if (sorted.length == size) {
+            sorted = Arrays.copyOf(sorted, Math.max(1024, size * 2));
+            order.setValue(sorted);
+        }
+        System.arraycopy(sorted, lo, sorted, lo + 1, size - lo);
+        sorted[lo] = row;
+    }
+
+    private int[] sortedRows(String field) {
+        Integer[] boxed = new Integer[rows];
+        for (int i = 0; i < rows; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (a, b) -> compare(field, a, b));
+        int[] sorted = new int[Math.max(ids.length, rows)];
+        for (int i = 0; i < rows; i++) {
+            sorted[i] = boxed[i];
+        }
+        return sorted;
+    }
+
+    private int compare(String field, int a, int b) {
+        int c = switch (field) {
+            case "price" -> comparePrice(prices[a], prices[b]);
+            case "createdAt" -> Long.compare(createdAt[a], createdAt[b]);
+            case "updatedAt" -> Long.compare(updatedAt[a], updatedAt[b]);
+            default -> compareName(names[a], names[b]);
+        };
+        return c != 0 ? c : ids[a].compareTo(ids[b]);
+    }
+
+    private static int comparePrice(double a, double b) {
+        boolean noA = Double.isNaN(a);
+        boolean noB = Double.isNaN(b);
+        if (noA || noB) {
+            return noA == noB ? 0 : noA ? -1 : 1;
+        }
+        return Double.compare(a, b);
+    }
+
+    private static int compareName(String a, String b) {
+        if (a == null || b == null) {
+            return a == b ? 0 : a == null ? -1 : 1;
+        }
+        return a.compareTo(b);
+    }
+
+    private static long nanos(Instant instant) {
+        return instant == null ? NO_TIME : instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    /**
+     * Drop retired rows from every column, keeping the permutations in order by
+     * renumbering the rows that stay.
+     */
+    private void maybePurge() {
+        if (retired < 1024 || retired <= rowById.size() / 2) {
+            return;
+        }
+        int[] renumbered = new int[rows];
+        int kept = 0;
+        for (int row = 0; row < rows; row++) {
+            if (active.get(row)) {
+                renumbered[row] = kept;
+                ids[kept] = ids[row];
+                names[kept] = names[row];
+                prices[kept] = prices[row];
+                createdAt[kept] = createdAt[row];
+                updatedAt[kept] = updatedAt[row];
+                category[kept] = category[row];
+                currency[kept] = currency[row];
+                kept++;
+            } else {
+                renumbered[row] = NO_CODE;
+            }
+        }
+        Arrays.fill(ids, kept, rows, null);
+        Arrays.fill(names, kept, rows, null);
+        for (Map.Entry<String, int[]> order : orders.entrySet()) {
+            int[] sorted = order.getValue();
+            int n = 0;
+            for (int i = 0; i < rows; i++) {
+                int row = renumbered[sorted[i]];
+                if (row != NO_CODE) {
+                    sorted[n++] = row;
+                }
+            }
+        }
+        rows = kept;
+        retired = 0;
+        active.clear();
+        active.set(0, kept);
+        rowById.clear();
+        for (int row = 0; row < kept; row++) {
+            rowById.put(ids[row], row);
+        }
+    }
+
+    /** Assigns small int codes to repeated string values. */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            return codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        int codeOf(String value) {
+            return codes.getOrDefault(value, NO_CODE);
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        // Non-zero counts by code, keyed by value.
+        Map<String, Long> decode(int[] counts) {
+            Map<String, Long> byValue = new HashMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    byValue.put(values.get(code), (long) counts[code]);
+                }
+            }
+            return byValue;
+        }
+
+        void clear() {
+            codes.clear();
+            values.clear();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.turkcell.aimobile.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkcell.aimobile.web.admission.AdmissionControl;
+import com.turkcell.aimobile.web.admission.AdmissionFilter;
+import com.turkcell.aimobile.web.admission.EndpointClass;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Admission control for the API, on unless {@code app.admission.enabled=false}. Each
+ * endpoint class's limit adapts between 1 and its {@code max-limit}; {@code max-concurrent}
+ * should stay at or below the connector's thread count so that excess requests are
+ * rejected here rather than queued by the container.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.admission.enabled", matchIfMissing = true)
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionControl admissionControl(@Value("${app.admission.max-concurrent:200}") int maxConcurrent,
+                                             @Value("${app.admission.write.max-limit:100}") int writeMaxLimit,
+                                             @Value("${app.admission.detail.max-limit:200}") int detailMaxLimit,
+                                             @Value("${app.admission.list.max-limit:100}") int listMaxLimit,
+                                             @Value("${app.admission.search.max-limit:40}") int searchMaxLimit,
+                                             MeterRegistry registry) {
+        Map<EndpointClass, Integer> maxLimits = Map.of(
+                EndpointClass.WRITE, writeMaxLimit,
+                EndpointClass.DETAIL, detailMaxLimit,
+                EndpointClass.LIST, listMaxLimit,
+                EndpointClass.SEARCH, searchMaxLimit);
+        return new AdmissionControl(maxLimits, maxConcurrent, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionControl admissionControl,
+                                                                   ObjectMapper objectMapper,
+                                                                   @Value("${app.admission.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<AdmissionFilter> registration = new FilterRegistrationBean<>(
+                new AdmissionFilter(admissionControl, objectMapper, Math.max(1, retryAfter.toSeconds())));
+        registration.addUrlPatterns("/api/*");
+        // ahead of everything else, a rejected request should cost as little as possible
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
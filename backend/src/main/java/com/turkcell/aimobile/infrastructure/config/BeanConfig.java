@@ -4,27 +4,141 @@ import com.turkcell.aimobile.application.CategoryApplicationService;
 import com.turkcell.aimobile.application.ProductApplicationService;
 import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
 import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
 import com.turkcell.aimobile.domain.service.ProductDomainService;
+import com.turkcell.aimobile.infrastructure.cache.CachingProductRepository;
+import com.turkcell.aimobile.infrastructure.cache.CoalescingProductRepository;
+import com.turkcell.aimobile.infrastructure.cache.SnapshotCategoryRepository;
+import com.turkcell.aimobile.infrastructure.catalog.ColumnarProductCatalog;
+import com.turkcell.aimobile.infrastructure.counter.ActiveProductCounts;
+import com.turkcell.aimobile.infrastructure.counter.ChangeSequence;
+import com.turkcell.aimobile.infrastructure.events.CatalogEventStream;
+import com.turkcell.aimobile.infrastructure.metrics.TimedOperations;
+import com.turkcell.aimobile.infrastructure.search.ProductSearchIndex;
+import com.turkcell.aimobile.model.PriceBuckets;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
 
 @Configuration
 public class BeanConfig {
 
     @Bean
-    public ProductDomainService productDomainService(ProductRepositoryPort repositoryPort) {
-        return new ProductDomainService(repositoryPort);
+    public ProductSearchIndex productSearchIndex() {
+        return new ProductSearchIndex();
+    }
+
+    @Bean
+    public ColumnarProductCatalog columnarProductCatalog() {
+        return new ColumnarProductCatalog();
+    }
+
+    @Bean
+    public ActiveProductCounts activeProductCounts() {
+        return new ActiveProductCounts();
+    }
+
+    @Bean
+    public ChangeSequence changeSequence() {
+        return new ChangeSequence();
+    }
+
+    @Bean
+    public PriceBuckets priceBuckets(@Value("${app.facets.price-buckets:0,100,500,1000,5000,10000,50000}") double[] bounds) {
+        return new PriceBuckets(bounds);
+    }
+
+    // The "store" adapter is JPA/H2 by default, the memory-mapped log under the mmap profile.
+    @Bean
+    public CoalescingProductRepository coalescingProductRepository(@Qualifier("store") ProductRepositoryPort store,
+                                                                   CatalogVersion catalogVersion,
+                                                                   @Value("${app.coalescing.timeout:5s}") Duration timeout,
+                                                                   MeterRegistry registry) {
+        return new CoalescingProductRepository(store, catalogVersion, timeout, registry);
+    }
+
+    @Bean
+    public CachingProductRepository cachingProductRepository(CoalescingProductRepository coalescing,
+                                                             @Value("${app.cache.products.maximum-size:10000}") long maximumSize,
+                                                             @Value("${app.cache.products.ttl:10m}") Duration ttl,
+                                                             @Value("${app.cache.products.warmup-size:500}") int warmupSize,
+                                                             CatalogVersion catalogVersion,
+                                                             @Value("${app.cache.facets.maximum-size:1000}") long facetMaximumSize,
+                                                             @Value("${app.cache.pages.maximum-size:5000}") long pageMaximumSize) {
+        return new CachingProductRepository(coalescing, maximumSize, ttl, warmupSize, catalogVersion, facetMaximumSize,
+                pageMaximumSize);
+    }
+
+    // Category reads on the product write path are served from an in-memory snapshot.
+    @Bean
+    public SnapshotCategoryRepository snapshotCategoryRepository(@Qualifier("store") CategoryRepositoryPort store) {
+        return new SnapshotCategoryRepository(store);
+    }
+
+    // Application code sees timed → cached → coalesced → store; the inner layers stay reachable by type.
+    @Bean
+    @Primary
+    public ProductRepositoryPort productRepositoryPort(CachingProductRepository cachingRepository, MeterRegistry registry) {
+        return TimedOperations.wrap(ProductRepositoryPort.class, cachingRepository, registry, "app.repository", "product");
+    }
+
+    @Bean
+    @Primary
+    public CategoryRepositoryPort categoryRepositoryPort(SnapshotCategoryRepository snapshotRepository, MeterRegistry registry) {
+        return TimedOperations.wrap(CategoryRepositoryPort.class, snapshotRepository, registry, "app.repository", "category");
+    }
+
+    @Bean
+    public ProductDomainService productDomainService() {
+        return new ProductDomainService();
+    }
+
+    @Bean
+    public CatalogVersion catalogVersion() {
+        return new CatalogVersion();
+    }
+
+    @Bean
+    public CatalogEventStream catalogEventStream(@Value("${app.events.buffer-size:1024}") int bufferSize,
+                                                 @Value("${app.events.max-lag:1024}") int maxLag,
+                                                 @Value("${app.events.timeout:30m}") Duration timeout,
+                                                 @Value("${app.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                                 @Value("${app.events.dispatch-threads:8}") int dispatchThreads,
+                                                 @Value("${app.events.dispatch-queue-size:1024}") int dispatchQueueSize,
+                                                 MeterRegistry registry) {
+        CatalogEventStream stream = new CatalogEventStream(bufferSize, maxLag, timeout, heartbeatInterval,
+                dispatchThreads, dispatchQueueSize);
+        Gauge.builder("app.events.subscribers", stream, CatalogEventStream::subscriberCount)
+                .description("Open catalog change streams")
+                .register(registry);
+        return stream;
     }
 
     @Bean
     public ProductApplicationService productApplicationService(ProductRepositoryPort repositoryPort,
                                                                ProductDomainService domainService,
-                                                               CategoryRepositoryPort categoryRepositoryPort) {
-        return new ProductApplicationService(repositoryPort, domainService, categoryRepositoryPort);
+                                                               CategoryRepositoryPort categoryRepositoryPort,
+                                                               CatalogVersion catalogVersion,
+                                                               CatalogEventStream catalogEvents,
+                                                               MeterRegistry registry) {
+        ProductApplicationService service = new ProductApplicationService(repositoryPort, domainService,
+                categoryRepositoryPort, catalogVersion, catalogEvents);
+        return TimedOperations.wrap(ProductApplicationService.class, service, registry, "app.usecase", "product");
     }
 
     @Bean
-    public CategoryApplicationService categoryApplicationService(CategoryRepositoryPort categoryRepositoryPort) {
-        return new CategoryApplicationService(categoryRepositoryPort);
+    public CategoryApplicationService categoryApplicationService(CategoryRepositoryPort categoryRepositoryPort,
+                                                                 CatalogVersion catalogVersion,
+                                                                 CatalogEventStream catalogEvents,
+                                                                 MeterRegistry registry) {
+        CategoryApplicationService service = new CategoryApplicationService(categoryRepositoryPort, catalogVersion,
+                catalogEvents);
+        return TimedOperations.wrap(CategoryApplicationService.class, service, registry, "app.usecase", "category");
     }
 }
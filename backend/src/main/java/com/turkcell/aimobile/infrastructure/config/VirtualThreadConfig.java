@@ -0,0 +1,58 @@
+package com.turkcell.aimobile.infrastructure.config;
+
+import com.turkcell.aimobile.infrastructure.persistence.BoundedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Active when {@code spring.threads.virtual.enabled=true} on a Java 21+ runtime (see the
+ * {@code virtual} Spring profile). Tomcat then serves every request on its own virtual
+ * thread, so request concurrency is no longer capped by the connector thread pool. The
+ * pool keeps its own size and timeout; a {@link BoundedDataSource} in front of it only
+ * limits how many threads may wait for a connection ({@code app.datasource.max-waiters})
+ * and turns the rest away at once, which reaches the client as a {@code 503}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(
+            @Value("${app.datasource.max-waiters:200}") int maxWaiters) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new BoundedDataSource(hikari, hikari.getMaximumPoolSize(), maxWaiters);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder boundedDataSourceMetrics(ObjectProvider<DataSource> dataSource) {
+        // no DataSource under the mmap storage profile
+        return registry -> {
+            if (dataSource.getIfAvailable() instanceof BoundedDataSource bounded) {
+                Gauge.builder("app.datasource.admitted", bounded, BoundedDataSource::admitted)
+                        .description("Threads holding or waiting for a connection")
+                        .register(registry);
+                FunctionCounter.builder("app.datasource.rejected", bounded, BoundedDataSource::rejected)
+                        .description("Connection requests turned away because too many threads were waiting")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.turkcell.aimobile.infrastructure.counter;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Maintained number of active products, globally and per category, so list totals
+ * do not need a COUNT(*) per request. Seeded once from the table, then kept in step
+ * by the persistence adapter on every write.
+ */
+public class ActiveProductCounts {
+
+    private final AtomicLong total = new AtomicLong();
+    private final Map<String, AtomicLong> byCategory = new ConcurrentHashMap<>();
+
+    public long total() {
+        return total.get();
+    }
+
+    public long byCategory(String categoryId) {
+        AtomicLong count = byCategory.get(categoryId);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Replace all counters, e.g. with the result of a GROUP BY categoryId query.
+     * A null key counts active products without a category.
+     */
+    public synchronized void reset(Map<String, Long> activeByCategory) {
+        byCategory.clear();
+        long sum = 0;
+        for (Map.Entry<String, Long> e : activeByCategory.entrySet()) {
+            sum += e.getValue();
+            if (e.getKey() != null) {
+                byCategory.put(e.getKey(), new AtomicLong(e.getValue()));
+            }
+        }
+        total.set(sum);
+    }
+
+    /**
+     * Apply the transition of one product from its previous to its new state.
+     */
+    public void onChange(boolean wasActive, String previousCategoryId, boolean isActive, String categoryId) {
+        if (wasActive) {
+            total.decrementAndGet();
+            if (previousCategoryId != null) {
+                byCategory.computeIfAbsent(previousCategoryId, k -> new AtomicLong()).decrementAndGet();
+            }
+        }
+        if (isActive) {
+            total.incrementAndGet();
+            if (categoryId != null) {
+                byCategory.computeIfAbsent(categoryId, k -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.turkcell.aimobile.infrastructure.counter;
+
+import java.util.TreeSet;
+
+/**
+ * Hands out the change sequence numbers of product writes and tells how far the feed
+ * may be read. Numbers are taken before a write commits, so commits can land out of
+ * order; {@link #visible()} stops below the oldest write still in flight, so a client
+ * that stored it as its watermark cannot skip a change that commits later.
+ */
+public class ChangeSequence {
+
+    // guarded by this
+    private long last;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    /**
+     * Continue after the highest number already stored; never moves backwards.
+     */
+    public synchronized void advanceTo(long stored) {
+        last = Math.max(last, stored);
+    }
+
+    /**
+     * Take the next number; it stays in flight until {@link #release(long)}.
+     */
+    public synchronized long next() {
+        inFlight.add(++last);
+        return last;
+    }
+
+    /**
+     * The write holding {@code seq} committed or failed.
+     */
+    public synchronized void release(long seq) {
+        inFlight.remove(seq);
+    }
+
+    /**
+     * Highest number below which every write has completed.
+     */
+    public synchronized long visible() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+}
@@ -0,0 +1,282 @@
+package com.turkcell.aimobile.infrastructure.events;
+
+import com.turkcell.aimobile.domain.port.CatalogEventPublisher;
+import com.turkcell.aimobile.model.CatalogChange;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans catalog changes out to Server-Sent Events subscribers. The last {@code bufferSize}
+ * events stay in a ring that every subscriber reads from at its own position, so a
+ * subscriber costs no memory per pending event, and a client reconnecting with
+ * {@code Last-Event-ID} continues from the ring. A client too far behind for the ring
+ * gets a {@value #RESET} event and reloads instead.
+ * <p>
+ * Publishing only moves the ring ahead and wakes idle subscribers; a pool of
+ * {@code dispatchThreads} threads writes each subscriber's pending events to its
+ * connection, all of them in one write. Its queue holds at most {@code dispatchQueueSize}
+ * drains: a subscriber whose drain is turned away, like one more than {@code maxLag}
+ * events behind, is disconnected rather than waited for, and resumes like any
+ * reconnecting client.
+ */
+public class CatalogEventStream implements CatalogEventPublisher, Closeable {
+
+    static final String RESET = "reset";
+
+    private record Event(long id, CatalogChange change) {
+    }
+
+    private final Event[] ring;
+    private final int maxLag;
+    private final long timeoutMillis;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatch;
+    private final ScheduledExecutorService heartbeat;
+    // ids start from the clock, so an id issued before a restart is not mistaken for a current one
+    private final long firstId = System.currentTimeMillis();
+    // guarded by this, as is the state of every subscriber
+    private long lastId = firstId;
+
+    public CatalogEventStream(int bufferSize, int maxLag, Duration timeout, Duration heartbeatInterval,
+                              int dispatchThreads, int dispatchQueueSize) {
+        this.ring = new Event[bufferSize];
+        this.maxLag = Math.min(maxLag, bufferSize);
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(dispatchQueueSize),
+                r -> daemon(r, "catalog-events-" + threads.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.dispatch = pool;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "catalog-events-heartbeat"));
+        long period = heartbeatInterval.toMillis();
+        heartbeat.scheduleWithFixedDelay(this::beat, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    @Override
+    public void publish(CatalogChange change) {
+        List<Subscriber> lagging = new ArrayList<>();
+        List<Subscriber> dropped = new ArrayList<>();
+        synchronized (this) {
+            Event event = new Event(++lastId, change);
+            ring[(int) (event.id() % ring.length)] = event;
+            for (Subscriber s : subscribers) {
+                if (lastId - s.position > maxLag) {
+                    lagging.add(s);
+                } else if (!s.wake()) {
+                    dropped.add(s);
+                }
+            }
+        }
+        lagging.forEach(Subscriber::disconnect);
+        dropped.forEach(Subscriber::complete);
+    }
+
+    /**
+     * Open a stream that starts after {@code lastEventId}, or with the next event when null.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        Subscriber s = new Subscriber(new SseEmitter(timeoutMillis));
+        boolean scheduled;
+        synchronized (this) {
+            Long after = resumePoint(lastEventId);
+            s.position = after != null ? after : lastId;
+            s.reset = after == null;
+            subscribers.add(s);
+            scheduled = s.wake();
+        }
+        if (!scheduled) {
+            s.complete();
+            return s.emitter;
+        }
+        s.emitter.onCompletion(s::closed);
+        s.emitter.onTimeout(s::closed);
+        s.emitter.onError(ex -> s.closed());
+        return s.emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Null when the position is unknown or too far back; the caller holds the lock.
+    private Long resumePoint(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return lastId;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        return after > lastId || after < Math.max(firstId, lastId - maxLag) ? null : after;
+    }
+
+    // Keeps idle connections open through proxies and finds the ones that are gone.
+    private void beat() {
+        List<Subscriber> dropped = new ArrayList<>();
+        synchronized (this) {
+            for (Subscriber s : subscribers) {
+                s.heartbeat = true;
+                if (!s.wake()) {
+                    dropped.add(s);
+                }
+            }
+        }
+        dropped.forEach(Subscriber::complete);
+    }
+
+    @Override
+    public void close() {
+        heartbeat.shutdownNow();
+        subscribers.forEach(Subscriber::disconnect);
+        dispatch.shutdown();
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        // id of the last event handed to the connection
+        long position;
+        boolean reset;
+        boolean heartbeat;
+        private boolean draining;
+        private boolean closed;
+        // closed by the stream rather than the client, so the emitter is completed here
+        private boolean disconnected;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Schedule a drain if there is something to write; the caller holds the lock. False
+         * when the pool turned the drain away: the subscriber is then closed, and the caller
+         * calls {@link #complete()} once it has released the lock.
+         */
+        boolean wake() {
+            if (!draining && !closed && (position < lastId || reset || heartbeat)) {
+                draining = true;
+                try {
+                    dispatch.execute(this::drain);
+                } catch (RejectedExecutionException ex) {
+                    draining = false;
+                    closed = true;
+                    subscribers.remove(this);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void drain() {
+            while (true) {
+                Set<ResponseBodyEmitter.DataWithMediaType> frames;
+                boolean complete;
+                synchronized (CatalogEventStream.this) {
+                    frames = closed ? null : pending();
+                    draining = frames != null;
+                    complete = disconnected;
+                }
+                if (frames == null) {
+                    // disconnect() leaves the completion to a send that was in progress
+                    if (complete) {
+                        complete();
+                    }
+                    return;
+                }
+                try {
+                    emitter.send(frames);
+                } catch (IOException | IllegalStateException ex) {
+                    // the client went away; the container completes the emitter
+                    closed();
+                    return;
+                }
+            }
+        }
+
+        // Everything not yet handed to the connection, or null if there is nothing; the caller holds the lock.
+        private Set<ResponseBodyEmitter.DataWithMediaType> pending() {
+            if (position == lastId && !reset && !heartbeat) {
+                return null;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> frames = new LinkedHashSet<>();
+            if (reset) {
+                frames.addAll(SseEmitter.event().id(Long.toString(position)).name(RESET)
+                        .data("{}", MediaType.APPLICATION_JSON).build());
+            }
+            for (long id = position + 1; id <= lastId; id++) {
+                frames.addAll(frame(ring[(int) (id % ring.length)]).build());
+            }
+            if (frames.isEmpty()) {
+                frames.addAll(SseEmitter.event().comment("heartbeat").build());
+            }
+            position = lastId;
+            reset = false;
+            heartbeat = false;
+            return frames;
+        }
+
+        private SseEmitter.SseEventBuilder frame(Event e) {
+            return SseEmitter.event()
+                    .id(Long.toString(e.id()))
+                    .name(e.change().kind().name().toLowerCase(Locale.ROOT))
+                    .data(e.change(), MediaType.APPLICATION_JSON);
+        }
+
+        void closed() {
+            synchronized (CatalogEventStream.this) {
+                closed = true;
+            }
+            subscribers.remove(this);
+        }
+
+        /**
+         * Close the stream from this side. Completing waits for a send in progress, so while
+         * a drain is running it is left to the drain; otherwise nothing is being sent and the
+         * emitter is completed right away.
+         */
+        void disconnect() {
+            boolean sending;
+            synchronized (CatalogEventStream.this) {
+                closed = true;
+                disconnected = true;
+                sending = draining;
+            }
+            subscribers.remove(this);
+            if (!sending) {
+                complete();
+            }
+        }
+
+        void complete() {
+            emitter.complete();
+        }
+    }
+}
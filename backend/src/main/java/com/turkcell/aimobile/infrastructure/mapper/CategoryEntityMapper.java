@@ -10,10 +10,12 @@ public class CategoryEntityMapper {
         c.setName(e.getName());
         c.setDescription(e.getDescription());
         c.setParentId(e.getParentId());
+        c.setPath(e.getPath());
         c.setOrdering(e.getOrdering());
         c.setIsActive(e.getIsActive());
         c.setCreatedAt(e.getCreatedAt());
         c.setUpdatedAt(e.getUpdatedAt());
+        c.setVersion(e.getVersion());
         return c;
     }
 
@@ -23,10 +25,12 @@ public class CategoryEntityMapper {
         e.setName(c.getName());
         e.setDescription(c.getDescription());
         e.setParentId(c.getParentId());
+        e.setPath(c.getPath());
         e.setOrdering(c.getOrdering());
         e.setIsActive(c.getIsActive());
         e.setCreatedAt(c.getCreatedAt());
         e.setUpdatedAt(c.getUpdatedAt());
+        e.setVersion(c.getVersion());
         return e;
     }
 }
\ No newline at end of file
@@ -2,6 +2,11 @@ package com.turkcell.aimobile.infrastructure.mapper;
 
 import com.turkcell.aimobile.infrastructure.persistence.h2.entity.ProductEntity;
 import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductField;
+import jakarta.persistence.Tuple;
+
+import java.time.Instant;
+import java.util.List;
 
 public class ProductEntityMapper {
     public Product toDomain(ProductEntity e) {
@@ -17,6 +22,8 @@ public class ProductEntityMapper {
         p.setImageUrl(e.getImageUrl());
         p.setCreatedAt(e.getCreatedAt());
         p.setUpdatedAt(e.getUpdatedAt());
+        p.setVersion(e.getVersion());
+        p.setChangeSeq(e.getChangeSeq());
         return p;
     }
 
@@ -33,6 +40,33 @@ public class ProductEntityMapper {
         e.setImageUrl(p.getImageUrl());
         e.setCreatedAt(p.getCreatedAt());
         e.setUpdatedAt(p.getUpdatedAt());
+        e.setVersion(p.getVersion());
+        e.setChangeSeq(p.getChangeSeq());
         return e;
     }
+
+    /**
+     * Product holding only the given columns of a projected row, in selection order.
+     */
+    public Product toDomain(Tuple row, List<ProductField> columns) {
+        Product p = new Product();
+        for (int i = 0; i < columns.size(); i++) {
+            Object value = row.get(i);
+            switch (columns.get(i)) {
+                case ID -> p.setId((String) value);
+                case NAME -> p.setName((String) value);
+                case SKU -> p.setSku((String) value);
+                case DESCRIPTION -> p.setDescription((String) value);
+                case PRICE -> p.setPrice((Double) value);
+                case CURRENCY -> p.setCurrency((String) value);
+                case IS_ACTIVE -> p.setIsActive((Boolean) value);
+                case CATEGORY_ID -> p.setCategoryId((String) value);
+                case IMAGE_URL -> p.setImageUrl((String) value);
+                case CREATED_AT -> p.setCreatedAt((Instant) value);
+                case UPDATED_AT -> p.setUpdatedAt((Instant) value);
+                case VERSION -> p.setVersion((Long) value);
+            }
+        }
+        return p;
+    }
 }
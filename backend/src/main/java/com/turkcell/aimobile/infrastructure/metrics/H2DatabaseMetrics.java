@@ -0,0 +1,59 @@
+package com.turkcell.aimobile.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Gauges for the embedded H2 database. H2 runs in-process and in memory, so it has no
+ * page cache or file size to report; what it does expose is its view of memory
+ * (MEMORY_USED/MEMORY_FREE) and per-table row estimates. Values are read on scrape.
+ */
+@Component
+@Profile("!mmap")
+public class H2DatabaseMetrics implements MeterBinder {
+
+    private static final List<String> TABLES = List.of("PRODUCTS", "CATEGORIES");
+
+    private final JdbcTemplate jdbc;
+
+    public H2DatabaseMetrics(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("h2.memory.used", this, m -> m.query("SELECT MEMORY_USED() * 1024"))
+                .baseUnit("bytes")
+                .description("Memory in use as reported by H2")
+                .register(registry);
+        Gauge.builder("h2.memory.free", this, m -> m.query("SELECT MEMORY_FREE() * 1024"))
+                .baseUnit("bytes")
+                .description("Free memory as reported by H2")
+                .register(registry);
+        for (String table : TABLES) {
+            Gauge.builder("h2.table.rows", this, m -> m.query(
+                            "SELECT ROW_COUNT_ESTIMATE FROM INFORMATION_SCHEMA.TABLES "
+                                    + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = '" + table + "'"))
+                    .tag("table", table.toLowerCase())
+                    .description("Estimated row count")
+                    .register(registry);
+        }
+    }
+
+    private double query(String sql) {
+        try {
+            Number value = jdbc.queryForObject(sql, Number.class);
+            return value == null ? Double.NaN : value.doubleValue();
+        } catch (DataAccessException ex) {
+            // table not created yet, or the pool is exhausted; skip this sample
+            return Double.NaN;
+        }
+    }
+}
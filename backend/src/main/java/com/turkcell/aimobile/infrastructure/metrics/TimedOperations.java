@@ -0,0 +1,132 @@
+package com.turkcell.aimobile.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decorator that times every public call on a port or application service and records
+ * it as a percentile histogram. Tags:
+ * <ul>
+ *   <li>{@code component} – which port/service, e.g. {@code product}</li>
+ *   <li>{@code operation} – method name</li>
+ *   <li>{@code kind} – {@code search} when a non-blank {@code q} argument is passed,
+ *       {@code list} for other paged/listing calls (methods with a {@code q}, {@code page}
+ *       or {@code size} parameter), {@code other} for everything else</li>
+ *   <li>{@code category} – {@code filtered} when a non-blank {@code categoryId} is passed, else {@code all}</li>
+ *   <li>{@code exception} – simple class name of the thrown exception, or {@code none}</li>
+ * </ul>
+ * Argument roles are read from parameter names, which the build keeps ({@code -parameters}).
+ */
+public final class TimedOperations implements MethodInterceptor {
+
+    private final MeterRegistry registry;
+    private final String meterName;
+    private final String component;
+    private final Map<Method, Shape> shapes = new ConcurrentHashMap<>();
+    private final Map<Key, Timer> timers = new ConcurrentHashMap<>();
+
+    private TimedOperations(MeterRegistry registry, String meterName, String component) {
+        this.registry = registry;
+        this.meterName = meterName;
+        this.component = component;
+    }
+
+    /**
+     * Wrap {@code target}; interfaces get a JDK proxy, classes a subclass proxy.
+     */
+    public static <T> T wrap(Class<T> type, T target, MeterRegistry registry, String meterName, String component) {
+        ProxyFactory factory = new ProxyFactory(target);
+        if (type.isInterface()) {
+            factory.setInterfaces(type);
+        } else {
+            factory.setProxyTargetClass(true);
+        }
+        factory.addAdvice(new TimedOperations(registry, meterName, component));
+        return type.cast(factory.getProxy());
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (!Modifier.isPublic(method.getModifiers()) || method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        Shape shape = shapes.computeIfAbsent(method, Shape::of);
+        Object[] args = invocation.getArguments();
+        String kind = shape.kind(args);
+        boolean filtered = shape.filtered(args);
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            timer(new Key(method.getName(), kind, filtered, exception))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(Key key) {
+        return timers.computeIfAbsent(key, k -> Timer.builder(meterName)
+                .tag("component", component)
+                .tag("operation", k.operation())
+                .tag("kind", k.kind())
+                .tag("category", k.filtered() ? "filtered" : "all")
+                .tag("exception", k.exception())
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private record Key(String operation, String kind, boolean filtered, String exception) {
+    }
+
+    // Positions of the arguments that decide the kind/category tags, -1 when absent.
+    private record Shape(int query, int categoryId, boolean listing) {
+
+        static Shape of(Method method) {
+            int query = -1;
+            int categoryId = -1;
+            boolean listing = false;
+            Parameter[] params = method.getParameters();
+            for (int i = 0; i < params.length; i++) {
+                switch (params[i].getName()) {
+                    case "q" -> {
+                        query = i;
+                        listing = true;
+                    }
+                    case "categoryId" -> categoryId = i;
+                    case "page", "size" -> listing = true;
+                    default -> { }
+                }
+            }
+            return new Shape(query, categoryId, listing);
+        }
+
+        String kind(Object[] args) {
+            if (query >= 0 && isPresent(args[query])) {
+                return "search";
+            }
+            return listing ? "list" : "other";
+        }
+
+        boolean filtered(Object[] args) {
+            return categoryId >= 0 && isPresent(args[categoryId]);
+        }
+
+        private static boolean isPresent(Object arg) {
+            return arg instanceof String s && !s.isBlank();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.turkcell.aimobile.infrastructure.persistence;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caps how many callers may be inside the wrapped pool at once, holding a connection or
+ * waiting for one: {@code connections + maxWaiters}. A caller past the cap is rejected at
+ * once instead of joining the pool's wait queue, so under virtual threads an overload
+ * fails fast rather than parking thousands of requests for the full connection timeout.
+ * Admitted callers wait in the pool as usual, under its own timeout. The admission is
+ * returned when the connection is closed.
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+    private final int capacity;
+    private final Semaphore admissions;
+    private final LongAdder rejected = new LongAdder();
+
+    public BoundedDataSource(DataSource target, int connections, int maxWaiters) {
+        super(target);
+        if (connections < 1 || maxWaiters < 0) {
+            throw new IllegalArgumentException("connections must be positive and maxWaiters not negative");
+        }
+        this.capacity = connections + maxWaiters;
+        this.admissions = new Semaphore(capacity);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        admit();
+        try {
+            return releasing(super.getConnection());
+        } catch (SQLException | RuntimeException ex) {
+            admissions.release();
+            throw ex;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        admit();
+        try {
+            return releasing(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException ex) {
+            admissions.release();
+            throw ex;
+        }
+    }
+
+    /** Callers currently holding or waiting for a connection. */
+    public int admitted() {
+        return capacity - admissions.availablePermits();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    private void admit() throws SQLTransientConnectionException {
+        if (!admissions.tryAcquire()) {
+            rejected.increment();
+            throw new SQLTransientConnectionException("Connection is not available, " + capacity
+                    + " callers already hold or wait for one");
+        }
+    }
+
+    // Hands the admission back on the first close(); later calls are passed through untouched.
+    private Connection releasing(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                        try {
+                            connection.close();
+                        } finally {
+                            if (released.compareAndSet(false, true)) {
+                                admissions.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+                        return proxy == args[0];
+                    }
+                    if ("hashCode".equals(method.getName()) && method.getParameterCount() == 0) {
+                        return System.identityHashCode(proxy);
+                    }
+                    if ("unwrap".equals(method.getName()) && ((Class<?>) args[0]).isInstance(connection)) {
+                        return connection;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,50 @@
+package com.turkcell.aimobile.infrastructure.persistence.h2;
+
+import com.turkcell.aimobile.model.ProductSortField;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Fails startup when an index that {@link ProductSortField} relies on, for the whole
+ * catalog or within one category, is missing from the schema, so a sort can never
+ * silently turn into a full scan and sort of the table.
+ */
+@Component
+@Profile("!mmap")
+public class ProductSortIndexes {
+
+    private final JdbcTemplate jdbc;
+
+    public ProductSortIndexes(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        Set<String> present = jdbc.queryForList(
+                        "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'PRODUCTS'", String.class)
+                .stream()
+                .map(name -> name.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        List<String> missing = new ArrayList<>();
+        for (ProductSortField field : ProductSortField.values()) {
+            for (String index : new String[] {field.index(), field.categoryIndex()}) {
+                if (!present.contains(index)) {
+                    missing.add(index);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing sort indexes on products: " + missing);
+        }
+    }
+}
@@ -1,17 +1,25 @@
 package com.turkcell.aimobile.infrastructure.persistence.h2.adapter;
 
 import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.exception.PreconditionFailedException;
 import com.turkcell.aimobile.infrastructure.mapper.CategoryEntityMapper;
 import com.turkcell.aimobile.infrastructure.persistence.h2.entity.CategoryEntity;
 import com.turkcell.aimobile.infrastructure.persistence.h2.repository.CategoryJpaRepository;
 import com.turkcell.aimobile.model.Category;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
+@Profile("!mmap")
+@Qualifier("store")
 public class CategoryRepositoryJpaAdapter implements CategoryRepositoryPort {
 
     private final CategoryJpaRepository jpaRepository;
@@ -23,10 +31,41 @@ public class CategoryRepositoryJpaAdapter implements CategoryRepositoryPort {
 
     @Override
     public Category save(Category category) {
-        CategoryEntity saved = jpaRepository.save(mapper.toEntity(category));
+        CategoryEntity saved;
+        try {
+            saved = jpaRepository.save(mapper.toEntity(category));
+        } catch (OptimisticLockingFailureException ex) {
+            throw new PreconditionFailedException("CATEGORY_VERSION_MISMATCH");
+        }
         return mapper.toDomain(saved);
     }
 
+    /**
+     * The category row and its descendants' paths change in one transaction; the stored
+     * path, not the caller's copy, decides which rows are descendants.
+     */
+    @Override
+    @Transactional
+    public Category move(Category category) {
+        String previousPath = jpaRepository.findById(category.getId())
+                .map(CategoryEntity::getPath)
+                .orElse(null);
+        CategoryEntity saved;
+        try {
+            saved = jpaRepository.saveAndFlush(mapper.toEntity(category));
+        } catch (OptimisticLockingFailureException ex) {
+            throw new PreconditionFailedException("CATEGORY_VERSION_MISMATCH");
+        }
+        if (previousPath != null && !previousPath.equals(saved.getPath())) {
+            jpaRepository.movePaths(previousPath, likePrefix(previousPath), saved.getPath(), Instant.now());
+        }
+        return mapper.toDomain(saved);
+    }
+
+    private static String likePrefix(String prefix) {
+        return prefix.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
     @Override
     public Optional<Category> findById(String id) {
         return jpaRepository.findById(id).map(mapper::toDomain);
@@ -54,8 +93,20 @@ public class CategoryRepositoryJpaAdapter implements CategoryRepositoryPort {
         return jpaRepository.findByParentId(parentId).stream().map(mapper::toDomain).toList();
     }
 
+    @Override
+    public List<Category> findSubtree(String id) {
+        return jpaRepository.findById(id)
+                .map(root -> jpaRepository.findByPathStartingWith(root.getPath()).stream().map(mapper::toDomain).toList())
+                .orElse(List.of());
+    }
+
     @Override
     public boolean existsByIdAndIsActiveTrue(String id) {
         return jpaRepository.existsByIdAndIsActiveTrue(id);
     }
+
+    @Override
+    public List<Category> findAll() {
+        return jpaRepository.findAll().stream().map(mapper::toDomain).toList();
+    }
 }
\ No newline at end of file
@@ -1,31 +1,276 @@
 package com.turkcell.aimobile.infrastructure.persistence.h2.adapter;
 
 import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.service.ProductDomainService;
+import com.turkcell.aimobile.exception.ConflictException;
+import com.turkcell.aimobile.exception.PreconditionFailedException;
+import com.turkcell.aimobile.infrastructure.catalog.ColumnarProductCatalog;
+import com.turkcell.aimobile.infrastructure.counter.ActiveProductCounts;
+import com.turkcell.aimobile.infrastructure.counter.ChangeSequence;
 import com.turkcell.aimobile.infrastructure.mapper.ProductEntityMapper;
 import com.turkcell.aimobile.infrastructure.persistence.h2.entity.ProductEntity;
 import com.turkcell.aimobile.infrastructure.persistence.h2.repository.ProductJpaRepository;
+import com.turkcell.aimobile.infrastructure.persistence.h2.repository.ProductSpecifications;
+import com.turkcell.aimobile.infrastructure.search.ProductSearchIndex;
+import com.turkcell.aimobile.model.PriceBuckets;
 import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductChanges;
+import com.turkcell.aimobile.model.ProductCursor;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.model.ProductFilter;
+import com.turkcell.aimobile.model.ProductSlice;
+import com.turkcell.aimobile.model.ProductSortField;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
+@Profile("!mmap")
+@Qualifier("store")
 public class ProductRepositoryJpaAdapter implements ProductRepositoryPort {
 
+    // ids per IN list; keeps statements and their plans a bounded size
+    private static final int ID_CHUNK_SIZE = 500;
+
     private final ProductJpaRepository jpaRepository;
     private final ProductEntityMapper mapper = new ProductEntityMapper();
+    private final ProductSearchIndex searchIndex;
+    private final ColumnarProductCatalog catalog;
+    private final ActiveProductCounts activeCounts;
+    private final PriceBuckets priceBuckets;
+    private final ChangeSequence changeSequence;
+    private final EntityManager entityManager;
+    // serializes read-previous/save/count-delta per product id
+    private final Object[] writeStripes = new Object[64];
 
-    public ProductRepositoryJpaAdapter(ProductJpaRepository jpaRepository) {
+    public ProductRepositoryJpaAdapter(ProductJpaRepository jpaRepository,
+                                       ProductSearchIndex searchIndex,
+                                       ColumnarProductCatalog catalog,
+                                       ActiveProductCounts activeCounts,
+                                       PriceBuckets priceBuckets,
+                                       ChangeSequence changeSequence,
+                                       EntityManager entityManager) {
         this.jpaRepository = jpaRepository;
+        this.searchIndex = searchIndex;
+        this.catalog = catalog;
+        this.activeCounts = activeCounts;
+        this.priceBuckets = priceBuckets;
+        this.changeSequence = changeSequence;
+        this.entityManager = entityManager;
+        for (int i = 0; i < writeStripes.length; i++) {
+            writeStripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Seed the active counters with a single grouped count once the context is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : jpaRepository.countActiveGroupedByCategory()) {
+            counts.put((String) row[0], (Long) row[1]);
+        }
+        activeCounts.reset(counts);
+    }
+
+    /**
+     * Continue the change sequence after the highest number in the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadChangeSequence() {
+        changeSequence.advanceTo(jpaRepository.maxChangeSeq());
+    }
+
+    /**
+     * Rebuild the search index and the columnar catalog from the table once the context is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexes() {
+        List<Product> active = new ArrayList<>();
+        Page<ProductEntity> chunk;
+        int page = 0;
+        do {
+            chunk = jpaRepository.findByIsActiveTrue(PageRequest.of(page++, 1000, Sort.by("id")));
+            chunk.forEach(e -> active.add(mapper.toDomain(e)));
+        } while (chunk.hasNext());
+        searchIndex.rebuild(active);
+        catalog.rebuild(active);
     }
 
     @Override
     public Product save(Product product) {
-        ProductEntity saved = jpaRepository.save(mapper.toEntity(product));
-        return mapper.toDomain(saved);
+        if (product.getId() == null || product.getId().isBlank()) {
+            return insert(product);
+        }
+        synchronized (stripe(product.getId())) {
+            // under open-session-in-view this is usually served from the persistence context
+            Optional<ProductEntity> previous = jpaRepository.findById(product.getId());
+            boolean wasActive = previous.map(e -> Boolean.TRUE.equals(e.getIsActive())).orElse(false);
+            String previousCategoryId = previous.map(ProductEntity::getCategoryId).orElse(null);
+            ProductEntity saved;
+            long seq = changeSequence.next();
+            try {
+                saved = jpaRepository.saveAndFlush(withChangeSeq(mapper.toEntity(product), seq));
+            } catch (DataIntegrityViolationException ex) {
+                throw conflict(ex);
+            } catch (OptimisticLockingFailureException ex) {
+                throw new PreconditionFailedException(ProductDomainService.VERSION_MISMATCH);
+            } finally {
+                releaseAfterCompletion(seq, seq);
+            }
+            return afterWrite(wasActive, previousCategoryId, saved);
+        }
+    }
+
+    /**
+     * One INSERT, no look-ups: the unique constraints on name/sku are the uniqueness check,
+     * which also closes the race two concurrent creates had with separate exists queries.
+     */
+    @Override
+    public Product insert(Product product) {
+        ProductEntity saved;
+        long seq = changeSequence.next();
+        try {
+            saved = jpaRepository.saveAndFlush(withChangeSeq(mapper.toEntity(product).markNew(), seq));
+        } catch (DataIntegrityViolationException ex) {
+            throw conflict(ex);
+        } finally {
+            releaseAfterCompletion(seq, seq);
+        }
+        return afterWrite(false, null, saved);
+    }
+
+    // Maps a unique-constraint violation to its business conflict code; anything else is rethrown.
+    private static RuntimeException conflict(DataIntegrityViolationException ex) {
+        String constraint = null;
+        if (ex.getCause() instanceof ConstraintViolationException cve) {
+            constraint = cve.getConstraintName();
+        }
+        String haystack = (constraint != null ? constraint : ex.getMostSpecificCause().getMessage());
+        haystack = haystack == null ? "" : haystack.toLowerCase(Locale.ROOT);
+        if (haystack.contains(ProductEntity.UK_NAME)) {
+            return new ConflictException(ProductDomainService.NAME_TAKEN);
+        }
+        if (haystack.contains(ProductEntity.UK_SKU)) {
+            return new ConflictException(ProductDomainService.SKU_TAKEN);
+        }
+        return ex;
+    }
+
+    /**
+     * Inserts run as JDBC batches (hibernate.jdbc.batch_size); the persistence context is
+     * cleared afterwards so long imports do not accumulate managed entities.
+     */
+    @Override
+    @Transactional
+    public List<Product> saveAll(List<Product> products) {
+        List<ProductEntity> saved;
+        List<ProductEntity> entities = new ArrayList<>(products.size());
+        long first = 0;
+        long last = 0;
+        for (Product p : products) {
+            last = changeSequence.next();
+            first = first == 0 ? last : first;
+            entities.add(withChangeSeq(mapper.toEntity(p).markNew(), last));
+        }
+        try {
+            saved = jpaRepository.saveAll(entities);
+            jpaRepository.flush();
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("BULK_CONSTRAINT_VIOLATION");
+        } finally {
+            releaseAfterCompletion(first, last);
+        }
+        entityManager.clear();
+        List<Product> result = new ArrayList<>(saved.size());
+        for (ProductEntity e : saved) {
+            activeCounts.onChange(false, null, Boolean.TRUE.equals(e.getIsActive()), e.getCategoryId());
+            result.add(mapper.toDomain(e));
+        }
+        searchIndex.indexAll(result);
+        catalog.indexAll(result);
+        return result;
+    }
+
+    private static ProductEntity withChangeSeq(ProductEntity entity, long seq) {
+        entity.setChangeSeq(seq);
+        return entity;
+    }
+
+    // Numbers stay in flight until the write is visible to other readers, i.e. committed.
+    private void releaseAfterCompletion(long first, long last) {
+        if (first == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(first, last);
+                }
+            });
+        } else {
+            release(first, last);
+        }
+    }
+
+    private void release(long first, long last) {
+        for (long seq = first; seq <= last; seq++) {
+            changeSequence.release(seq);
+        }
+    }
+
+    private Product afterWrite(boolean wasActive, String previousCategoryId, ProductEntity saved) {
+        activeCounts.onChange(wasActive, previousCategoryId, Boolean.TRUE.equals(saved.getIsActive()), saved.getCategoryId());
+        Product domain = mapper.toDomain(saved);
+        searchIndex.index(domain);
+        catalog.index(domain);
+        return domain;
     }
 
     @Override
@@ -34,18 +279,33 @@ public class ProductRepositoryJpaAdapter implements ProductRepositoryPort {
     }
 
     @Override
-    public boolean existsByName(String name) {
-        return jpaRepository.existsByName(name);
+    public List<Product> findAllByIds(List<String> ids) {
+        Map<String, Product> found = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + ID_CHUNK_SIZE));
+            for (ProductEntity e : jpaRepository.findByIdInAndIsActiveTrue(chunk)) {
+                found.put(e.getId(), mapper.toDomain(e));
+            }
+        }
+        return ids.stream().map(found::get).filter(Objects::nonNull).toList();
     }
 
     @Override
-    public boolean existsBySku(String sku) {
-        return jpaRepository.existsBySku(sku);
+    public Set<String> findExistingNames(Collection<String> names) {
+        return names.isEmpty() ? Set.of() : new HashSet<>(jpaRepository.findNamesIn(names));
+    }
+
+    @Override
+    public Set<String> findExistingSkus(Collection<String> skus) {
+        return skus.isEmpty() ? Set.of() : new HashSet<>(jpaRepository.findSkusIn(skus));
     }
 
     @Override
     public List<Product> findAll(int page, int size, String sortBy, boolean asc) {
-        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy == null ? "createdAt" : sortBy);
+        if (catalog.supports(sortField(sortBy))) {
+            return load(catalog.page(ProductFilter.of(null, null), sortField(sortBy), asc, (long) page * size, size));
+        }
+        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortField(sortBy));
         return jpaRepository.findByIsActiveTrue(PageRequest.of(page, size, sort))
                 .map(mapper::toDomain)
                 .getContent();
@@ -53,7 +313,10 @@ public class ProductRepositoryJpaAdapter implements ProductRepositoryPort {
 
     @Override
     public List<Product> search(String q, int page, int size, String sortBy, boolean asc) {
-        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy == null ? "createdAt" : sortBy);
+        if (searchIndex.supports(q)) {
+            return load(searchIndex.search(q, null, sortBy, asc, (long) page * size, size).ids());
+        }
+        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortField(sortBy));
         return jpaRepository.searchActive(q, PageRequest.of(page, size, sort))
                 .map(mapper::toDomain)
                 .getContent();
@@ -61,17 +324,26 @@ public class ProductRepositoryJpaAdapter implements ProductRepositoryPort {
 
     @Override
     public void deleteById(String id) {
-        jpaRepository.deleteById(id);
+        synchronized (stripe(id)) {
+            Optional<ProductEntity> previous = jpaRepository.findById(id);
+            jpaRepository.deleteById(id);
+            previous.ifPresent(e -> activeCounts.onChange(Boolean.TRUE.equals(e.getIsActive()), e.getCategoryId(), false, null));
+        }
+        searchIndex.remove(id);
+        catalog.remove(id);
     }
 
     @Override
     public long count() {
-        return jpaRepository.countByIsActiveTrue();
+        return activeCounts.total();
     }
 
     @Override
     public List<Product> findAllByCategory(String categoryId, int page, int size, String sortBy, boolean asc) {
-        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy == null ? "createdAt" : sortBy);
+        if (catalog.supports(sortField(sortBy))) {
+            return load(catalog.page(categoryId, sortField(sortBy), asc, (long) page * size, size));
+        }
+        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortField(sortBy));
         return jpaRepository.findByIsActiveTrueAndCategoryId(categoryId, PageRequest.of(page, size, sort))
                 .map(mapper::toDomain)
                 .getContent();
@@ -79,7 +351,10 @@ public class ProductRepositoryJpaAdapter implements ProductRepositoryPort {
 
     @Override
     public List<Product> searchByCategory(String categoryId, String q, int page, int size, String sortBy, boolean asc) {
-        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortBy == null ? "createdAt" : sortBy);
+        if (searchIndex.supports(q)) {
+            return load(searchIndex.search(q, categoryId, sortBy, asc, (long) page * size, size).ids());
+        }
+        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortField(sortBy));
         return jpaRepository.searchActiveByCategory(q, categoryId, PageRequest.of(page, size, sort))
                 .map(mapper::toDomain)
                 .getContent();
@@ -87,6 +362,294 @@ public class ProductRepositoryJpaAdapter implements ProductRepositoryPort {
 
     @Override
     public long countByCategory(String categoryId) {
-        return jpaRepository.countByIsActiveTrueAndCategoryId(categoryId);
+        return activeCounts.byCategory(categoryId);
+    }
+
+    @Override
+    public long countSearch(String categoryId, String q) {
+        if (searchIndex.supports(q)) {
+            return searchIndex.search(q, categoryId, null, false, 0, 0).total();
+        }
+        return jpaRepository.count(ProductSpecifications.activeFiltered(categoryId, q));
+    }
+
+    /**
+     * Streams rows through a forward-only cursor; each entity is detached once mapped so
+     * the persistence context stays empty no matter how many rows are exported.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachActive(String categoryId, Instant updatedSince, Consumer<Product> action) {
+        try (Stream<ProductEntity> rows = jpaRepository.streamActive(categoryId, updatedSince)) {
+            rows.forEach(e -> {
+                entityManager.detach(e);
+                action.accept(mapper.toDomain(e));
+            });
+        }
+    }
+
+    @Override
+    public ProductChanges findChanges(long since, int limit) {
+        long visible = changeSequence.visible();
+        List<ProductEntity> rows = since >= visible ? List.of()
+                : jpaRepository.findByChangeSeqBetween(since + 1, visible, PageRequest.of(0, limit + 1, Sort.by("changeSeq")));
+        boolean hasMore = rows.size() > limit;
+        List<Product> products = (hasMore ? rows.subList(0, limit) : rows).stream().map(mapper::toDomain).toList();
+        long watermark = hasMore ? products.get(limit - 1).getChangeSeq() : Math.max(since, visible);
+        return new ProductChanges(products, watermark, hasMore);
+    }
+
+    @Override
+    public ProductSlice findSlice(String categoryId, String q, int page, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        if (q != null && searchIndex.supports(q)) {
+            ProductSearchIndex.Hits hits = searchIndex.search(q, categoryId, sortBy, asc, (long) page * size, size);
+            return new ProductSlice(load(hits.ids(), fields), ((long) page + 1) * size < hits.total());
+        }
+        if (q == null && catalog.supports(sortField(sortBy))) {
+            List<String> ids = catalog.page(categoryId, sortField(sortBy), asc, (long) page * size, size + 1);
+            boolean hasNext = ids.size() > size;
+            return new ProductSlice(load(hasNext ? ids.subList(0, size) : ids, fields), hasNext);
+        }
+        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortField(sortBy));
+        if (fields != null) {
+            List<Product> rows = select(fields, ProductSpecifications.activeFiltered(categoryId, q), sort,
+                    (long) page * size, size + 1);
+            boolean hasNext = rows.size() > size;
+            return new ProductSlice(hasNext ? rows.subList(0, size) : rows, hasNext);
+        }
+        PageRequest pageable = PageRequest.of(page, size, sort);
+        Slice<ProductEntity> slice;
+        if (q != null) {
+            slice = categoryId != null
+                    ? jpaRepository.searchActiveByCategorySlice(q, categoryId, pageable)
+                    : jpaRepository.searchActiveSlice(q, pageable);
+        } else {
+            slice = categoryId != null
+                    ? jpaRepository.findSliceByIsActiveTrueAndCategoryId(categoryId, pageable)
+                    : jpaRepository.findSliceByIsActiveTrue(pageable);
+        }
+        return new ProductSlice(slice.getContent().stream().map(mapper::toDomain).toList(), slice.hasNext());
+    }
+
+    @Override
+    public ProductSlice findSlice(ProductFilter filter, int page, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        if (!filter.hasExtendedCriteria()) {
+            return findSlice(filter.categoryId(), filter.q(), page, size, sortBy, asc, fields);
+        }
+        if (filter.q() == null && catalog.supports(sortField(sortBy))) {
+            List<String> ids = catalog.page(filter, sortField(sortBy), asc, (long) page * size, size + 1);
+            boolean hasNext = ids.size() > size;
+            return new ProductSlice(load(hasNext ? ids.subList(0, size) : ids, fields), hasNext);
+        }
+        Sort sort = Sort.by(asc ? Sort.Direction.ASC : Sort.Direction.DESC, sortField(sortBy));
+        List<Product> rows = select(fields == null ? EnumSet.allOf(ProductField.class) : fields,
+                ProductSpecifications.matching(filter), sort, (long) page * size, size + 1);
+        boolean hasNext = rows.size() > size;
+        return new ProductSlice(hasNext ? rows.subList(0, size) : rows, hasNext);
+    }
+
+    @Override
+    public long count(ProductFilter filter) {
+        if (!filter.hasExtendedCriteria()) {
+            if (filter.q() != null) {
+                return countSearch(filter.categoryId(), filter.q());
+            }
+            return filter.categoryId() != null ? countByCategory(filter.categoryId()) : count();
+        }
+        if (filter.q() == null) {
+            return catalog.count(filter);
+        }
+        return jpaRepository.count(ProductSpecifications.matching(filter));
+    }
+
+    /**
+     * Without a search query the counts come from one scan of the columnar catalog;
+     * with one, from a single GROUP BY (category, currency, price bucket) over the
+     * matching rows, whose groups are then summed per facet.
+     */
+    @Override
+    public Map<ProductFacet, Map<String, Long>> facets(ProductFilter filter, Set<ProductFacet> facets) {
+        if (filter.q() == null) {
+            return catalog.facets(filter, facets, priceBuckets);
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ProductEntity> root = query.from(ProductEntity.class);
+        Expression<Double> price = root.get("price");
+        // literals rather than parameters, so the select and group by expressions are identical
+        CriteriaBuilder.Case<Integer> bucket = cb.<Integer>selectCase().when(cb.isNull(price), cb.literal(-1));
+        for (int i = priceBuckets.count() - 1; i > 0; i--) {
+            bucket = bucket.when(cb.ge(price, cb.literal(priceBuckets.lowerBound(i))), cb.literal(i));
+        }
+        Expression<Integer> bucketOf = bucket.otherwise(cb.literal(0));
+        Expression<String> categoryId = root.get("categoryId");
+        Expression<String> currency = root.get("currency");
+        query.multiselect(categoryId, currency, bucketOf, cb.count(root));
+        query.where(ProductSpecifications.matching(filter).toPredicate(root, query, cb));
+        query.groupBy(categoryId, currency, bucketOf);
+        Map<String, Long> byCategory = new HashMap<>();
+        Map<String, Long> byCurrency = new HashMap<>();
+        long[] byBucket = new long[priceBuckets.count()];
+        for (Tuple group : entityManager.createQuery(query).getResultList()) {
+            long n = group.get(3, Long.class);
+            String c = group.get(0, String.class);
+            if (c != null) {
+                byCategory.merge(c, n, Long::sum);
+            }
+            String cur = group.get(1, String.class);
+            if (cur != null) {
+                byCurrency.merge(cur, n, Long::sum);
+            }
+            int b = group.get(2, Integer.class);
+            if (b >= 0) {
+                byBucket[b] += n;
+            }
+        }
+        Map<ProductFacet, Map<String, Long>> result = new EnumMap<>(ProductFacet.class);
+        if (facets.contains(ProductFacet.CATEGORY_ID)) {
+            result.put(ProductFacet.CATEGORY_ID, byCategory);
+        }
+        if (facets.contains(ProductFacet.CURRENCY)) {
+            result.put(ProductFacet.CURRENCY, byCurrency);
+        }
+        if (facets.contains(ProductFacet.PRICE_BUCKET)) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < byBucket.length; i++) {
+                counts.put(priceBuckets.label(i), byBucket[i]);
+            }
+            result.put(ProductFacet.PRICE_BUCKET, counts);
+        }
+        return result;
+    }
+
+    @Override
+    public ProductSlice findAfter(String categoryId, String q, ProductCursor after, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        if (q != null && searchIndex.supports(q)) {
+            String indexSort = sortBy == null ? ProductSearchIndex.RELEVANCE : sortBy;
+            ProductSearchIndex.sortKeys(indexSort);
+            requireMatchingCursor(after, indexSort, asc);
+            ProductSearchIndex.Hits hits = searchIndex.searchAfter(q, categoryId, indexSort, asc,
+                    after == null ? null : after.getKeys(), after == null ? null : after.getId(), size + 1);
+            boolean hasNext = hits.ids().size() > size;
+            List<String> pageIds = hasNext ? hits.ids().subList(0, size) : hits.ids();
+            List<Product> items = load(pageIds, fields);
+            ProductCursor next = hasNext
+                    ? new ProductCursor(indexSort, asc, hits.keys().get(size - 1), pageIds.get(size - 1))
+                    : null;
+            return new ProductSlice(items, next);
+        }
+        String field = ProductSortField.fromProperty(sortField(sortBy)).property();
+        requireMatchingCursor(after, field, asc);
+        Sort.Direction direction = asc ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, field).and(Sort.by(direction, "id"));
+        if (fields != null) {
+            return findAfterSparse(categoryId, q, after, size, field, asc, sort, fields);
+        }
+        ScrollPosition position = after == null
+                ? ScrollPosition.keyset()
+                : ScrollPosition.forward(Map.of(field, after.getKeys().get(0), "id", after.getId()));
+        Window<ProductEntity> window = jpaRepository.findBy(ProductSpecifications.activeFiltered(categoryId, q),
+                query -> query.sortBy(sort).limit(size).scroll(position));
+        List<Product> items = window.getContent().stream().map(mapper::toDomain).toList();
+        ProductCursor next = null;
+        if (window.hasNext() && !items.isEmpty()) {
+            Product last = items.get(items.size() - 1);
+            next = new ProductCursor(field, asc, List.of(sortValue(last, field)), last.getId());
+        }
+        return new ProductSlice(items, next);
+    }
+
+    // Keyset page over just the requested columns; id and the sort key are read as well for the cursor.
+    private ProductSlice findAfterSparse(String categoryId, String q, ProductCursor after, int size, String field,
+                                         boolean asc, Sort sort, Set<ProductField> fields) {
+        Specification<ProductEntity> spec = ProductSpecifications.activeFiltered(categoryId, q);
+        if (after != null) {
+            spec = spec.and(ProductSpecifications.after(field, after.getKeys().get(0), after.getId(), asc));
+        }
+        Set<ProductField> columns = EnumSet.copyOf(fields);
+        columns.add(ProductField.ID);
+        columns.add(ProductField.fromProperty(field));
+        List<Product> rows = select(columns, spec, sort, 0, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Product> items = hasNext ? rows.subList(0, size) : rows;
+        ProductCursor next = null;
+        if (hasNext) {
+            Product last = items.get(items.size() - 1);
+            next = new ProductCursor(field, asc, List.of(sortValue(last, field)), last.getId());
+        }
+        return new ProductSlice(items, next);
+    }
+
+    /**
+     * Tuple query selecting only {@code fields}: the other columns are never read from the
+     * table, and the returned products have them unset.
+     */
+    private List<Product> select(Set<ProductField> fields, Specification<ProductEntity> spec, Sort sort,
+                                 long offset, int limit) {
+        List<ProductField> columns = List.copyOf(fields);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<ProductEntity> root = query.from(ProductEntity.class);
+        query.multiselect(columns.stream().<Selection<?>>map(f -> root.get(f.property())).toList());
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(row -> mapper.toDomain(row, columns))
+                .toList();
+    }
+
+    // Search index and catalog ids come back ordered; keep that order and drop rows deactivated meanwhile.
+    private List<Product> load(List<String> ids, Set<ProductField> fields) {
+        if (fields != null) {
+            Set<ProductField> columns = EnumSet.copyOf(fields);
+            columns.add(ProductField.ID);
+            Map<String, Product> byId = select(columns, ProductSpecifications.active().and(ProductSpecifications.idIn(ids)),
+                    Sort.unsorted(), 0, ids.size()).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        }
+        return load(ids);
+    }
+
+    private List<Product> load(List<String> ids) {
+        Map<String, ProductEntity> byId = jpaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(ProductEntity::getId, Function.identity()));
+        List<Product> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            ProductEntity e = byId.get(id);
+            if (e != null && Boolean.TRUE.equals(e.getIsActive())) {
+                result.add(mapper.toDomain(e));
+            }
+        }
+        return result;
+    }
+
+    private Object stripe(String id) {
+        return writeStripes[Math.floorMod(id.hashCode(), writeStripes.length)];
+    }
+
+    private static String sortField(String sortBy) {
+        return sortBy == null || ProductSearchIndex.RELEVANCE.equals(sortBy) ? "createdAt" : sortBy;
+    }
+
+    private static void requireMatchingCursor(ProductCursor after, String sortBy, boolean asc) {
+        if (after != null && (!after.getSortBy().equals(sortBy) || after.isAsc() != asc)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+    }
+
+    private static Object sortValue(Product p, String field) {
+        return switch (field) {
+            case "price" -> p.getPrice();
+            case "name" -> p.getName();
+            case "updatedAt" -> p.getUpdatedAt();
+            default -> p.getCreatedAt();
+        };
     }
 }
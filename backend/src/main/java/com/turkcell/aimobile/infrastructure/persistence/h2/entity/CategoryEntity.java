@@ -20,6 +20,10 @@ public class CategoryEntity {
 
     private String parentId;
 
+    // "/root/.../id/"; a subtree is a prefix range on idx_categories_path
+    @Column(length = 2048)
+    private String path;
+
     private Integer ordering;
 
     private Boolean isActive;
@@ -28,6 +32,10 @@ public class CategoryEntity {
 
     private Instant updatedAt;
 
+    // optimistic locking: every UPDATE checks and bumps it
+    @Version
+    private Long version;
+
     @PrePersist
     public void prePersist() {
         if (id == null || id.isBlank()) {
@@ -60,6 +68,8 @@ public class CategoryEntity {
     public void setDescription(String description) { this.description = description; }
     public String getParentId() { return parentId; }
     public void setParentId(String parentId) { this.parentId = parentId; }
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
     public Integer getOrdering() { return ordering; }
     public void setOrdering(Integer ordering) { this.ordering = ordering; }
     public Boolean getIsActive() { return isActive; }
@@ -68,4 +78,6 @@ public class CategoryEntity {
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
@@ -3,24 +3,37 @@ package com.turkcell.aimobile.infrastructure.persistence.h2.entity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import jakarta.persistence.Transient;
+import jakarta.persistence.UniqueConstraint;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "products")
-public class ProductEntity {
+@Table(name = "products", uniqueConstraints = {
+        // names are matched when translating violations into conflict codes
+        @UniqueConstraint(name = ProductEntity.UK_NAME, columnNames = "name"),
+        @UniqueConstraint(name = ProductEntity.UK_SKU, columnNames = "sku")
+})
+public class ProductEntity implements Persistable<String> {
+
+    public static final String UK_NAME = "uk_products_name";
+    public static final String UK_SKU = "uk_products_sku";
 
     @Id
     private String id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
-    @Column(unique = true)
+    @Column
     private String sku;
 
     @Column(length = 2000)
@@ -43,6 +56,36 @@ public class ProductEntity {
 
     private Instant updatedAt;
 
+    // optimistic locking: every UPDATE checks and bumps it
+    @Version
+    private Long version;
+
+    // assigned by the adapter on every write, see ChangeSequence
+    private Long changeSeq;
+
+    // ids are assigned by the application, so Spring Data cannot tell new rows apart on its own
+    @Transient
+    private boolean newEntity;
+
+    /**
+     * Mark as not yet stored, so save() issues a plain INSERT instead of a merge (SELECT + INSERT).
+     */
+    public ProductEntity markNew() {
+        this.newEntity = true;
+        return this;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        this.newEntity = false;
+    }
+
     @PrePersist
     public void prePersist() {
         if (id == null || id.isBlank()) {
@@ -84,4 +127,8 @@ public class ProductEntity {
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+    public Long getChangeSeq() { return changeSeq; }
+    public void setChangeSeq(Long changeSeq) { this.changeSeq = changeSeq; }
 }
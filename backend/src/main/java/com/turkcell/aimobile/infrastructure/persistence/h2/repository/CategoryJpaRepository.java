@@ -4,7 +4,11 @@ import com.turkcell.aimobile.infrastructure.persistence.h2.entity.CategoryEntity
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.List;
 
 public interface CategoryJpaRepository extends JpaRepository<CategoryEntity, String> {
@@ -12,5 +16,14 @@ public interface CategoryJpaRepository extends JpaRepository<CategoryEntity, Str
     Page<CategoryEntity> findByIsActiveTrueOrderByOrderingAsc(Pageable pageable);
     long countByIsActiveTrue();
     List<CategoryEntity> findByParentId(String parentId);
+    List<CategoryEntity> findByPathStartingWith(String prefix);
     boolean existsByIdAndIsActiveTrue(String id);
+
+    // one statement for the whole subtree; the prefix is escaped by the caller for LIKE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE CategoryEntity c SET c.path = CONCAT(:newPrefix, SUBSTRING(c.path, LENGTH(:oldPrefix) + 1)), " +
+            "c.version = c.version + 1, c.updatedAt = :now " +
+            "WHERE c.path LIKE :oldPrefixPattern ESCAPE '\\'")
+    int movePaths(@Param("oldPrefix") String oldPrefix, @Param("oldPrefixPattern") String oldPrefixPattern,
+                  @Param("newPrefix") String newPrefix, @Param("now") Instant now);
 }
\ No newline at end of file
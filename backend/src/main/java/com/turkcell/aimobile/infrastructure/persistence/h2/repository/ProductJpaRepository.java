@@ -3,14 +3,27 @@ package com.turkcell.aimobile.infrastructure.persistence.h2.repository;
 import com.turkcell.aimobile.infrastructure.persistence.h2.entity.ProductEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ProductJpaRepository extends JpaRepository<ProductEntity, String>, JpaSpecificationExecutor<ProductEntity> {
+    @Query("SELECT p.name FROM ProductEntity p WHERE p.name IN :names")
+    List<String> findNamesIn(@Param("names") Collection<String> names);
 
-public interface ProductJpaRepository extends JpaRepository<ProductEntity, String> {
-    boolean existsByName(String name);
-    boolean existsBySku(String sku);
+    @Query("SELECT p.sku FROM ProductEntity p WHERE p.sku IN :skus")
+    List<String> findSkusIn(@Param("skus") Collection<String> skus);
 
         @Query("SELECT p FROM ProductEntity p WHERE " +
             "LOWER(p.name) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
@@ -22,21 +35,49 @@ public interface ProductJpaRepository extends JpaRepository<ProductEntity, Strin
         Page<ProductEntity> findByIsActiveTrue(Pageable pageable);
         Page<ProductEntity> findByIsActiveTrueAndCategoryId(String categoryId, Pageable pageable);
 
-        @Query("SELECT p FROM ProductEntity p WHERE (" +
+        String SEARCH_ACTIVE = "SELECT p FROM ProductEntity p WHERE (" +
             "LOWER(p.name) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
             "LOWER(p.sku) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
             "LOWER(p.description) LIKE LOWER(CONCAT('%', :q, '%'))" +
-            ") AND p.isActive = TRUE")
+            ") AND p.isActive = TRUE";
+        String SEARCH_ACTIVE_BY_CATEGORY = SEARCH_ACTIVE + " AND p.categoryId = :categoryId";
+
+        @Query(SEARCH_ACTIVE)
             Page<ProductEntity> searchActive(@Param("q") String q, Pageable pageable);
-            @Query("SELECT p FROM ProductEntity p WHERE (" +
-                "LOWER(p.name) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-                "LOWER(p.sku) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-                "LOWER(p.description) LIKE LOWER(CONCAT('%', :q, '%'))" +
-                ") AND p.isActive = TRUE AND p.categoryId = :categoryId")
+            @Query(SEARCH_ACTIVE_BY_CATEGORY)
             Page<ProductEntity> searchActiveByCategory(@Param("q") String q, @Param("categoryId") String categoryId, Pageable pageable);
 
         Optional<ProductEntity> findByIdAndIsActiveTrue(String id);
 
+        List<ProductEntity> findByIdInAndIsActiveTrue(Collection<String> ids);
+
+        // active or not; served by idx_products_change_seq
+        List<ProductEntity> findByChangeSeqBetween(long from, long to, Pageable pageable);
+
+        @Query("SELECT COALESCE(MAX(p.changeSeq), 0) FROM ProductEntity p")
+        long maxChangeSeq();
+
         long countByIsActiveTrue();
         long countByIsActiveTrueAndCategoryId(String categoryId);
+
+        // Slice variants read size+1 rows instead of running a COUNT query
+        Slice<ProductEntity> findSliceByIsActiveTrue(Pageable pageable);
+        Slice<ProductEntity> findSliceByIsActiveTrueAndCategoryId(String categoryId, Pageable pageable);
+        @Query(SEARCH_ACTIVE)
+        Slice<ProductEntity> searchActiveSlice(@Param("q") String q, Pageable pageable);
+        @Query(SEARCH_ACTIVE_BY_CATEGORY)
+        Slice<ProductEntity> searchActiveByCategorySlice(@Param("q") String q, @Param("categoryId") String categoryId, Pageable pageable);
+
+        @Query("SELECT p.categoryId, COUNT(p) FROM ProductEntity p WHERE p.isActive = TRUE GROUP BY p.categoryId")
+        List<Object[]> countActiveGroupedByCategory();
+
+        // Forward-only cursor for exports; must be consumed inside a transaction and closed
+        @Query("SELECT p FROM ProductEntity p WHERE p.isActive = TRUE " +
+            "AND (:categoryId IS NULL OR p.categoryId = :categoryId) " +
+            "AND (CAST(:since AS Instant) IS NULL OR p.updatedAt >= :since) ORDER BY p.id")
+        @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        })
+        Stream<ProductEntity> streamActive(@Param("categoryId") String categoryId, @Param("since") Instant since);
 }
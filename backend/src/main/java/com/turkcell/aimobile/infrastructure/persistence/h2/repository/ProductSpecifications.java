@@ -0,0 +1,95 @@
+package com.turkcell.aimobile.infrastructure.persistence.h2.repository;
+
+import com.turkcell.aimobile.infrastructure.persistence.h2.entity.ProductEntity;
+import com.turkcell.aimobile.model.ProductFilter;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Composable criteria mirroring the JPQL queries in {@link ProductJpaRepository},
+ * for call sites that need a dynamic combination of filters.
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<ProductEntity> active() {
+        return (root, query, cb) -> cb.isTrue(root.get("isActive"));
+    }
+
+    public static Specification<ProductEntity> inCategory(String categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("categoryId"), categoryId);
+    }
+
+    public static Specification<ProductEntity> inCategories(Collection<String> categoryIds) {
+        return (root, query, cb) -> root.get("categoryId").in(categoryIds);
+    }
+
+    public static Specification<ProductEntity> matches(String q) {
+        String pattern = "%" + q.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("name")), pattern),
+                cb.like(cb.lower(root.get("sku")), pattern),
+                cb.like(cb.lower(root.get("description")), pattern));
+    }
+
+    public static Specification<ProductEntity> idIn(Collection<String> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /**
+     * Rows strictly after ({@code key}, {@code id}) in (field, id) order, i.e. the next keyset page.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<ProductEntity> after(String field, Object key, String id, boolean asc) {
+        return (root, query, cb) -> {
+            Expression<Comparable> value = root.get(field);
+            Comparable k = (Comparable) key;
+            Predicate beyond = asc ? cb.greaterThan(value, k) : cb.lessThan(value, k);
+            Predicate tie = asc ? cb.greaterThan(root.get("id"), id) : cb.lessThan(root.get("id"), id);
+            return cb.or(beyond, cb.and(cb.equal(value, k), tie));
+        };
+    }
+
+    /**
+     * Active products, optionally narrowed by category and search query.
+     */
+    public static Specification<ProductEntity> activeFiltered(String categoryId, String q) {
+        Specification<ProductEntity> spec = active();
+        if (categoryId != null) {
+            spec = spec.and(inCategory(categoryId));
+        }
+        if (q != null) {
+            spec = spec.and(matches(q));
+        }
+        return spec;
+    }
+
+    /**
+     * Active products matching every criterion of {@code filter}.
+     */
+    public static Specification<ProductEntity> matching(ProductFilter filter) {
+        Specification<ProductEntity> spec = active();
+        if (filter.categoryIds() != null) {
+            spec = spec.and(inCategories(filter.categoryIds()));
+        }
+        if (filter.q() != null) {
+            spec = spec.and(matches(filter.q()));
+        }
+        if (filter.minPrice() != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), filter.maxPrice()));
+        }
+        if (filter.currency() != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("currency"), filter.currency()));
+        }
+        return spec;
+    }
+}
@@ -0,0 +1,189 @@
+package com.turkcell.aimobile.infrastructure.persistence.mmap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of records in a memory-mapped file. Each record is an int length, the
+ * CRC32 of the payload, then the payload. Space past the last record is zero, so replay
+ * stops at the first zero length, or at a record whose checksum does not match (the tail
+ * of a write cut short by a crash). The file grows by remapping it at twice the size.
+ *
+ * Appends must be serialized by the caller. Reads need no lock: an appended record never
+ * moves, and a mapping stays valid after the file has been remapped or replaced. A single
+ * mapping limits one log to 2 GB; compaction keeps it to the live records.
+ */
+public class MappedRecordLog implements Closeable {
+
+    private static final int HEADER = 8;
+
+    private final Path path;
+    private final FileChannel channel;
+    private volatile MappedByteBuffer buffer;
+    private int end;
+
+    private MappedRecordLog(Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    public static MappedRecordLog open(Path path, int initialCapacity) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long capacity = Math.max(channel.size(), initialCapacity);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Log is larger than a single mapping: " + path);
+            }
+            return new MappedRecordLog(path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot open " + path, ex);
+        }
+    }
+
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void accept(int offset, int length, ByteBuffer payload);
+    }
+
+    /**
+     * Visit every intact record in append order and position the log after the last one.
+     * A torn record at the tail is wiped so that later appends cannot be mistaken for it.
+     */
+    public void replay(RecordVisitor visitor) {
+        ByteBuffer b = buffer;
+        int offset = 0;
+        while (offset + HEADER <= b.capacity()) {
+            int length = b.getInt(offset);
+            if (length <= 0 || (long) offset + HEADER + length > b.capacity()) {
+                break;
+            }
+            ByteBuffer payload = b.slice(offset + HEADER, length);
+            if (checksum(payload) != b.getInt(offset + 4)) {
+                break;
+            }
+            visitor.accept(offset, HEADER + length, payload.asReadOnlyBuffer());
+            offset += HEADER + length;
+        }
+        end = offset;
+        if (end + HEADER <= b.capacity() && b.getInt(end) != 0) {
+            for (int i = end; i < b.capacity(); i++) {
+                b.put(i, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * @return the offset of the new record
+     */
+    public int append(byte[] payload) {
+        int size = HEADER + payload.length;
+        ensureCapacity(size);
+        ByteBuffer b = buffer;
+        int offset = end;
+        b.put(offset + HEADER, payload);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        b.putInt(offset + 4, (int) crc.getValue());
+        // the length goes in last: until it is set, replay sees the end of the log here
+        b.putInt(offset, payload.length);
+        end = offset + size;
+        return offset;
+    }
+
+    public ByteBuffer read(int offset) {
+        ByteBuffer b = buffer;
+        return b.slice(offset + HEADER, b.getInt(offset)).asReadOnlyBuffer();
+    }
+
+    /** Bytes taken by the record at {@code offset}, header included. */
+    public int sizeOf(int offset) {
+        return HEADER + buffer.getInt(offset);
+    }
+
+    /** Bytes used by all records. */
+    public int size() {
+        return end;
+    }
+
+    /**
+     * Write the records at {@code offsets}, in that order, to a new file that then
+     * replaces this one. {@code moved[i]} receives the new offset of {@code offsets[i]}.
+     * This log stays readable until it is closed.
+     */
+    public MappedRecordLog compact(int[] offsets, int[] moved) {
+        Path tmp = path.resolveSibling(path.getFileName() + ".compacting");
+        try {
+            Files.deleteIfExists(tmp);
+            long live = 0;
+            for (int offset : offsets) {
+                live += sizeOf(offset);
+            }
+            MappedRecordLog target = open(tmp, (int) Math.min(Integer.MAX_VALUE, Math.max(live * 2, 1 << 16)));
+            for (int i = 0; i < offsets.length; i++) {
+                ByteBuffer payload = read(offsets[i]);
+                byte[] bytes = new byte[payload.remaining()];
+                payload.get(bytes);
+                moved[i] = target.append(bytes);
+            }
+            target.force();
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new MappedRecordLog(path, target.channel, target.buffer).at(target.end);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot compact " + path, ex);
+        }
+    }
+
+    /** Flush written records from the page cache to the device. */
+    public void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        try {
+            force();
+            channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot close " + path, ex);
+        }
+    }
+
+    private MappedRecordLog at(int end) {
+        this.end = end;
+        return this;
+    }
+
+    private void ensureCapacity(int size) {
+        ByteBuffer b = buffer;
+        if ((long) end + size + HEADER <= b.capacity()) {
+            return;
+        }
+        long capacity = Math.max((long) b.capacity() * 2, (long) end + size + HEADER);
+        if (capacity > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Log is full: " + path);
+        }
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot grow " + path, ex);
+        }
+    }
+
+    private static int checksum(ByteBuffer payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,224 @@
+package com.turkcell.aimobile.infrastructure.persistence.mmap;
+
+import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.exception.PreconditionFailedException;
+import com.turkcell.aimobile.model.Category;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Categories kept in an append-only {@link MappedRecordLog}. The category set is small,
+ * so every category is held decoded in memory and the log only serves durability: it is
+ * replayed on startup and, when superseded records outweigh live ones, compacted there.
+ */
+@Repository
+@Profile("mmap")
+@Qualifier("store")
+public class MmapCategoryRepository implements CategoryRepositoryPort, Closeable {
+
+    private static final Comparator<Category> BY_ORDERING =
+            Comparator.comparing(Category::getOrdering, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()));
+
+    private final Map<String, Category> categories = new ConcurrentHashMap<>();
+    private final Map<String, Integer> offsets = new ConcurrentHashMap<>();
+    // guarded by this
+    private MappedRecordLog log;
+
+    public MmapCategoryRepository(@Value("${app.storage.mmap.directory:data}") String directory) {
+        this.log = MappedRecordLog.open(Path.of(directory, "categories.log"), 1 << 16);
+        replay();
+    }
+
+    private synchronized void replay() {
+        log.replay((offset, length, record) -> {
+            Category c = Records.category(record);
+            categories.put(c.getId(), c);
+            offsets.put(c.getId(), offset);
+        });
+        // records written before categories had a path get it derived here, and stored on their
+        // next save; so do descendants whose rewrite a crash in the middle of a move cut off
+        for (Category c : categories.values()) {
+            String path = pathOf(c);
+            if (!path.equals(c.getPath())) {
+                c.setPath(path);
+            }
+        }
+        if (log.size() > 2L * offsets.values().stream().mapToLong(log::sizeOf).sum()) {
+            List<String> ids = List.copyOf(offsets.keySet());
+            int[] moved = new int[ids.size()];
+            MappedRecordLog previous = log;
+            log = previous.compact(ids.stream().mapToInt(offsets::get).toArray(), moved);
+            for (int i = 0; i < moved.length; i++) {
+                offsets.put(ids.get(i), moved[i]);
+            }
+            previous.close();
+        }
+    }
+
+    private String pathOf(Category category) {
+        List<String> ids = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        Category c = category;
+        // a missing parent ends the walk, as the migration does for the database
+        while (c != null && seen.add(c.getId())) {
+            ids.add(0, c.getId());
+            c = c.getParentId() == null ? null : categories.get(c.getParentId());
+        }
+        return "/" + String.join("/", ids) + "/";
+    }
+
+    @Override
+    public synchronized Category save(Category category) {
+        Category previous = category.getId() == null ? null : categories.get(category.getId());
+        Category c = copy(category);
+        if (previous == null) {
+            // same defaults the JPA entity applies on persist
+            if (c.getId() == null || c.getId().isBlank()) {
+                c.setId(UUID.randomUUID().toString());
+            }
+            if (c.getCreatedAt() == null) {
+                c.setCreatedAt(Instant.now());
+            }
+            if (c.getUpdatedAt() == null) {
+                c.setUpdatedAt(c.getCreatedAt());
+            }
+            if (c.getIsActive() == null) {
+                c.setIsActive(true);
+            }
+            if (c.getOrdering() == null) {
+                c.setOrdering(0);
+            }
+            c.setVersion(0L);
+        } else {
+            if (c.getVersion() != null && !c.getVersion().equals(previous.getVersion())) {
+                throw new PreconditionFailedException("CATEGORY_VERSION_MISMATCH");
+            }
+            c.setUpdatedAt(Instant.now());
+            c.setVersion(previous.getVersion() == null ? 0L : previous.getVersion() + 1);
+        }
+        offsets.put(c.getId(), log.append(Records.category(c)));
+        categories.put(c.getId(), c);
+        return copy(c);
+    }
+
+    /**
+     * The records of a move are appended one after another, so they are not atomic on
+     * disk; replay derives every path from the parent links, which a move writes first.
+     */
+    @Override
+    public synchronized Category move(Category category) {
+        Category previous = category.getId() == null ? null : categories.get(category.getId());
+        String previousPath = previous == null ? null : previous.getPath();
+        Category saved = save(category);
+        if (previousPath == null || previousPath.equals(saved.getPath())) {
+            return saved;
+        }
+        Instant now = Instant.now();
+        for (Category d : List.copyOf(categories.values())) {
+            if (!d.getId().equals(saved.getId()) && d.getPath() != null && d.getPath().startsWith(previousPath)) {
+                Category c = copy(d);
+                c.setPath(saved.getPath() + d.getPath().substring(previousPath.length()));
+                c.setUpdatedAt(now);
+                c.setVersion(d.getVersion() == null ? 0L : d.getVersion() + 1);
+                offsets.put(c.getId(), log.append(Records.category(c)));
+                categories.put(c.getId(), c);
+            }
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Category> findById(String id) {
+        return Optional.ofNullable(id == null ? null : categories.get(id)).map(MmapCategoryRepository::copy);
+    }
+
+    @Override
+    public boolean existsByNameAndParentId(String name, String parentId) {
+        return categories.values().stream()
+                .anyMatch(c -> Objects.equals(c.getName(), name) && Objects.equals(c.getParentId(), parentId));
+    }
+
+    @Override
+    public List<Category> findActiveOrdered(int page, int size) {
+        return categories.values().stream()
+                .filter(c -> Boolean.TRUE.equals(c.getIsActive()))
+                .sorted(BY_ORDERING)
+                .skip((long) page * size)
+                .limit(size)
+                .map(MmapCategoryRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public long countActive() {
+        return categories.values().stream().filter(c -> Boolean.TRUE.equals(c.getIsActive())).count();
+    }
+
+    @Override
+    public List<Category> findChildren(String parentId) {
+        return categories.values().stream()
+                .filter(c -> Objects.equals(c.getParentId(), parentId))
+                .map(MmapCategoryRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<Category> findSubtree(String id) {
+        Category root = id == null ? null : categories.get(id);
+        if (root == null) {
+            return List.of();
+        }
+        return categories.values().stream()
+                .filter(c -> c.getPath() != null && c.getPath().startsWith(root.getPath()))
+                .map(MmapCategoryRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public boolean existsByIdAndIsActiveTrue(String id) {
+        Category c = id == null ? null : categories.get(id);
+        return c != null && Boolean.TRUE.equals(c.getIsActive());
+    }
+
+    @Override
+    public List<Category> findAll() {
+        return categories.values().stream().map(MmapCategoryRepository::copy).toList();
+    }
+
+    @Override
+    public synchronized void close() {
+        log.close();
+    }
+
+    // Stored categories are never handed out, callers may modify what they get.
+    private static Category copy(Category source) {
+        Category c = new Category();
+        c.setId(source.getId());
+        c.setName(source.getName());
+        c.setDescription(source.getDescription());
+        c.setParentId(source.getParentId());
+        c.setPath(source.getPath());
+        c.setOrdering(source.getOrdering());
+        c.setIsActive(source.getIsActive());
+        c.setCreatedAt(source.getCreatedAt());
+        c.setUpdatedAt(source.getUpdatedAt());
+        c.setVersion(source.getVersion());
+        return c;
+    }
+}
@@ -0,0 +1,692 @@
+package com.turkcell.aimobile.infrastructure.persistence.mmap;
+
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.service.ProductDomainService;
+import com.turkcell.aimobile.exception.ConflictException;
+import com.turkcell.aimobile.exception.PreconditionFailedException;
+import com.turkcell.aimobile.infrastructure.catalog.ColumnarProductCatalog;
+import com.turkcell.aimobile.infrastructure.counter.ActiveProductCounts;
+import com.turkcell.aimobile.infrastructure.counter.ChangeSequence;
+import com.turkcell.aimobile.infrastructure.search.ProductSearchIndex;
+import com.turkcell.aimobile.model.PriceBuckets;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductChanges;
+import com.turkcell.aimobile.model.ProductCursor;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.model.ProductFilter;
+import com.turkcell.aimobile.model.ProductSlice;
+import com.turkcell.aimobile.model.ProductSortField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Products kept in an append-only {@link MappedRecordLog} instead of a database. Every
+ * write appends the whole product (a delete appends a tombstone); memory holds one small
+ * {@link Entry} per product with its position in the log and the attributes used for
+ * filtering, sorting and uniqueness, so listing only decodes the products on the page.
+ *
+ * On startup the log is replayed to rebuild those entries, the search index and the
+ * active counters. Writes are serialized on this object, reads take no lock. A background
+ * task flushes the log and rewrites it without superseded records once they make up
+ * more than {@code compaction-garbage-ratio} of the file.
+ */
+@Repository
+@Profile("mmap")
+@Qualifier("store")
+public class MmapProductRepository implements ProductRepositoryPort, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MmapProductRepository.class);
+    private static final long COMPACTION_MIN_GARBAGE = 1 << 20;
+
+    private final ProductSearchIndex searchIndex;
+    private final ColumnarProductCatalog catalog;
+    private final ActiveProductCounts activeCounts;
+    private final PriceBuckets priceBuckets;
+    private final ChangeSequence changeSequence;
+    private final double compactionGarbageRatio;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> idByName = new ConcurrentHashMap<>();
+    private final Map<String, String> idBySku = new ConcurrentHashMap<>();
+    // the change feed: one key per live product, its latest change sequence number
+    private final NavigableMap<Long, String> idByChangeSeq = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService maintenance;
+    // guarded by this
+    private MappedRecordLog log;
+    private long garbage;
+
+    public MmapProductRepository(ProductSearchIndex searchIndex,
+                                 ColumnarProductCatalog catalog,
+                                 ActiveProductCounts activeCounts,
+                                 PriceBuckets priceBuckets,
+                                 ChangeSequence changeSequence,
+                                 @Value("${app.storage.mmap.directory:data}") String directory,
+                                 @Value("${app.storage.mmap.compaction-interval:1m}") Duration compactionInterval,
+                                 @Value("${app.storage.mmap.compaction-garbage-ratio:0.5}") double compactionGarbageRatio) {
+        this.searchIndex = searchIndex;
+        this.catalog = catalog;
+        this.activeCounts = activeCounts;
+        this.priceBuckets = priceBuckets;
+        this.changeSequence = changeSequence;
+        this.compactionGarbageRatio = compactionGarbageRatio;
+        this.log = MappedRecordLog.open(Path.of(directory, "products.log"), 1 << 20);
+        replay();
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "product-log-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = compactionInterval.toMillis();
+        maintenance.scheduleWithFixedDelay(this::maintain, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Position in the log plus the attributes that lists filter and sort on. Immutable,
+     * so a reader can decode from {@link #log} even while compaction moves the record.
+     */
+    private record Entry(String id, MappedRecordLog log, int offset, String name, String sku, boolean active,
+                         String categoryId, Double price, String currency, Instant createdAt, Instant updatedAt,
+                         Long version, long changeSeq) {
+
+        static Entry of(MappedRecordLog log, int offset, Product p) {
+            return new Entry(p.getId(), log, offset, p.getName(), p.getSku(), Boolean.TRUE.equals(p.getIsActive()),
+                    p.getCategoryId(), p.getPrice(), p.getCurrency(), p.getCreatedAt(), p.getUpdatedAt(), p.getVersion(),
+                    p.getChangeSeq());
+        }
+
+        Entry at(MappedRecordLog log, int offset) {
+            return new Entry(id, log, offset, name, sku, active, categoryId, price, currency, createdAt, updatedAt,
+                    version, changeSeq);
+        }
+
+        Product read() {
+            Product p = Records.product(log.read(offset));
+            p.setChangeSeq(changeSeq);
+            return p;
+        }
+
+        int size() {
+            return log.sizeOf(offset);
+        }
+    }
+
+    private synchronized void replay() {
+        long[] lastSeq = {0};
+        log.replay((offset, length, record) -> {
+            String id = Records.type(record) == Records.DELETE ? Records.id(record) : null;
+            Entry entry = null;
+            if (id == null) {
+                Product p = Records.product(record);
+                // records written before the change feed are numbered in log order
+                p.setChangeSeq(p.getChangeSeq() != null ? p.getChangeSeq() : lastSeq[0] + 1);
+                lastSeq[0] = Math.max(lastSeq[0], p.getChangeSeq());
+                entry = Entry.of(log, offset, p);
+                idByChangeSeq.put(entry.changeSeq(), entry.id());
+            }
+            Entry previous = id == null ? entries.put(entry.id(), entry) : entries.remove(id);
+            if (previous != null) {
+                unindexKeys(previous);
+                idByChangeSeq.remove(previous.changeSeq(), previous.id());
+                garbage += previous.size();
+            }
+            if (entry != null) {
+                indexKeys(entry);
+            } else {
+                garbage += length;
+            }
+        });
+        Map<String, Long> counts = new HashMap<>();
+        List<Product> active = new ArrayList<>();
+        for (Entry e : entries.values()) {
+            if (e.active()) {
+                counts.merge(e.categoryId(), 1L, Long::sum);
+                active.add(e.read());
+            }
+        }
+        changeSequence.advanceTo(lastSeq[0]);
+        activeCounts.reset(counts);
+        searchIndex.rebuild(active);
+        catalog.rebuild(active);
+    }
+
+    @Override
+    public synchronized Product save(Product product) {
+        Entry previous = product.getId() == null ? null : entries.get(product.getId());
+        if (previous == null) {
+            return insert(product);
+        }
+        if (product.getVersion() != null && !product.getVersion().equals(previous.version())) {
+            throw new PreconditionFailedException(ProductDomainService.VERSION_MISMATCH);
+        }
+        requireUnique(product, product.getId());
+        Product p = Product.copyOf(product);
+        if (p.getCreatedAt() == null) {
+            p.setCreatedAt(previous.createdAt());
+        }
+        p.setUpdatedAt(Instant.now());
+        p.setVersion(previous.version() == null ? 0L : previous.version() + 1);
+        write(previous, p);
+        searchIndex.index(p);
+        catalog.index(p);
+        return p;
+    }
+
+    @Override
+    public synchronized Product insert(Product product) {
+        Product p = newProduct(product);
+        if (entries.containsKey(p.getId())) {
+            throw new ConflictException("PRODUCT_ALREADY_EXISTS");
+        }
+        requireUnique(p, null);
+        write(null, p);
+        searchIndex.index(p);
+        catalog.index(p);
+        return p;
+    }
+
+    /**
+     * Every product is checked against the store and the rest of the batch before the
+     * first record is appended, so a conflict leaves nothing behind.
+     */
+    @Override
+    public synchronized List<Product> saveAll(List<Product> products) {
+        List<Product> prepared = products.stream().map(this::newProduct).toList();
+        Set<String> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        Set<String> skus = new HashSet<>();
+        for (Product p : prepared) {
+            if (entries.containsKey(p.getId()) || !ids.add(p.getId())
+                    || taken(idByName, names, p.getName()) || taken(idBySku, skus, p.getSku())) {
+                throw new ConflictException("BULK_CONSTRAINT_VIOLATION");
+            }
+        }
+        for (Product p : prepared) {
+            write(null, p);
+        }
+        searchIndex.indexAll(prepared);
+        catalog.indexAll(prepared);
+        return prepared;
+    }
+
+    @Override
+    public void deleteById(String id) {
+        synchronized (this) {
+            Entry previous = entries.get(id);
+            if (previous == null) {
+                return;
+            }
+            int offset = log.append(Records.tombstone(id));
+            entries.remove(id);
+            unindexKeys(previous);
+            idByChangeSeq.remove(previous.changeSeq(), id);
+            garbage += previous.size() + log.sizeOf(offset);
+            activeCounts.onChange(previous.active(), previous.categoryId(), false, null);
+        }
+        searchIndex.remove(id);
+        catalog.remove(id);
+    }
+
+    @Override
+    public Optional<Product> findById(String id) {
+        Entry e = id == null ? null : entries.get(id);
+        return e != null && e.active() ? Optional.of(e.read()) : Optional.empty();
+    }
+
+    @Override
+    public List<Product> findAllByIds(List<String> ids) {
+        return load(ids);
+    }
+
+    @Override
+    public Set<String> findExistingNames(Collection<String> names) {
+        return names.stream().filter(name -> name != null && idByName.containsKey(name)).collect(Collectors.toSet());
+    }
+
+    @Override
+    public Set<String> findExistingSkus(Collection<String> skus) {
+        return skus.stream().filter(sku -> sku != null && idBySku.containsKey(sku)).collect(Collectors.toSet());
+    }
+
+    @Override
+    public List<Product> findAll(int page, int size, String sortBy, boolean asc) {
+        return findAllByCategory(null, page, size, sortBy, asc);
+    }
+
+    @Override
+    public List<Product> search(String q, int page, int size, String sortBy, boolean asc) {
+        return searchByCategory(null, q, page, size, sortBy, asc);
+    }
+
+    @Override
+    public long count() {
+        return activeCounts.total();
+    }
+
+    @Override
+    public List<Product> findAllByCategory(String categoryId, int page, int size, String sortBy, boolean asc) {
+        if (catalog.supports(sortField(sortBy))) {
+            return load(catalog.page(categoryId, sortField(sortBy), asc, (long) page * size, size));
+        }
+        return read(window(matching(categoryId, null), order(sortField(sortBy), asc), (long) page * size, size));
+    }
+
+    @Override
+    public List<Product> searchByCategory(String categoryId, String q, int page, int size, String sortBy, boolean asc) {
+        if (searchIndex.supports(q)) {
+            return load(searchIndex.search(q, categoryId, sortBy, asc, (long) page * size, size).ids());
+        }
+        return read(window(matching(categoryId, q), order(sortField(sortBy), asc), (long) page * size, size));
+    }
+
+    @Override
+    public long countByCategory(String categoryId) {
+        return activeCounts.byCategory(categoryId);
+    }
+
+    @Override
+    public long countSearch(String categoryId, String q) {
+        if (searchIndex.supports(q)) {
+            return searchIndex.search(q, categoryId, null, false, 0, 0).total();
+        }
+        Predicate<Entry> filter = matching(categoryId, q);
+        return entries.values().stream().filter(filter).count();
+    }
+
+    @Override
+    public void forEachActive(String categoryId, Instant updatedSince, Consumer<Product> action) {
+        Predicate<Entry> filter = matching(categoryId, null);
+        entries.values().stream()
+                .filter(filter.and(e -> updatedSince == null || !e.updatedAt().isBefore(updatedSince)))
+                .sorted(Comparator.comparing(Entry::id))
+                .forEach(e -> action.accept(e.read()));
+    }
+
+    // A key whose entry has moved on was superseded by a write after it; that one is found at its own key.
+    @Override
+    public ProductChanges findChanges(long since, int limit) {
+        long visible = changeSequence.visible();
+        List<Product> products = new ArrayList<>();
+        long watermark = Math.max(since, visible);
+        boolean hasMore = false;
+        for (Map.Entry<Long, String> change : idByChangeSeq.subMap(since, false, visible, true).entrySet()) {
+            if (products.size() == limit) {
+                hasMore = true;
+                watermark = products.get(limit - 1).getChangeSeq();
+                break;
+            }
+            Entry e = entries.get(change.getValue());
+            if (e != null && e.changeSeq() == change.getKey()) {
+                products.add(e.read());
+            }
+        }
+        return new ProductChanges(products, watermark, hasMore);
+    }
+
+    // Products are decoded whole, so every attribute is set whatever {@code fields} asks for.
+    @Override
+    public ProductSlice findSlice(String categoryId, String q, int page, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        if (q != null && searchIndex.supports(q)) {
+            ProductSearchIndex.Hits hits = searchIndex.search(q, categoryId, sortBy, asc, (long) page * size, size);
+            return new ProductSlice(load(hits.ids()), ((long) page + 1) * size < hits.total());
+        }
+        if (q == null && catalog.supports(sortField(sortBy))) {
+            List<String> ids = catalog.page(categoryId, sortField(sortBy), asc, (long) page * size, size + 1);
+            boolean hasNext = ids.size() > size;
+            return new ProductSlice(load(hasNext ? ids.subList(0, size) : ids), hasNext);
+        }
+        List<Entry> rows = window(matching(categoryId, q), order(sortField(sortBy), asc), (long) page * size, size + 1);
+        boolean hasNext = rows.size() > size;
+        return new ProductSlice(read(hasNext ? rows.subList(0, size) : rows), hasNext);
+    }
+
+    @Override
+    public ProductSlice findSlice(ProductFilter filter, int page, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        if (!filter.hasExtendedCriteria()) {
+            return findSlice(filter.categoryId(), filter.q(), page, size, sortBy, asc, fields);
+        }
+        if (filter.q() == null && catalog.supports(sortField(sortBy))) {
+            List<String> ids = catalog.page(filter, sortField(sortBy), asc, (long) page * size, size + 1);
+            boolean hasNext = ids.size() > size;
+            return new ProductSlice(load(hasNext ? ids.subList(0, size) : ids), hasNext);
+        }
+        List<Entry> rows = window(matching(filter), order(sortField(sortBy), asc), (long) page * size, size + 1);
+        boolean hasNext = rows.size() > size;
+        return new ProductSlice(read(hasNext ? rows.subList(0, size) : rows), hasNext);
+    }
+
+    @Override
+    public long count(ProductFilter filter) {
+        if (!filter.hasExtendedCriteria()) {
+            if (filter.q() != null) {
+                return countSearch(filter.categoryId(), filter.q());
+            }
+            return filter.categoryId() != null ? countByCategory(filter.categoryId()) : count();
+        }
+        if (filter.q() == null) {
+            return catalog.count(filter);
+        }
+        return entries.values().stream().filter(matching(filter)).count();
+    }
+
+    // Without a search query the catalog scans its columns; otherwise one pass over the entries.
+    @Override
+    public Map<ProductFacet, Map<String, Long>> facets(ProductFilter filter, Set<ProductFacet> facets) {
+        if (filter.q() == null) {
+            return catalog.facets(filter, facets, priceBuckets);
+        }
+        Predicate<Entry> matches = matching(filter);
+        Map<String, Long> byCategory = new HashMap<>();
+        Map<String, Long> byCurrency = new HashMap<>();
+        long[] byBucket = new long[priceBuckets.count()];
+        for (Entry e : entries.values()) {
+            if (!matches.test(e)) {
+                continue;
+            }
+            if (e.categoryId() != null) {
+                byCategory.merge(e.categoryId(), 1L, Long::sum);
+            }
+            if (e.currency() != null) {
+                byCurrency.merge(e.currency(), 1L, Long::sum);
+            }
+            if (e.price() != null) {
+                byBucket[priceBuckets.bucketOf(e.price())]++;
+            }
+        }
+        Map<ProductFacet, Map<String, Long>> result = new EnumMap<>(ProductFacet.class);
+        if (facets.contains(ProductFacet.CATEGORY_ID)) {
+            result.put(ProductFacet.CATEGORY_ID, byCategory);
+        }
+        if (facets.contains(ProductFacet.CURRENCY)) {
+            result.put(ProductFacet.CURRENCY, byCurrency);
+        }
+        if (facets.contains(ProductFacet.PRICE_BUCKET)) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < byBucket.length; i++) {
+                counts.put(priceBuckets.label(i), byBucket[i]);
+            }
+            result.put(ProductFacet.PRICE_BUCKET, counts);
+        }
+        return result;
+    }
+
+    @Override
+    public ProductSlice findAfter(String categoryId, String q, ProductCursor after, int size, String sortBy, boolean asc,
+                                  Set<ProductField> fields) {
+        if (q != null && searchIndex.supports(q)) {
+            String indexSort = sortBy == null ? ProductSearchIndex.RELEVANCE : sortBy;
+            ProductSearchIndex.sortKeys(indexSort);
+            requireMatchingCursor(after, indexSort, asc);
+            ProductSearchIndex.Hits hits = searchIndex.searchAfter(q, categoryId, indexSort, asc,
+                    after == null ? null : after.getKeys(), after == null ? null : after.getId(), size + 1);
+            boolean hasNext = hits.ids().size() > size;
+            List<String> pageIds = hasNext ? hits.ids().subList(0, size) : hits.ids();
+            ProductCursor next = hasNext
+                    ? new ProductCursor(indexSort, asc, hits.keys().get(size - 1), pageIds.get(size - 1))
+                    : null;
+            return new ProductSlice(load(pageIds), next);
+        }
+        String field = ProductSortField.fromProperty(sortField(sortBy)).property();
+        requireMatchingCursor(after, field, asc);
+        Comparator<Entry> order = order(field, asc);
+        Predicate<Entry> filter = matching(categoryId, q);
+        if (after != null) {
+            Entry position = position(field, after.getKeys().get(0), after.getId());
+            filter = filter.and(e -> order.compare(e, position) > 0);
+        }
+        List<Entry> rows = window(filter, order, 0, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<Product> items = read(hasNext ? rows.subList(0, size) : rows);
+        ProductCursor next = null;
+        if (hasNext) {
+            Product last = items.get(items.size() - 1);
+            next = new ProductCursor(field, asc, List.of(sortValue(last, field)), last.getId());
+        }
+        return new ProductSlice(items, next);
+    }
+
+    /**
+     * Flush dirty pages and compact once superseded records dominate the log. Runs on a
+     * fixed-delay schedule, where an escaping exception would cancel every later run, so
+     * failures are logged and retried next time; a failed compaction leaves the old log in use.
+     */
+    synchronized void maintain() {
+        try {
+            if (garbage >= COMPACTION_MIN_GARBAGE && garbage >= log.size() * compactionGarbageRatio) {
+                List<Entry> live = new ArrayList<>(entries.values());
+                int[] offsets = live.stream().mapToInt(Entry::offset).toArray();
+                int[] moved = new int[offsets.length];
+                MappedRecordLog previous = log;
+                log = previous.compact(offsets, moved);
+                for (int i = 0; i < moved.length; i++) {
+                    entries.put(live.get(i).id(), live.get(i).at(log, moved[i]));
+                }
+                garbage = 0;
+                previous.close();
+            }
+            log.force();
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Product log maintenance failed; retrying on the next run", ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        maintenance.shutdownNow();
+        log.close();
+    }
+
+    /**
+     * Appends the product under the next change sequence number and swaps its entry; the
+     * caller holds the write lock. The number is released once the entry is readable.
+     */
+    private void write(Entry previous, Product p) {
+        p.setChangeSeq(changeSequence.next());
+        Entry entry;
+        try {
+            entry = Entry.of(log, log.append(Records.product(p)), p);
+            if (previous != null) {
+                unindexKeys(previous);
+                idByChangeSeq.remove(previous.changeSeq(), previous.id());
+                garbage += previous.size();
+            }
+            entries.put(entry.id(), entry);
+            idByChangeSeq.put(entry.changeSeq(), entry.id());
+        } finally {
+            changeSequence.release(p.getChangeSeq());
+        }
+        indexKeys(entry);
+        activeCounts.onChange(previous != null && previous.active(), previous == null ? null : previous.categoryId(),
+                entry.active(), entry.categoryId());
+    }
+
+    private void requireUnique(Product p, String ownId) {
+        String nameOwner = p.getName() == null ? null : idByName.get(p.getName());
+        if (nameOwner != null && !nameOwner.equals(ownId)) {
+            throw new ConflictException(ProductDomainService.NAME_TAKEN);
+        }
+        String skuOwner = p.getSku() == null ? null : idBySku.get(p.getSku());
+        if (skuOwner != null && !skuOwner.equals(ownId)) {
+            throw new ConflictException(ProductDomainService.SKU_TAKEN);
+        }
+    }
+
+    private static boolean taken(Map<String, String> stored, Set<String> batch, String value) {
+        return value != null && (stored.containsKey(value) || !batch.add(value));
+    }
+
+    private void indexKeys(Entry e) {
+        if (e.name() != null) {
+            idByName.put(e.name(), e.id());
+        }
+        if (e.sku() != null) {
+            idBySku.put(e.sku(), e.id());
+        }
+    }
+
+    private void unindexKeys(Entry e) {
+        if (e.name() != null) {
+            idByName.remove(e.name(), e.id());
+        }
+        if (e.sku() != null) {
+            idBySku.remove(e.sku(), e.id());
+        }
+    }
+
+    // Same defaults the JPA entity applies on persist.
+    private Product newProduct(Product product) {
+        Product p = Product.copyOf(product);
+        if (p.getId() == null || p.getId().isBlank()) {
+            p.setId(UUID.randomUUID().toString());
+        }
+        if (p.getCreatedAt() == null) {
+            p.setCreatedAt(Instant.now());
+        }
+        if (p.getUpdatedAt() == null) {
+            p.setUpdatedAt(p.getCreatedAt());
+        }
+        p.setVersion(0L);
+        return p;
+    }
+
+    /**
+     * Active products in the category whose name, sku or description contains {@code q}
+     * (case-insensitive). The description is only decoded when name and sku do not match.
+     */
+    private static Predicate<Entry> matching(String categoryId, String q) {
+        String needle = q == null ? null : q.toLowerCase(Locale.ROOT);
+        return e -> e.active()
+                && (categoryId == null || categoryId.equals(e.categoryId()))
+                && (needle == null || contains(e.name(), needle) || contains(e.sku(), needle)
+                        || contains(e.read().getDescription(), needle));
+    }
+
+    // The cheap attribute checks go first, the text match may have to decode the record.
+    private static Predicate<Entry> matching(ProductFilter filter) {
+        Predicate<Entry> base = matching(null, filter.q());
+        return e -> filter.acceptsCategory(e.categoryId())
+                && (filter.currency() == null || filter.currency().equals(e.currency()))
+                && filter.acceptsPrice(e.price())
+                && base.test(e);
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    /**
+     * The entries at [offset, offset + limit) in the given order. Only the first
+     * {@code offset + limit} are kept while scanning, as a bounded heap.
+     */
+    private List<Entry> window(Predicate<Entry> filter, Comparator<Entry> order, long offset, int limit) {
+        long wanted = offset + limit;
+        if (limit <= 0 || wanted > Integer.MAX_VALUE) {
+            return List.of();
+        }
+        PriorityQueue<Entry> top = new PriorityQueue<>((int) Math.min(wanted, 1024) + 1, order.reversed());
+        for (Entry e : entries.values()) {
+            if (!filter.test(e)) {
+                continue;
+            }
+            if (top.size() < wanted) {
+                top.add(e);
+            } else if (order.compare(e, top.peek()) < 0) {
+                top.poll();
+                top.add(e);
+            }
+        }
+        List<Entry> sorted = new ArrayList<>(top);
+        sorted.sort(order);
+        return offset >= sorted.size() ? List.of() : sorted.subList((int) offset, sorted.size());
+    }
+
+    // Sorted like the database does: nulls first ascending, last descending, id breaks ties.
+    private static Comparator<Entry> order(String field, boolean asc) {
+        Comparator<Entry> byField = switch (field) {
+            case "price" -> Comparator.comparing(Entry::price, Comparator.nullsFirst(Comparator.<Double>naturalOrder()));
+            case "name" -> Comparator.comparing(Entry::name, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+            case "updatedAt" -> Comparator.comparing(Entry::updatedAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()));
+            case "createdAt" -> Comparator.comparing(Entry::createdAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()));
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + field);
+        };
+        Comparator<Entry> order = byField.thenComparing(Entry::id);
+        return asc ? order : order.reversed();
+    }
+
+    // A stand-in entry carrying just the cursor's sort key and id, for comparisons.
+    private static Entry position(String field, Object key, String id) {
+        return new Entry(id, null, 0,
+                "name".equals(field) ? (String) key : null, null, true, null,
+                "price".equals(field) ? (Double) key : null, null,
+                "createdAt".equals(field) ? (Instant) key : null,
+                "updatedAt".equals(field) ? (Instant) key : null, null, 0);
+    }
+
+    // Search index and catalog ids come back ordered; keep that order and drop products deactivated meanwhile.
+    private List<Product> load(List<String> ids) {
+        List<Product> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Entry e = entries.get(id);
+            if (e != null && e.active()) {
+                result.add(e.read());
+            }
+        }
+        return result;
+    }
+
+    private static List<Product> read(List<Entry> rows) {
+        return rows.stream().map(Entry::read).toList();
+    }
+
+    private static String sortField(String sortBy) {
+        return sortBy == null || ProductSearchIndex.RELEVANCE.equals(sortBy) ? "createdAt" : sortBy;
+    }
+
+    private static void requireMatchingCursor(ProductCursor after, String sortBy, boolean asc) {
+        if (after != null && (!after.getSortBy().equals(sortBy) || after.isAsc() != asc)) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+    }
+
+    private static Object sortValue(Product p, String field) {
+        return switch (field) {
+            case "price" -> p.getPrice();
+            case "name" -> p.getName();
+            case "updatedAt" -> p.getUpdatedAt();
+            default -> p.getCreatedAt();
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package com.turkcell.aimobile.infrastructure.persistence.mmap;
+
+import com.turkcell.aimobile.model.Category;
+import com.turkcell.aimobile.model.Product;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * Binary layout of log records: a type byte, the id, then for {@link #PUT} every attribute
+ * in declaration order, each nullable one behind a presence flag. {@link #DELETE} records
+ * (tombstones) carry only the id. New attributes may only be appended at the end.
+ */
+final class Records {
+
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+
+    private Records() {
+    }
+
+    static byte type(ByteBuffer record) {
+        return record.get(0);
+    }
+
+    static byte[] tombstone(String id) {
+        return write(out -> {
+            out.writeByte(DELETE);
+            out.writeUTF(id);
+        });
+    }
+
+    static String id(ByteBuffer record) {
+        return read(record, in -> {
+            in.readByte();
+            return in.readUTF();
+        });
+    }
+
+    static byte[] product(Product p) {
+        return write(out -> {
+            out.writeByte(PUT);
+            out.writeUTF(p.getId());
+            writeString(out, p.getName());
+            writeString(out, p.getSku());
+            writeString(out, p.getDescription());
+            writeDouble(out, p.getPrice());
+            writeString(out, p.getCurrency());
+            writeBoolean(out, p.getIsActive());
+            writeString(out, p.getCategoryId());
+            writeString(out, p.getImageUrl());
+            writeInstant(out, p.getCreatedAt());
+            writeInstant(out, p.getUpdatedAt());
+            writeLong(out, p.getVersion());
+            writeLong(out, p.getChangeSeq());
+        });
+    }
+
+    static Product product(ByteBuffer record) {
+        return read(record, in -> {
+            in.readByte();
+            Product p = new Product();
+            p.setId(in.readUTF());
+            p.setName(readString(in));
+            p.setSku(readString(in));
+            p.setDescription(readString(in));
+            p.setPrice(readDouble(in));
+            p.setCurrency(readString(in));
+            p.setIsActive(readBoolean(in));
+            p.setCategoryId(readString(in));
+            p.setImageUrl(readString(in));
+            p.setCreatedAt(readInstant(in));
+            p.setUpdatedAt(readInstant(in));
+            p.setVersion(readLong(in));
+            // appended later; records written before have no change sequence
+            p.setChangeSeq(in.available() > 0 ? readLong(in) : null);
+            return p;
+        });
+    }
+
+    static byte[] category(Category c) {
+        return write(out -> {
+            out.writeByte(PUT);
+            out.writeUTF(c.getId());
+            writeString(out, c.getName());
+            writeString(out, c.getDescription());
+            writeString(out, c.getParentId());
+            writeLong(out, c.getOrdering() == null ? null : c.getOrdering().longValue());
+            writeBoolean(out, c.getIsActive());
+            writeInstant(out, c.getCreatedAt());
+            writeInstant(out, c.getUpdatedAt());
+            writeLong(out, c.getVersion());
+            writeString(out, c.getPath());
+        });
+    }
+
+    static Category category(ByteBuffer record) {
+        return read(record, in -> {
+            in.readByte();
+            Category c = new Category();
+            c.setId(in.readUTF());
+            c.setName(readString(in));
+            c.setDescription(readString(in));
+            c.setParentId(readString(in));
+            Long ordering = readLong(in);
+            c.setOrdering(ordering == null ? null : ordering.intValue());
+            c.setIsActive(readBoolean(in));
+            c.setCreatedAt(readInstant(in));
+            c.setUpdatedAt(readInstant(in));
+            c.setVersion(readLong(in));
+            // appended later; records written before have no path
+            c.setPath(in.available() > 0 ? readString(in) : null);
+            return c;
+        });
+    }
+
+    private interface Writer {
+        void write(DataOutput out) throws IOException;
+    }
+
+    private interface Reader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private static byte[] write(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> T read(ByteBuffer record, Reader<T> reader) {
+        byte[] bytes = new byte[record.remaining()];
+        record.duplicate().get(bytes);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return reader.read(in);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Corrupt record", ex);
+        }
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDouble(DataOutput out, Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeDouble(value);
+        }
+    }
+
+    private static Double readDouble(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readDouble() : null;
+    }
+
+    private static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    // 0 = null, 1 = false, 2 = true
+    private static void writeBoolean(DataOutput out, Boolean value) throws IOException {
+        out.writeByte(value == null ? 0 : value ? 2 : 1);
+    }
+
+    private static Boolean readBoolean(DataInput in) throws IOException {
+        byte b = in.readByte();
+        return b == 0 ? null : b == 2;
+    }
+
+    private static void writeInstant(DataOutput out, Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static Instant readInstant(DataInput in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
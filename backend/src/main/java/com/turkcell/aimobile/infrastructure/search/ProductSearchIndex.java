@@ -0,0 +1,456 @@
+package com.turkcell.aimobile.infrastructure.search;
+
+import com.turkcell.aimobile.model.Product;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over active products (name, sku, description).
+ * Each field is split into lower-cased character trigrams; a query matches a field
+ * when all trigrams of the query are present, and every such candidate is verified
+ * as a real substring of the field, as {@code LIKE '%q%'} would match it.
+ *
+ * Postings hold document ordinals that only ever grow, so every posting list stays
+ * sorted by construction. Updating a product retires its old ordinal; once retired
+ * ordinals outnumber half of the live docs, the live ones are renumbered in order and
+ * the retired ones dropped from the docs and the postings.
+ */
+public class ProductSearchIndex {
+
+    public static final int GRAM = 3;
+    public static final String RELEVANCE = "relevance";
+
+    private static final char NAME = 'n';
+    private static final char SKU = 's';
+    private static final char DESCRIPTION = 'd';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final List<Doc> docs = new ArrayList<>();
+    private final Map<String, Integer> ordinalById = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private int retired;
+
+    /**
+     * Queries shorter than one trigram cannot be answered from the index.
+     */
+    public boolean supports(String q) {
+        return q != null && q.length() >= GRAM;
+    }
+
+    /**
+     * Insert or replace a product. Inactive products are removed, since only active
+     * products are ever searched.
+     */
+    public void index(Product product) {
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            retire(product.getId());
+            if (Boolean.TRUE.equals(product.getIsActive())) {
+                add(product);
+            }
+            maybePurge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Batch form of {@link #index(Product)} taking the write lock once.
+     */
+    public void indexAll(Iterable<Product> products) {
+        lock.writeLock().lock();
+        try {
+            for (Product product : products) {
+                if (product == null || product.getId() == null) {
+                    continue;
+                }
+                retire(product.getId());
+                if (Boolean.TRUE.equals(product.getIsActive())) {
+                    add(product);
+                }
+            }
+            maybePurge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            retire(id);
+            maybePurge();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the current content and index the given products from scratch.
+     */
+    public void rebuild(Iterable<Product> products) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            docs.clear();
+            ordinalById.clear();
+            live.clear();
+            retired = 0;
+            for (Product product : products) {
+                if (product.getId() != null && Boolean.TRUE.equals(product.getIsActive())) {
+                    add(product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Docs held, retired ones included until the next purge.
+    int slots() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Return ids of the requested window of matches, ordered by the given field
+     * ({@link #RELEVANCE}, createdAt, updatedAt, price or name) with id as tie-breaker.
+     * Only the top {@code offset + limit} matches are kept while scanning.
+     *
+     * @param categoryId optional exact category filter
+     */
+    public Hits search(String q, String categoryId, String sortBy, boolean asc, long offset, int limit) {
+        return select(q, categoryId, sortBy, asc, null, null, offset, limit);
+    }
+
+    /**
+     * Keyset variant of {@link #search}: return up to {@code limit} matches ordered
+     * strictly after the given sort keys and id ({@code afterKeys == null} starts at
+     * the top). {@link Hits#keys()} holds the sort keys of every returned match.
+     */
+    public Hits searchAfter(String q, String categoryId, String sortBy, boolean asc,
+                            List<Object> afterKeys, String afterId, int limit) {
+        return select(q, categoryId, sortBy, asc, afterKeys, afterId, 0, limit);
+    }
+
+    /**
+     * Names of the sort keys (in order, id excluded) that the given sort compares.
+     */
+    public static List<String> sortKeys(String sortBy) {
+        String field = sortBy == null ? RELEVANCE : sortBy;
+        return switch (field) {
+            case RELEVANCE -> List.of(RELEVANCE, "createdAt");
+            case "price", "name", "updatedAt", "createdAt" -> List.of(field);
+            default -> throw new IllegalArgumentException("Unsupported sort field: " + sortBy);
+        };
+    }
+
+    private Hits select(String q, String categoryId, String sortBy, boolean asc,
+                        List<Object> afterKeys, String afterId, long offset, int limit) {
+        if (!supports(q)) {
+            throw new IllegalArgumentException("Query too short for index: " + q);
+        }
+        String needle = q.toLowerCase(Locale.ROOT);
+        List<String> keyNames = sortKeys(sortBy);
+        Comparator<Scored> order = asc ? ORDER : ORDER.reversed();
+        Scored after = afterKeys == null ? null : new Scored(afterId, afterKeys.toArray());
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = match(needle, categoryId);
+            // never more than every match, however deep the requested page
+            int k = (int) Math.min(scores.size(), Math.max(0, offset) + Math.max(0, limit));
+            // max-heap on the reverse order keeps the best k while scanning
+            PriorityQueue<Scored> top = new PriorityQueue<>(Math.max(1, k), order.reversed());
+            for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+                if (k == 0) {
+                    break;
+                }
+                Scored s = scored(docs.get(e.getKey()), e.getValue(), keyNames);
+                if (after != null && order.compare(s, after) <= 0) {
+                    continue;
+                }
+                if (top.size() < k) {
+                    top.add(s);
+                } else if (order.compare(s, top.peek()) < 0) {
+                    top.poll();
+                    top.add(s);
+                }
+            }
+            List<Scored> sorted = new ArrayList<>(top);
+            sorted.sort(order);
+            int from = (int) Math.min(sorted.size(), Math.max(0, offset));
+            List<String> ids = new ArrayList<>(sorted.size() - from);
+            List<List<Object>> keys = new ArrayList<>(ids.size());
+            for (int i = from; i < sorted.size(); i++) {
+                ids.add(sorted.get(i).id);
+                keys.add(Arrays.asList(sorted.get(i).keys));
+            }
+            return new Hits(ids, scores.size(), keys);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- matching -----------------------------------------------------------------
+
+    private Map<Integer, Double> match(String needle, String categoryId) {
+        Set<String> grams = grams(needle);
+        Map<Integer, Double> scores = new HashMap<>();
+        for (char field : new char[]{NAME, SKU, DESCRIPTION}) {
+            for (int ordinal : intersect(field, grams)) {
+                if (!live.get(ordinal)) {
+                    continue;
+                }
+                Doc doc = docs.get(ordinal);
+                if (categoryId != null && !categoryId.equals(doc.categoryId)) {
+                    continue;
+                }
+                double score = score(field, doc, needle);
+                if (score > 0) {
+                    scores.merge(ordinal, score, Double::sum);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private double score(char field, Doc doc, String needle) {
+        switch (field) {
+            case NAME:
+                if (!doc.nameLower.contains(needle)) return 0;
+                if (doc.nameLower.equals(needle)) return 6;
+                return doc.nameLower.startsWith(needle) ? 4 : 3;
+            case SKU:
+                if (doc.skuLower == null || !doc.skuLower.contains(needle)) return 0;
+                return doc.skuLower.equals(needle) ? 4 : 2;
+            default:
+                return doc.descriptionLower != null && doc.descriptionLower.contains(needle) ? 1 : 0;
+        }
+    }
+
+    private int[] intersect(char field, Set<String> grams) {
+        List<PostingList> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            PostingList list = postings.get(field + gram);
+            if (list == null) {
+                return new int[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(l -> l.size));
+        PostingList smallest = lists.get(0);
+        int[] out = new int[smallest.size];
+        int n = 0;
+        outer:
+        for (int i = 0; i < smallest.size; i++) {
+            int ordinal = smallest.data[i];
+            for (int j = 1; j < lists.size(); j++) {
+                if (!lists.get(j).contains(ordinal)) {
+                    continue outer;
+                }
+            }
+            out[n++] = ordinal;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static Scored scored(Doc doc, double score, List<String> keyNames) {
+        Object[] keys = new Object[keyNames.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = switch (keyNames.get(i)) {
+                case RELEVANCE -> score;
+                case "price" -> doc.price;
+                case "name" -> doc.name;
+                case "updatedAt" -> doc.updatedAt;
+                default -> doc.createdAt;
+            };
+        }
+        return new Scored(doc.id, keys);
+    }
+
+    // --- maintenance --------------------------------------------------------------
+
+    private void add(Product product) {
+        int ordinal = docs.size();
+        Doc doc = new Doc(product);
+        docs.add(doc);
+        ordinalById.put(doc.id, ordinal);
+        live.set(ordinal);
+        post(NAME, doc.nameLower, ordinal);
+        post(SKU, doc.skuLower, ordinal);
+        post(DESCRIPTION, doc.descriptionLower, ordinal);
+    }
+
+    private void post(char field, String text, int ordinal) {
+        if (text == null) {
+            return;
+        }
+        for (String gram : grams(text)) {
+            postings.computeIfAbsent(field + gram, g -> new PostingList()).add(ordinal);
+        }
+    }
+
+    private void retire(String id) {
+        Integer old = ordinalById.remove(id);
+        if (old != null) {
+            live.clear(old);
+            docs.set(old, null);
+            retired++;
+        }
+    }
+
+    private void maybePurge() {
+        if (retired < 1024 || retired < ordinalById.size() / 2) {
+            return;
+        }
+        // renumbering in order keeps every posting list sorted
+        int[] renumbered = new int[docs.size()];
+        int kept = 0;
+        for (int ordinal = 0; ordinal < docs.size(); ordinal++) {
+            if (live.get(ordinal)) {
+                renumbered[ordinal] = kept;
+                docs.set(kept++, docs.get(ordinal));
+            } else {
+                renumbered[ordinal] = -1;
+            }
+        }
+        docs.subList(kept, docs.size()).clear();
+        postings.values().removeIf(list -> list.renumber(renumbered) == 0);
+        live.clear();
+        live.set(0, kept);
+        ordinalById.clear();
+        for (int ordinal = 0; ordinal < kept; ordinal++) {
+            ordinalById.put(docs.get(ordinal).id, ordinal);
+        }
+        retired = 0;
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static String lower(String s) {
+        return s == null ? null : s.toLowerCase(Locale.ROOT);
+    }
+
+    // --- value types --------------------------------------------------------------
+
+    /**
+     * @param total number of matches before paging
+     * @param keys sort keys of each returned id, see {@link #sortKeys(String)}
+     */
+    public record Hits(List<String> ids, long total, List<List<Object>> keys) {
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Scored> ORDER = (a, b) -> {
+        for (int i = 0; i < a.keys.length; i++) {
+            Comparable x = (Comparable) a.keys[i];
+            Comparable y = (Comparable) b.keys[i];
+            int c = x == null ? (y == null ? 0 : -1) : (y == null ? 1 : x.compareTo(y));
+            if (c != 0) {
+                return c;
+            }
+        }
+        return a.id.compareTo(b.id);
+    };
+
+    private record Scored(String id, Object[] keys) {
+    }
+
+    /** Per-document data kept for scoring, filtering and sorting without a DB round trip. */
+    private static final class Doc {
+        final String id;
+        final String categoryId;
+        final String name;
+        final String nameLower;
+        final String skuLower;
+        final String descriptionLower;
+        final Double price;
+        final Instant createdAt;
+        final Instant updatedAt;
+
+        Doc(Product p) {
+            this.id = p.getId();
+            this.categoryId = p.getCategoryId();
+            this.name = p.getName();
+            this.nameLower = p.getName() == null ? "" : lower(p.getName());
+            this.skuLower = lower(p.getSku());
+            this.descriptionLower = lower(p.getDescription());
+            this.price = p.getPrice();
+            this.createdAt = p.getCreatedAt();
+            this.updatedAt = p.getUpdatedAt();
+        }
+    }
+
+    /** Growable, always-sorted int array of document ordinals. */
+    private static final class PostingList {
+        int[] data = new int[4];
+        int size;
+
+        void add(int ordinal) {
+            if (size > 0 && data[size - 1] == ordinal) {
+                return;
+            }
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = ordinal;
+        }
+
+        boolean contains(int ordinal) {
+            return Arrays.binarySearch(data, 0, size, ordinal) >= 0;
+        }
+
+        // renumbered[ordinal] is the new ordinal, or -1 to drop it
+        int renumber(int[] renumbered) {
+            int n = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = renumbered[data[i]];
+                if (ordinal >= 0) {
+                    data[n++] = ordinal;
+                }
+            }
+            size = n;
+            if (data.length > 16 && size < data.length / 4) {
+                data = Arrays.copyOf(data, Math.max(4, size * 2));
+            }
+            return size;
+        }
+    }
+}
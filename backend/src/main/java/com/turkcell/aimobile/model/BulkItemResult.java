@@ -0,0 +1,31 @@
+package com.turkcell.aimobile.model;
+
+import java.util.List;
+
+/**
+ * Outcome of one row of a bulk write: the created id, or an error code with details.
+ */
+public class BulkItemResult {
+    private final String id;
+    private final String code;
+    private final List<String> details;
+
+    private BulkItemResult(String id, String code, List<String> details) {
+        this.id = id;
+        this.code = code;
+        this.details = details;
+    }
+
+    public static BulkItemResult created(String id) {
+        return new BulkItemResult(id, null, List.of());
+    }
+
+    public static BulkItemResult rejected(String code, List<String> details) {
+        return new BulkItemResult(null, code, details);
+    }
+
+    public boolean isCreated() { return code == null; }
+    public String getId() { return id; }
+    public String getCode() { return code; }
+    public List<String> getDetails() { return details; }
+}
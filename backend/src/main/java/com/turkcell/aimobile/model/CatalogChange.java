@@ -0,0 +1,20 @@
+package com.turkcell.aimobile.model;
+
+/**
+ * A committed product or category write, as announced to change stream subscribers: what
+ * changed and its new version, not the data itself, which clients read as usual.
+ */
+public record CatalogChange(Kind kind, String id, Long version, boolean active) {
+
+    public enum Kind {
+        PRODUCT, CATEGORY
+    }
+
+    public static CatalogChange of(Product p) {
+        return new CatalogChange(Kind.PRODUCT, p.getId(), p.getVersion(), Boolean.TRUE.equals(p.getIsActive()));
+    }
+
+    public static CatalogChange of(Category c) {
+        return new CatalogChange(Kind.CATEGORY, c.getId(), c.getVersion(), Boolean.TRUE.equals(c.getIsActive()));
+    }
+}
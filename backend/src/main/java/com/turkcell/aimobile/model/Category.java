@@ -7,10 +7,13 @@ public class Category {
     private String name;
     private String description;
     private String parentId;
+    // materialized path: "/<root id>/.../<own id>/"
+    private String path;
     private Integer ordering;
     private Boolean isActive;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
 
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
@@ -20,6 +23,8 @@ public class Category {
     public void setDescription(String description) { this.description = description; }
     public String getParentId() { return parentId; }
     public void setParentId(String parentId) { this.parentId = parentId; }
+    public String getPath() { return path; }
+    public void setPath(String path) { this.path = path; }
     public Integer getOrdering() { return ordering; }
     public void setOrdering(Integer ordering) { this.ordering = ordering; }
     public Boolean getIsActive() { return isActive; }
@@ -28,4 +33,6 @@ public class Category {
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public Instant getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(Instant updatedAt) { this.updatedAt = updatedAt; }
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
\ No newline at end of file
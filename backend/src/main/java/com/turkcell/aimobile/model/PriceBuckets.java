@@ -0,0 +1,57 @@
+package com.turkcell.aimobile.model;
+
+import java.util.Arrays;
+
+/**
+ * Fixed price ranges for the {@link ProductFacet#PRICE_BUCKET} facet, given by ascending
+ * lower bounds: bucket i holds prices in [bounds[i], bounds[i + 1]), the last one is open
+ * ended. Prices below the first bound fall into the first bucket. Labels read
+ * {@code "100-500"} and {@code "10000+"}.
+ */
+public final class PriceBuckets {
+
+    private final double[] bounds;
+    private final String[] labels;
+
+    public PriceBuckets(double... bounds) {
+        if (bounds.length == 0) {
+            throw new IllegalArgumentException("At least one price bucket bound is required");
+        }
+        for (int i = 1; i < bounds.length; i++) {
+            if (bounds[i] <= bounds[i - 1]) {
+                throw new IllegalArgumentException("Price bucket bounds must be ascending: " + Arrays.toString(bounds));
+            }
+        }
+        this.bounds = bounds.clone();
+        this.labels = new String[bounds.length];
+        for (int i = 0; i < bounds.length; i++) {
+            labels[i] = i + 1 < bounds.length
+                    ? format(bounds[i]) + "-" + format(bounds[i + 1])
+                    : format(bounds[i]) + "+";
+        }
+    }
+
+    public int count() {
+        return bounds.length;
+    }
+
+    /** Lower bound of bucket {@code i}. */
+    public double lowerBound(int i) {
+        return bounds[i];
+    }
+
+    public String label(int i) {
+        return labels[i];
+    }
+
+    public int bucketOf(double price) {
+        int i = Arrays.binarySearch(bounds, price);
+        // an exact bound starts its bucket; otherwise the insertion point is one past it
+        int bucket = i >= 0 ? i : -i - 2;
+        return Math.max(bucket, 0);
+    }
+
+    private static String format(double bound) {
+        return bound == Math.rint(bound) ? Long.toString((long) bound) : Double.toString(bound);
+    }
+}
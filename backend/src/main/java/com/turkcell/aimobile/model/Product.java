@@ -1,6 +1,8 @@
 package com.turkcell.aimobile.model;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 
 public class Product {
     private String id;
@@ -14,6 +16,9 @@ public class Product {
     private String imageUrl;
     private Instant createdAt;
     private Instant updatedAt;
+    private Long version;
+    // position in the change feed; every write moves the product to the end
+    private Long changeSeq;
 
     public String getId() {
         return id;
@@ -102,4 +107,51 @@ public class Product {
     public void setUpdatedAt(Instant updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
+    /**
+     * A copy of every attribute, for stores and caches that keep products a caller must
+     * not be able to modify through what it was handed.
+     */
+    public static Product copyOf(Product source) {
+        Product p = new Product();
+        p.setId(source.getId());
+        p.setName(source.getName());
+        p.setSku(source.getSku());
+        p.setDescription(source.getDescription());
+        p.setPrice(source.getPrice());
+        p.setCurrency(source.getCurrency());
+        p.setIsActive(source.getIsActive());
+        p.setCategoryId(source.getCategoryId());
+        p.setImageUrl(source.getImageUrl());
+        p.setCreatedAt(source.getCreatedAt());
+        p.setUpdatedAt(source.getUpdatedAt());
+        p.setVersion(source.getVersion());
+        p.setChangeSeq(source.getChangeSeq());
+        return p;
+    }
+
+    /** {@link #copyOf(Product)} of each product, in a new modifiable list. */
+    public static List<Product> copyOf(List<Product> products) {
+        List<Product> result = new ArrayList<>(products.size());
+        for (Product p : products) {
+            result.add(copyOf(p));
+        }
+        return result;
+    }
 }
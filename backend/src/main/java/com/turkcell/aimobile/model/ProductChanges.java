@@ -0,0 +1,11 @@
+package com.turkcell.aimobile.model;
+
+import java.util.List;
+
+/**
+ * A batch of the change feed: products written after a watermark, inactive ones included,
+ * in change sequence order. {@code watermark} is where the next batch starts; with
+ * {@code hasMore} false the caller is up to date as of this read.
+ */
+public record ProductChanges(List<Product> products, long watermark, boolean hasMore) {
+}
@@ -0,0 +1,29 @@
+package com.turkcell.aimobile.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keyset position in an ordered product listing: the sort keys and id of the last
+ * item a client has seen. Keys are Instant, Double or String values, in sort order.
+ */
+public class ProductCursor {
+    private final String sortBy;
+    private final boolean asc;
+    private final List<Object> keys;
+    private final String id;
+
+    public ProductCursor(String sortBy, boolean asc, List<Object> keys, String id) {
+        this.sortBy = Objects.requireNonNull(sortBy, "sortBy");
+        this.asc = asc;
+        this.keys = Collections.unmodifiableList(new ArrayList<>(keys));
+        this.id = Objects.requireNonNull(id, "id");
+    }
+
+    public String getSortBy() { return sortBy; }
+    public boolean isAsc() { return asc; }
+    public List<Object> getKeys() { return keys; }
+    public String getId() { return id; }
+}
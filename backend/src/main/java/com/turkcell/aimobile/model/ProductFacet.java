@@ -0,0 +1,32 @@
+package com.turkcell.aimobile.model;
+
+/**
+ * Attributes a product list can report counts for. Each count is the number of active
+ * products matching the whole filter that have that value; products without a value
+ * for the attribute are left out of its counts.
+ */
+public enum ProductFacet {
+    CATEGORY_ID("categoryId"),
+    CURRENCY("currency"),
+    /** Price range from {@link PriceBuckets}. */
+    PRICE_BUCKET("priceBucket");
+
+    private final String property;
+
+    ProductFacet(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public static ProductFacet fromProperty(String property) {
+        for (ProductFacet facet : values()) {
+            if (facet.property.equals(property)) {
+                return facet;
+            }
+        }
+        throw new IllegalArgumentException("Unknown facet: " + property);
+    }
+}
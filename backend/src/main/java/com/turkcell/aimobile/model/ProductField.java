@@ -0,0 +1,46 @@
+package com.turkcell.aimobile.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Product attributes that can be requested one by one (sparse fieldsets). The property
+ * names are the JSON names, which are also the entity attribute names.
+ */
+public enum ProductField {
+    ID("id"),
+    NAME("name"),
+    SKU("sku"),
+    DESCRIPTION("description"),
+    PRICE("price"),
+    CURRENCY("currency"),
+    IS_ACTIVE("isActive"),
+    CATEGORY_ID("categoryId"),
+    IMAGE_URL("imageUrl"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    VERSION("version");
+
+    /** What the list screen renders (name, price, image), plus the id to open the detail. */
+    public static final Set<ProductField> SUMMARY = Collections.unmodifiableSet(EnumSet.of(ID, NAME, PRICE, CURRENCY, IMAGE_URL));
+
+    private final String property;
+
+    ProductField(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public static ProductField fromProperty(String property) {
+        for (ProductField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + property);
+    }
+}
@@ -0,0 +1,77 @@
+package com.turkcell.aimobile.model;
+
+import java.util.Set;
+
+/**
+ * Criteria a product list is narrowed by; every non-null criterion must hold. Products
+ * are always active ones.
+ *
+ * @param categoryIds categories a product may be in: one exact category, or a whole
+ *                    subtree (see {@link #inCategories(Set)})
+ * @param q text contained in name, sku or description (case-insensitive)
+ * @param minPrice inclusive lower bound; products without a price never match a bound
+ * @param maxPrice inclusive upper bound
+ * @param currency exact ISO currency code
+ */
+public record ProductFilter(Set<String> categoryIds, String q, Double minPrice, Double maxPrice, String currency) {
+
+    public ProductFilter {
+        categoryIds = categoryIds == null || categoryIds.isEmpty() ? null : Set.copyOf(categoryIds);
+        q = blankToNull(q);
+        currency = blankToNull(currency);
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+    }
+
+    public static ProductFilter of(String categoryId, String q) {
+        return of(categoryId, q, null, null, null);
+    }
+
+    public static ProductFilter of(String categoryId, String q, Double minPrice, Double maxPrice, String currency) {
+        String category = blankToNull(categoryId);
+        return new ProductFilter(category == null ? null : Set.of(category), q, minPrice, maxPrice, currency);
+    }
+
+    /**
+     * The single category filtered on, null for none.
+     * @throws IllegalStateException when the filter spans several categories
+     */
+    public String categoryId() {
+        if (categoryIds == null) {
+            return null;
+        }
+        if (categoryIds.size() > 1) {
+            throw new IllegalStateException("Filter spans " + categoryIds.size() + " categories");
+        }
+        return categoryIds.iterator().next();
+    }
+
+    public ProductFilter inCategories(Set<String> ids) {
+        return new ProductFilter(ids, q, minPrice, maxPrice, currency);
+    }
+
+    /**
+     * Whether the filter goes beyond one exact category and a query: several categories,
+     * a price bound or a currency.
+     */
+    public boolean hasExtendedCriteria() {
+        return (categoryIds != null && categoryIds.size() > 1)
+                || minPrice != null || maxPrice != null || currency != null;
+    }
+
+    public boolean acceptsCategory(String categoryId) {
+        return categoryIds == null || (categoryId != null && categoryIds.contains(categoryId));
+    }
+
+    public boolean acceptsPrice(Double price) {
+        if (minPrice == null && maxPrice == null) {
+            return true;
+        }
+        return price != null && (minPrice == null || price >= minPrice) && (maxPrice == null || price <= maxPrice);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
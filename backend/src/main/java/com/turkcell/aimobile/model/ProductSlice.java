@@ -0,0 +1,36 @@
+package com.turkcell.aimobile.model;
+
+import java.util.List;
+
+/**
+ * One page of products without a total count. Keyset pages carry the cursor of the
+ * next page in {@code next}; offset pages only report whether more items exist.
+ */
+public class ProductSlice {
+    private final List<Product> items;
+    private final boolean hasNext;
+    private final ProductCursor next;
+
+    public ProductSlice(List<Product> items, ProductCursor next) {
+        this(items, next != null, next);
+    }
+
+    public ProductSlice(List<Product> items, boolean hasNext) {
+        this(items, hasNext, null);
+    }
+
+    private ProductSlice(List<Product> items, boolean hasNext, ProductCursor next) {
+        this.items = items;
+        this.hasNext = hasNext;
+        this.next = next;
+    }
+
+    /** The same page holding copies of its products. */
+    public static ProductSlice copyOf(ProductSlice slice) {
+        return new ProductSlice(Product.copyOf(slice.items), slice.hasNext, slice.next);
+    }
+
+    public List<Product> getItems() { return items; }
+    public ProductCursor getNext() { return next; }
+    public boolean hasNext() { return hasNext; }
+}
@@ -0,0 +1,84 @@
+package com.turkcell.aimobile.model;
+
+/**
+ * Fields a product list may be sorted on. Each is backed by a composite index on
+ * (is_active, field), created by the schema migrations, so a sorted page of active
+ * products is read in index order; {@link #categoryIndex()} names the index on
+ * (is_active, category_id, field) for the same sort within one category. Anything else
+ * is rejected.
+ */
+public enum ProductSortField {
+    CREATED_AT("createdAt", "idx_products_active_created", "idx_products_active_category_created"),
+    UPDATED_AT("updatedAt", "idx_products_active_updated", "idx_products_active_category_updated"),
+    PRICE("price", "idx_products_active_price", "idx_products_active_category_price"),
+    NAME("name", "idx_products_active_name", "idx_products_active_category_name");
+
+    /** Search ranking; outside a search it falls back to {@link #CREATED_AT}. */
+    public static final String RELEVANCE = "relevance";
+
+    private final String property;
+    private final String index;
+    private final String categoryIndex;
+
+    ProductSortField(String property, String index, String categoryIndex) {
+        this.property = property;
+        this.index = index;
+        this.categoryIndex = categoryIndex;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    public String index() {
+        return index;
+    }
+
+    public String categoryIndex() {
+        return categoryIndex;
+    }
+
+    public static ProductSortField fromProperty(String property) {
+        for (ProductSortField field : values()) {
+            if (field.property.equals(property)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + property);
+    }
+
+    /**
+     * Read a {@code sort} request parameter: {@code field}, {@code field,dir} or
+     * {@code field:dir}. A bare field sorts descending and any direction other than
+     * {@code desc} sorts ascending. Without a sort a search ranks by {@link #RELEVANCE},
+     * anything else lists the latest first. The field itself is checked by {@link #require}.
+     */
+    public static Requested parse(String sort, String q) {
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.contains(",") ? sort.split(",") : sort.split(":");
+            boolean asc = parts.length > 1 && !"desc".equalsIgnoreCase(parts[1].trim());
+            return new Requested(parts[0].trim(), asc);
+        }
+        return new Requested(q != null && !q.isBlank() ? RELEVANCE : CREATED_AT.property, false);
+    }
+
+    /**
+     * A sort as requested by a client.
+     *
+     * @param sortBy {@link #RELEVANCE} or a field property, not yet validated
+     * @param asc whether the order is ascending
+     */
+    public record Requested(String sortBy, boolean asc) {
+    }
+
+    /**
+     * Accept a requested sort ({@link #RELEVANCE} or a field property) or reject it.
+     * @throws IllegalArgumentException for anything else
+     */
+    public static String require(String sortBy) {
+        if (sortBy != null && !RELEVANCE.equals(sortBy)) {
+            fromProperty(sortBy);
+        }
+        return sortBy;
+    }
+}
@@ -0,0 +1,72 @@
+package com.turkcell.aimobile.web.admission;
+
+/**
+ * Concurrency limit of one endpoint class, adjusted from observed latency like a gradient
+ * limiter: while recent latency stays within {@link #TOLERANCE} of its long-run average
+ * the limit grows by a small allowance, and the further latency rises above it, the more
+ * the limit shrinks. Requests over the limit are rejected by the caller, never queued.
+ * A request that failed for lack of resources cuts the limit outright.
+ */
+final class AdaptiveLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF = 0.9;
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    // guarded by this
+    private double limit;
+    private int inFlight;
+    private double shortRtt;
+    private double longRtt;
+
+    AdaptiveLimit(int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, maxLimit / 2.0);
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * @param rttNanos    time the request took
+     * @param overloaded  the request failed because a resource was exhausted
+     */
+    synchronized void release(long rttNanos, boolean overloaded) {
+        int used = inFlight--;
+        if (overloaded) {
+            limit = Math.max(minLimit, limit * BACKOFF);
+            return;
+        }
+        shortRtt = shortRtt == 0 ? rttNanos : shortRtt + (rttNanos - shortRtt) / SHORT_WINDOW;
+        longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) / LONG_WINDOW;
+        if (longRtt > 2 * shortRtt) {
+            // latency dropped well below the average: follow it down rather than wait out the window
+            longRtt *= 0.95;
+        }
+        if (used < limit / 2) {
+            // far from the limit, latency says nothing about it
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / shortRtt));
+        double next = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - SMOOTHING) + next * SMOOTHING));
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized int inFlight() {
+        return inFlight;
+    }
+}
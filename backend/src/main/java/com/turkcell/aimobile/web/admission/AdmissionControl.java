@@ -0,0 +1,71 @@
+package com.turkcell.aimobile.web.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether a request may start: its class must be under its own adaptive limit,
+ * and everything in flight under the class's share of the overall capacity. Limits,
+ * requests in flight and rejections are published per class as {@code app.admission.*}.
+ */
+public class AdmissionControl {
+
+    /** A granted admission; release it exactly once, when the request is done. */
+    public interface Permit {
+        void release(long rttNanos, boolean overloaded);
+    }
+
+    private final Map<EndpointClass, AdaptiveLimit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejections = new EnumMap<>(EndpointClass.class);
+    private final int capacity;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param maxLimits upper bound of each class's limit, which starts at half of it
+     * @param capacity  requests in flight over all classes
+     */
+    public AdmissionControl(Map<EndpointClass, Integer> maxLimits, int capacity, MeterRegistry registry) {
+        this.capacity = capacity;
+        for (EndpointClass c : EndpointClass.values()) {
+            AdaptiveLimit limit = new AdaptiveLimit(1, maxLimits.get(c));
+            String tag = c.name().toLowerCase();
+            limits.put(c, limit);
+            rejections.put(c, Counter.builder("app.admission.rejected").tag("class", tag)
+                    .description("Requests turned away with 503").register(registry));
+            Gauge.builder("app.admission.limit", limit, AdaptiveLimit::limit).tag("class", tag)
+                    .description("Current concurrency limit").register(registry);
+            Gauge.builder("app.admission.in-flight", limit, AdaptiveLimit::inFlight).tag("class", tag)
+                    .description("Admitted requests not yet completed").register(registry);
+        }
+    }
+
+    /**
+     * @return a permit, or null when the request should be rejected
+     */
+    public Permit tryAcquire(EndpointClass c) {
+        int ceiling = (int) (capacity * c.share());
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= ceiling) {
+                rejections.get(c).increment();
+                return null;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        AdaptiveLimit limit = limits.get(c);
+        if (!limit.tryAcquire()) {
+            inFlight.decrementAndGet();
+            rejections.get(c).increment();
+            return null;
+        }
+        return (rttNanos, overloaded) -> {
+            limit.release(rttNanos, overloaded);
+            inFlight.decrementAndGet();
+        };
+    }
+}
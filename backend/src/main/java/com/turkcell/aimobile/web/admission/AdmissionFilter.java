@@ -0,0 +1,103 @@
+package com.turkcell.aimobile.web.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkcell.aimobile.dto.ErrorResponse;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Admits API requests through {@link AdmissionControl} before they reach a thread pool or
+ * the connection pool: a request over the limit gets an immediate {@code 503} with
+ * {@code Retry-After} instead of waiting until it times out. The time an admitted request
+ * takes, up to the end of an async response, feeds its class's limit.
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private final AdmissionControl admission;
+    private final ObjectMapper objectMapper;
+    private final String retryAfterSeconds;
+
+    public AdmissionFilter(AdmissionControl admission, ObjectMapper objectMapper, long retryAfterSeconds) {
+        this.admission = admission;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = Long.toString(retryAfterSeconds);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+        if (endpointClass == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        AdmissionControl.Permit permit = admission.tryAcquire(endpointClass);
+        if (permit == null) {
+            reject(response, endpointClass);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(permit, start, response));
+            } else {
+                permit.release(System.nanoTime() - start, overloaded(response));
+            }
+        }
+    }
+
+    private static boolean overloaded(HttpServletResponse response) {
+        return response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private void reject(HttpServletResponse response, EndpointClass endpointClass) throws IOException {
+        ErrorResponse error = new ErrorResponse();
+        error.setCode("SERVICE_UNAVAILABLE");
+        error.setMessage("Server is busy; retry later.");
+        error.setDetails(List.of(endpointClass.name()));
+        error.setCorrelationId(UUID.randomUUID().toString());
+        error.setTimestamp(Instant.now());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private record ReleaseOnCompletion(AdmissionControl.Permit permit, long start, HttpServletResponse response)
+            implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release(System.nanoTime() - start, overloaded(response));
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
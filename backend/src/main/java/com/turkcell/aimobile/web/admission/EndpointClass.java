@@ -0,0 +1,62 @@
+package com.turkcell.aimobile.web.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Classes of API requests that are admitted against separate concurrency limits. Each
+ * may only use its {@link #share()} of the overall capacity, so when the server fills up
+ * expensive reads are turned away first and writes keep the last of it.
+ */
+public enum EndpointClass {
+    WRITE(1.0),
+    DETAIL(0.9),
+    LIST(0.75),
+    SEARCH(0.5);
+
+    private static final String API = "/api/";
+
+    private final double share;
+
+    EndpointClass(double share) {
+        this.share = share;
+    }
+
+    public double share() {
+        return share;
+    }
+
+    /**
+     * @return the class of an API request, or null for requests outside admission control:
+     * anything but the API, and the long-lived event stream and export
+     */
+    public static EndpointClass of(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(API)) {
+            return null;
+        }
+        // segments after /api/<version>/: the collection, then an id or a sub-resource
+        String[] segments = path.substring(API.length()).split("/");
+        if (segments.length < 2 || path.endsWith("/events") || path.endsWith("/export")) {
+            return null;
+        }
+        String method = request.getMethod();
+        if (path.endsWith(":batchGet")) {
+            return DETAIL;
+        }
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return WRITE;
+        }
+        if (segments.length > 2 && !"changes".equals(segments[2])) {
+            return DETAIL;
+        }
+        if (hasValue(request, "q") || hasValue(request, "facets")) {
+            return SEARCH;
+        }
+        return hasValue(request, "ids") ? DETAIL : LIST;
+    }
+
+    private static boolean hasValue(HttpServletRequest request, String parameter) {
+        String value = request.getParameter(parameter);
+        return value != null && !value.isBlank();
+    }
+}
@@ -7,18 +7,23 @@ import com.turkcell.aimobile.dto.category.CategoryResponse;
 import com.turkcell.aimobile.dto.category.UpdateCategoryRequest;
 import com.turkcell.aimobile.model.Category;
 import com.turkcell.aimobile.web.mapper.CategoryWebMapper;
+import com.turkcell.aimobile.web.mapper.EntityTagCodec;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/v1/categories")
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class CategoriesController {
 
     private final CategoryApplicationService service;
     private final CategoryWebMapper mapper = new CategoryWebMapper();
+    private final EntityTagCodec entityTags = new EntityTagCodec();
 
     public CategoriesController(CategoryApplicationService service) {
         this.service = service;
@@ -27,29 +32,57 @@ public class CategoriesController {
     @GetMapping
     public ResponseEntity<PagedCategoryResponse> list(
             @RequestParam(defaultValue = "0") Integer page,
-            @RequestParam(defaultValue = "20") Integer size) {
+            @RequestParam(defaultValue = "20") Integer size,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = entityTags.formatRevision(service.catalogVersion());
+        if (entityTags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         var items = service.list(page, size);
         long total = service.count();
-        return ResponseEntity.ok(mapper.toPagedResponse(items, page, size, total));
+        return ResponseEntity.ok().eTag(etag).body(mapper.toPagedResponse(items, page, size, total));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponse> getById(@PathVariable String id) {
+    public ResponseEntity<CategoryResponse> getById(
+            @PathVariable String id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         Category category = service.getById(id);
-        return ResponseEntity.ok(mapper.toResponse(category));
+        String etag = entityTags.format(category.getVersion());
+        if (entityTags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(mapper.toResponse(category));
+    }
+
+    // Ancestors from the root down to the category itself, for breadcrumb navigation.
+    @GetMapping("/{id}/breadcrumb")
+    public ResponseEntity<List<CategoryResponse>> breadcrumb(
+            @PathVariable String id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        String etag = entityTags.formatRevision(service.catalogVersion());
+        if (entityTags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        List<CategoryResponse> trail = service.breadcrumb(id).stream().map(mapper::toResponse).toList();
+        return ResponseEntity.ok().eTag(etag).body(trail);
     }
 
     @PostMapping
     public ResponseEntity<CategoryResponse> create(@Valid @RequestBody CreateCategoryRequest request) {
         Category created = service.create(mapper.toDomain(request));
-        return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toResponse(created));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(entityTags.format(created.getVersion()))
+                .body(mapper.toResponse(created));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<CategoryResponse> update(
             @PathVariable String id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @Valid @RequestBody UpdateCategoryRequest request) {
-        Category updated = service.update(id, mapper.toDomain(request));
-        return ResponseEntity.ok(mapper.toResponse(updated));
+        Long expectedVersion = entityTags.parseIfMatch(ifMatch, "CATEGORY_VERSION_MISMATCH");
+        Category updated = service.update(id, mapper.toDomain(request), expectedVersion);
+        return ResponseEntity.ok().eTag(entityTags.format(updated.getVersion())).body(mapper.toResponse(updated));
     }
 }
\ No newline at end of file
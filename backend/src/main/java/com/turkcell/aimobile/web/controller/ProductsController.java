@@ -5,20 +5,25 @@ import com.turkcell.aimobile.dto.CreateProductRequest;
 import com.turkcell.aimobile.dto.PagedProductResponse;
 import com.turkcell.aimobile.dto.ProductResponse;
 import com.turkcell.aimobile.dto.UpdateProductRequest;
+import com.turkcell.aimobile.domain.service.ProductDomainService;
 import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductSortField;
+import com.turkcell.aimobile.web.mapper.EntityTagCodec;
 import com.turkcell.aimobile.web.mapper.ProductWebMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
-@CrossOrigin(origins = "*")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 @RequestMapping("/api/v1/products")
 public class ProductsController {
 
     private final ProductApplicationService productService;
     private final ProductWebMapper mapper = new ProductWebMapper();
+    private final EntityTagCodec entityTags = new EntityTagCodec();
 
     public ProductsController(ProductApplicationService productService) {
         this.productService = productService;
@@ -29,40 +34,54 @@ public class ProductsController {
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "20") Integer size,
             @RequestParam(required = false) String q,
-            @RequestParam(required = false) String sort) {
-        String sortBy = null;
-        boolean asc = false; // default to DESC when sort is absent
-        if (sort != null && !sort.isBlank()) {
-            String[] parts = sort.contains(",") ? sort.split(",") : sort.split(":");
-            sortBy = parts[0].trim();
-            if (parts.length > 1) {
-                asc = !"desc".equalsIgnoreCase(parts[1].trim());
-            }
-        } else {
-            sortBy = "createdAt"; // default field per BA: latest first
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Boolean includeTotal,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        // tag before reading: a write landing in between leaves the tag behind the data, never ahead
+        String etag = entityTags.formatRevision(productService.catalogVersion());
+        if (entityTags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        ProductSortField.Requested requested = ProductSortField.parse(sort, q);
+        String sortBy = requested.sortBy();
+        boolean asc = requested.asc();
+        // exact search totals are a count over every match, so searches only get them on request
+        boolean withTotal = includeTotal != null ? includeTotal : q == null || q.isBlank();
+        if (!withTotal) {
+            return ResponseEntity.ok().eTag(etag).body(mapper.toSlicedResponse(productService.listSlice(page, size, q, sortBy, asc), page, size));
         }
         var items = productService.list(page, size, q, sortBy, asc);
-        long total = productService.count();
-        return ResponseEntity.ok(mapper.toPagedResponse(items, page, size, total));
+        long total = productService.count(q);
+        return ResponseEntity.ok().eTag(etag).body(mapper.toPagedResponse(items, page, size, total));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable String id) {
+    public ResponseEntity<ProductResponse> getProductById(
+            @PathVariable String id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         Product product = productService.getById(id);
-        return ResponseEntity.ok(mapper.toResponse(product));
+        String etag = entityTags.format(product.getVersion());
+        if (entityTags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(mapper.toResponse(product));
     }
 
     @PostMapping
     public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody CreateProductRequest request) {
         Product created = productService.create(mapper.toDomain(request));
-        return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toResponse(created));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(entityTags.format(created.getVersion()))
+                .body(mapper.toResponse(created));
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable String id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @Valid @RequestBody UpdateProductRequest request) {
-        Product updated = productService.update(id, mapper.toDomain(request));
-        return ResponseEntity.ok(mapper.toResponse(updated));
+        Long expectedVersion = entityTags.parseIfMatch(ifMatch, ProductDomainService.VERSION_MISMATCH);
+        Product updated = productService.update(id, mapper.toDomain(request), expectedVersion);
+        return ResponseEntity.ok().eTag(entityTags.format(updated.getVersion())).body(mapper.toResponse(updated));
     }
 }
@@ -0,0 +1,37 @@
+package com.turkcell.aimobile.web.controller.v2;
+
+import com.turkcell.aimobile.infrastructure.events.CatalogEventStream;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Push stream of product and category writes, so open screens refresh on change instead
+ * of polling the lists.
+ */
+@RestController
+@RequestMapping("/api/v2/catalog")
+@CrossOrigin(origins = "*")
+public class CatalogEventsV2Controller {
+
+    private final CatalogEventStream events;
+
+    public CatalogEventsV2Controller(CatalogEventStream events) {
+        this.events = events;
+    }
+
+    /**
+     * @param lastEventId sent by EventSource on reconnect; the query form serves clients
+     *                    that resume a stored position on their first connect
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                             @RequestParam(value = "lastEventId", required = false) String resumeFrom) {
+        return events.subscribe(lastEventId != null ? lastEventId : resumeFrom);
+    }
+}
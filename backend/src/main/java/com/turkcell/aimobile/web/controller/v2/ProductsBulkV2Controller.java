@@ -0,0 +1,194 @@
+package com.turkcell.aimobile.web.controller.v2;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkcell.aimobile.application.ProductApplicationService;
+import com.turkcell.aimobile.dto.v2.CreateProductV2Request;
+import com.turkcell.aimobile.exception.ConflictException;
+import com.turkcell.aimobile.model.BulkItemResult;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.web.mapper.ProductV2WebMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk product import. The body (NDJSON or a JSON array of CreateProductV2Request) is
+ * read as a stream and handled in fixed-size chunks; the per-row report is streamed
+ * back as it is produced, so memory does not depend on the file size. Once the report has
+ * started the status is already sent, so an import that fails part-way still ends the
+ * JSON object, with {@code error} and {@code stoppedAtRow} members saying where it stopped.
+ */
+@RestController
+@RequestMapping("/api/v2")
+@CrossOrigin(origins = "*")
+public class ProductsBulkV2Controller {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductsBulkV2Controller.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ProductApplicationService productService;
+    private final ProductV2WebMapper mapper = new ProductV2WebMapper();
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public ProductsBulkV2Controller(ProductApplicationService productService,
+                                    ObjectMapper objectMapper,
+                                    Validator validator,
+                                    @Value("${app.bulk.chunk-size:500}") int chunkSize) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    @PostMapping(value = "/products:bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, NDJSON})
+    public void importProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (MappingIterator<CreateProductV2Request> rows = objectMapper.readerFor(CreateProductV2Request.class)
+                     .readValues(request.getInputStream());
+             JsonGenerator out = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            out.writeStartObject();
+            out.writeArrayFieldStart("results");
+            Report report = new Report(out);
+            List<Product> chunk = new ArrayList<>(chunkSize);
+            List<Integer> chunkRows = new ArrayList<>(chunkSize);
+            int row = 0;
+            String abort = null;
+            int stoppedAt = -1;
+            try {
+                while (abort == null) {
+                    CreateProductV2Request item;
+                    try {
+                        if (!rows.hasNextValue()) {
+                            break;
+                        }
+                        item = rows.nextValue();
+                    } catch (JsonMappingException ex) {
+                        report.rejected(row++, BulkItemResult.rejected("VALIDATION_ERROR", List.of(ex.getOriginalMessage())));
+                        continue;
+                    } catch (JsonProcessingException ex) {
+                        // malformed JSON: the stream cannot be resynchronised
+                        abort = "Malformed input at row " + row;
+                        stoppedAt = row;
+                        break;
+                    }
+                    Set<ConstraintViolation<CreateProductV2Request>> violations = validator.validate(item);
+                    if (!violations.isEmpty()) {
+                        List<String> details = violations.stream()
+                                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                                .sorted()
+                                .toList();
+                        report.rejected(row++, BulkItemResult.rejected("VALIDATION_ERROR", details));
+                        continue;
+                    }
+                    chunk.add(mapper.toDomain(item));
+                    chunkRows.add(row++);
+                    if (chunk.size() == chunkSize) {
+                        report.chunk(chunkRows, productService.createAll(chunk));
+                        chunk.clear();
+                        chunkRows.clear();
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    report.chunk(chunkRows, productService.createAll(chunk));
+                    chunk.clear();
+                    chunkRows.clear();
+                }
+            } catch (RuntimeException ex) {
+                // 200 and the rows so far are already sent: end the report with the failure instead.
+                // A chunk is stored all or nothing, so the unreported rows were not imported.
+                stoppedAt = chunkRows.isEmpty() ? row : chunkRows.get(0);
+                abort = "Import failed at row " + stoppedAt + ": " + failureCode(ex);
+                LOGGER.warn("Bulk import stopped at row {}", stoppedAt, ex);
+            }
+            out.writeEndArray();
+            out.writeNumberField("received", row);
+            out.writeNumberField("created", report.created);
+            out.writeNumberField("rejected", report.rejected);
+            if (abort != null) {
+                out.writeStringField("error", abort);
+                out.writeNumberField("stoppedAtRow", stoppedAt);
+            }
+            out.writeEndObject();
+        }
+    }
+
+    // the codes GlobalExceptionHandler answers these failures with outside a stream
+    private static String failureCode(RuntimeException ex) {
+        if (ex instanceof ConflictException) {
+            return ex.getMessage();
+        }
+        if (ex instanceof CannotCreateTransactionException || ex instanceof DataAccessResourceFailureException
+                || ex instanceof TransientDataAccessResourceException || ex instanceof QueryTimeoutException) {
+            return "SERVICE_UNAVAILABLE";
+        }
+        return "INTERNAL_ERROR";
+    }
+
+    // Writes result entries as they come; rows are reported in input order within a chunk.
+    private static final class Report {
+        private final JsonGenerator out;
+        long created;
+        long rejected;
+
+        Report(JsonGenerator out) {
+            this.out = out;
+        }
+
+        void chunk(List<Integer> rows, List<BulkItemResult> results) throws IOException {
+            for (int i = 0; i < results.size(); i++) {
+                write(rows.get(i), results.get(i));
+            }
+            out.flush();
+        }
+
+        void rejected(int row, BulkItemResult result) throws IOException {
+            write(row, result);
+        }
+
+        private void write(int row, BulkItemResult result) throws IOException {
+            out.writeStartObject();
+            out.writeNumberField("row", row);
+            if (result.isCreated()) {
+                created++;
+                out.writeStringField("status", "CREATED");
+                out.writeStringField("id", result.getId());
+            } else {
+                rejected++;
+                out.writeStringField("status", "REJECTED");
+                out.writeStringField("code", result.getCode());
+                out.writeArrayFieldStart("details");
+                for (String d : result.getDetails()) {
+                    out.writeString(d);
+                }
+                out.writeEndArray();
+            }
+            out.writeEndObject();
+        }
+    }
+}
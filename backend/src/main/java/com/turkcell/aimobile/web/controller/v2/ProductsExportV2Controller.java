@@ -0,0 +1,143 @@
+package com.turkcell.aimobile.web.controller.v2;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkcell.aimobile.application.ProductApplicationService;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.web.mapper.ProductV2WebMapper;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Full catalog export. Active products are written straight from a database cursor,
+ * one row at a time, so neither side has to page through the list or hold it in memory.
+ */
+@RestController
+@RequestMapping("/api/v2/products")
+@CrossOrigin(origins = "*")
+public class ProductsExportV2Controller {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final String CSV_HEADER =
+            "id,name,sku,description,price,currency,categoryId,imageUrl,createdAt,updatedAt";
+
+    private final ProductApplicationService productService;
+    private final ProductV2WebMapper mapper = new ProductV2WebMapper();
+    private final ObjectMapper objectMapper;
+
+    public ProductsExportV2Controller(ProductApplicationService productService, ObjectMapper objectMapper) {
+        this.productService = productService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(required = false) String categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv;
+        if ("csv".equalsIgnoreCase(format)) {
+            csv = true;
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            csv = false;
+        } else {
+            throw new IllegalArgumentException("format must be ndjson or csv");
+        }
+        StreamingResponseBody body = csv
+                ? out -> writeCsv(out, categoryId, updatedSince)
+                : out -> writeNdjson(out, categoryId, updatedSince);
+        return ResponseEntity.ok()
+                .contentType(csv ? CSV : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"products." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+
+    private void writeNdjson(OutputStream out, String categoryId, Instant updatedSince) throws IOException {
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+            gen.setRootValueSeparator(null); // rows are newline-delimited below
+            forEach(categoryId, updatedSince, p -> {
+                gen.writeObject(mapper.toResponse(p));
+                gen.writeRaw('\n');
+            });
+        }
+    }
+
+    private void writeCsv(OutputStream out, String categoryId, Instant updatedSince) throws IOException {
+        try (Writer w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            w.write(CSV_HEADER);
+            w.write("\r\n");
+            forEach(categoryId, updatedSince, p -> {
+                w.write(csvField(p.getId()));
+                w.write(',');
+                w.write(csvField(p.getName()));
+                w.write(',');
+                w.write(csvField(p.getSku()));
+                w.write(',');
+                w.write(csvField(p.getDescription()));
+                w.write(',');
+                w.write(p.getPrice() == null ? "" : p.getPrice().toString());
+                w.write(',');
+                w.write(csvField(p.getCurrency()));
+                w.write(',');
+                w.write(csvField(p.getCategoryId()));
+                w.write(',');
+                w.write(csvField(p.getImageUrl()));
+                w.write(',');
+                w.write(p.getCreatedAt() == null ? "" : p.getCreatedAt().toString());
+                w.write(',');
+                w.write(p.getUpdatedAt() == null ? "" : p.getUpdatedAt().toString());
+                w.write("\r\n");
+            });
+        }
+    }
+
+    private void forEach(String categoryId, Instant updatedSince, RowWriter writer) throws IOException {
+        try {
+            productService.export(categoryId, updatedSince, p -> {
+                try {
+                    writer.write(p);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            // client went away; unwinding closes the database cursor
+            throw ex.getCause();
+        }
+    }
+
+    // RFC 4180: quote when the value has a separator, quote or line break
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Product product) throws IOException;
+    }
+}
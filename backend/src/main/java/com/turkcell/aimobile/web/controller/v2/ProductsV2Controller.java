@@ -3,67 +3,201 @@ package com.turkcell.aimobile.web.controller.v2;
 import com.turkcell.aimobile.application.ProductApplicationService;
 import com.turkcell.aimobile.dto.v2.CreateProductV2Request;
 import com.turkcell.aimobile.dto.v2.PagedProductV2Response;
+import com.turkcell.aimobile.dto.v2.ProductIdsV2Request;
+import com.turkcell.aimobile.dto.v2.ProductChangesV2Response;
 import com.turkcell.aimobile.dto.v2.ProductV2Response;
 import com.turkcell.aimobile.dto.v2.UpdateProductV2Request;
+import com.turkcell.aimobile.domain.service.ProductDomainService;
 import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductCursor;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.model.ProductFilter;
+import com.turkcell.aimobile.model.ProductSlice;
+import com.turkcell.aimobile.model.ProductSortField;
+import com.turkcell.aimobile.web.mapper.EntityTagCodec;
+import com.turkcell.aimobile.web.mapper.ProductCursorCodec;
 import com.turkcell.aimobile.web.mapper.ProductV2WebMapper;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Set;
+
 @RestController
-@RequestMapping("/api/v2/products")
-@CrossOrigin(origins = "*")
+@RequestMapping("/api/v2")
+@CrossOrigin(origins = "*", exposedHeaders = HttpHeaders.ETAG)
 public class ProductsV2Controller {
 
     private final ProductApplicationService productService;
     private final ProductV2WebMapper mapper = new ProductV2WebMapper();
+    private final EntityTagCodec entityTags = new EntityTagCodec();
+    private final ProductCursorCodec cursorCodec = new ProductCursorCodec();
 
     public ProductsV2Controller(ProductApplicationService productService) {
         this.productService = productService;
     }
 
-    @GetMapping
-    public ResponseEntity<PagedProductV2Response> listProducts(
+    @GetMapping("/products")
+    public ResponseEntity<PagedProductV2Response<?>> listProducts(
             @RequestParam(defaultValue = "0") Integer page,
             @RequestParam(defaultValue = "20") Integer size,
             @RequestParam(required = false) String q,
             @RequestParam(required = false) String categoryId,
-            @RequestParam(required = false) String sort) {
-        String sortBy = null;
-        boolean asc = false; // default to DESC when sort is absent
-        if (sort != null && !sort.isBlank()) {
-            String[] parts = sort.contains(",") ? sort.split(",") : sort.split(":");
-            sortBy = parts[0].trim();
-            if (parts.length > 1) {
-                asc = !"desc".equalsIgnoreCase(parts[1].trim());
+            @RequestParam(defaultValue = "false") boolean includeDescendants,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String facets,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Boolean includeTotal,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestParam(required = false) List<String> ids,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        Set<ProductField> fieldSet = mapper.toFieldSet(fields, view);
+        Set<ProductFacet> facetSet = mapper.toFacetSet(facets);
+        ProductFilter filter = ProductFilter.of(categoryId, q, minPrice, maxPrice, currency);
+        // tag before reading: a write landing in between leaves the tag behind the data, never ahead
+        String etag = entityTags.formatRevision(productService.catalogVersion());
+        if (entityTags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (includeDescendants && cursor != null) {
+            throw new IllegalArgumentException("includeDescendants is not supported with cursor");
+        }
+        if (includeDescendants) {
+            filter = productService.withDescendants(filter);
+        }
+        List<String> lookupIds = mapper.toIdList(ids);
+        if (lookupIds != null) {
+            // multi-get: paging and filters do not apply
+            return lookup(lookupIds, fieldSet, etag);
+        }
+        PagedProductV2Response<?> body;
+        if (cursor != null) {
+            if (filter.hasExtendedCriteria()) {
+                throw new IllegalArgumentException("minPrice, maxPrice and currency are not supported with cursor");
+            }
+            body = listAfter(cursor, size, q, categoryId, sort, fieldSet);
+        } else {
+            // exact search totals are a count over every match, so searches only get them on request
+            boolean withTotal = includeTotal != null ? includeTotal : filter.q() == null;
+            body = listPage(page, size, filter, sort, withTotal, fieldSet);
+        }
+        if (!facetSet.isEmpty()) {
+            body.setFacets(mapper.toFacets(productService.facets(filter, facetSet)));
+        }
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+
+    /**
+     * Multi-get for id lists too long for the query string of {@code GET /products?ids=};
+     * answers like the GET form, revision tag and {@code If-None-Match} included.
+     */
+    @PostMapping(value = "/products:batchGet", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PagedProductV2Response<?>> batchGet(
+            @Valid @RequestBody ProductIdsV2Request request,
+            @RequestParam(required = false) String fields,
+            @RequestParam(required = false) String view,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        Set<ProductField> fieldSet = mapper.toFieldSet(fields, view);
+        String etag = entityTags.formatRevision(productService.catalogVersion());
+        if (entityTags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return lookup(mapper.toIdList(request.getIds()), fieldSet, etag);
+    }
+
+    private ResponseEntity<PagedProductV2Response<?>> lookup(List<String> ids, Set<ProductField> fieldSet, String etag) {
+        return ResponseEntity.ok().eTag(etag).body(mapper.toLookupResponse(ids, productService.getByIds(ids), fieldSet));
+    }
+
+    private PagedProductV2Response<?> listPage(Integer page, Integer size, ProductFilter filter, String sort,
+                                               boolean includeTotal, Set<ProductField> fieldSet) {
+        String q = filter.q();
+        ProductSortField.Requested requested = ProductSortField.parse(sort, q);
+        String sortBy = requested.sortBy();
+        boolean asc = requested.asc();
+        if (filter.hasExtendedCriteria()) {
+            ProductSlice slice = productService.listV2Slice(page, size, filter, sortBy, asc, fieldSet);
+            if (!includeTotal) {
+                return mapper.toSlicedResponse(slice, page, size, null, fieldSet);
             }
+            return mapper.toPagedResponse(slice.getItems(), page, size, productService.countV2(filter), fieldSet);
+        }
+        String categoryId = filter.categoryId();
+        if (!includeTotal) {
+            ProductSlice slice = productService.listV2Slice(page, size, q, categoryId, sortBy, asc, fieldSet);
+            return mapper.toSlicedResponse(slice, page, size, null, fieldSet);
+        }
+        var items = productService.listV2(page, size, q, categoryId, sortBy, asc, fieldSet);
+        long total = productService.countV2(q, categoryId);
+        return mapper.toPagedResponse(items, page, size, total, fieldSet);
+    }
+
+    // Keyset mode: an empty cursor starts at the top, the sort is taken from the cursor afterwards.
+    private PagedProductV2Response<?> listAfter(String token, Integer size, String q, String categoryId, String sort,
+                                                Set<ProductField> fields) {
+        ProductCursor after = null;
+        String sortBy;
+        boolean asc;
+        if (token.isBlank()) {
+            ProductSortField.Requested requested = ProductSortField.parse(sort, q);
+            sortBy = requested.sortBy();
+            asc = requested.asc();
         } else {
-            sortBy = "createdAt"; // default field per BA: latest first
+            after = cursorCodec.decode(token, q, categoryId);
+            sortBy = after.getSortBy();
+            asc = after.isAsc();
         }
-        var items = productService.listV2(page, size, q, categoryId, sortBy, asc);
-        long total = productService.countV2(categoryId);
-        return ResponseEntity.ok(mapper.toPagedResponse(items, page, size, total));
+        ProductSlice slice = productService.listV2After(after, size, q, categoryId, sortBy, asc, fields);
+        String next = slice.hasNext() ? cursorCodec.encode(slice.getNext(), q, categoryId) : null;
+        return mapper.toSlicedResponse(slice, null, size, next, fields);
+    }
+
+    /**
+     * Delta sync: what changed after {@code since}, with deactivated products as tombstones.
+     */
+    @GetMapping("/products/changes")
+    public ResponseEntity<ProductChangesV2Response> listChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(mapper.toChangesResponse(productService.changesSince(since, limit)));
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<ProductV2Response> getProductById(@PathVariable String id) {
+    @GetMapping("/products/{id}")
+    public ResponseEntity<ProductV2Response> getProductById(
+            @PathVariable String id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
         Product product = productService.getById(id);
-        return ResponseEntity.ok(mapper.toResponse(product));
+        String etag = entityTags.format(product.getVersion());
+        if (entityTags.notModified(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(mapper.toResponse(product));
     }
 
-    @PostMapping
+    @PostMapping("/products")
     public ResponseEntity<ProductV2Response> createProduct(@Valid @RequestBody CreateProductV2Request request) {
         Product created = productService.create(mapper.toDomain(request));
-        return ResponseEntity.status(HttpStatus.CREATED).body(mapper.toResponse(created));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(entityTags.format(created.getVersion()))
+                .body(mapper.toResponse(created));
     }
 
-    @PutMapping("/{id}")
+    @PutMapping("/products/{id}")
     public ResponseEntity<ProductV2Response> updateProduct(
             @PathVariable String id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
             @Valid @RequestBody UpdateProductV2Request request) {
-        Product updated = productService.update(id, mapper.toDomain(request));
-        return ResponseEntity.ok(mapper.toResponse(updated));
+        Long expectedVersion = entityTags.parseIfMatch(ifMatch, ProductDomainService.VERSION_MISMATCH);
+        Product updated = productService.update(id, mapper.toDomain(request), expectedVersion);
+        return ResponseEntity.ok().eTag(entityTags.format(updated.getVersion())).body(mapper.toResponse(updated));
     }
 }
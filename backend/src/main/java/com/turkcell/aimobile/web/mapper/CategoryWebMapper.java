@@ -41,6 +41,7 @@ public class CategoryWebMapper {
         r.setIsActive(c.getIsActive());
         r.setCreatedAt(c.getCreatedAt());
         r.setUpdatedAt(c.getUpdatedAt());
+        r.setVersion(c.getVersion());
         return r;
     }
 
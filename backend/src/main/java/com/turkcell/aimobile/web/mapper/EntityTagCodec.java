@@ -0,0 +1,78 @@
+package com.turkcell.aimobile.web.mapper;
+
+import com.turkcell.aimobile.exception.PreconditionFailedException;
+
+import java.security.SecureRandom;
+
+/**
+ * Maps a resource's optimistic-lock version to a strong entity tag, {@code "<version>-<boot>"},
+ * and back. {@code <boot>} is drawn at random once per process, so a tag kept across a
+ * restart (and a reseeded database, where versions start over) never answers a
+ * conditional GET with 304 for a different row state. {@code If-Match} only compares the
+ * version, which is what the write checks; a bare {@code "<version>"} is accepted there
+ * too. Only a single strong tag (or {@code *}) is understood in {@code If-Match}; anything
+ * else cannot match the current representation and fails the precondition.
+ * List pages are tagged with the catalog revision instead, {@code "c<revision>"}.
+ */
+public class EntityTagCodec {
+
+    private static final String BOOT = Long.toString(new SecureRandom().nextLong() >>> 1, Character.MAX_RADIX);
+
+    private final String boot;
+
+    public EntityTagCodec() {
+        this(BOOT);
+    }
+
+    EntityTagCodec(String boot) {
+        this.boot = boot;
+    }
+
+    public String format(Long version) {
+        return version == null ? null : "\"" + version + "-" + boot + "\"";
+    }
+
+    public String formatRevision(long catalogRevision) {
+        return "\"c" + catalogRevision + "\"";
+    }
+
+    /**
+     * {@code If-None-Match} check (weak comparison, as GET requires): true if the header is
+     * {@code *} or lists {@code etag}, i.e. the client already has this representation.
+     */
+    public boolean notModified(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the version the client expects, or null when the header is absent or {@code *}
+     */
+    public Long parseIfMatch(String header, String mismatchCode) {
+        if (header == null || header.isBlank() || "*".equals(header.trim())) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new PreconditionFailedException(mismatchCode);
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int dash = value.indexOf('-');
+        try {
+            return Long.parseLong(dash < 0 ? value : value.substring(0, dash));
+        } catch (NumberFormatException ex) {
+            throw new PreconditionFailedException(mismatchCode);
+        }
+    }
+}
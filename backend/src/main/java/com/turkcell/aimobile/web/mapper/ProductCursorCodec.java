@@ -0,0 +1,117 @@
+package com.turkcell.aimobile.web.mapper;
+
+import com.turkcell.aimobile.model.ProductCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes {@link ProductCursor} as an opaque URL-safe token. The token also carries a
+ * fingerprint of the list filters (a truncated SHA-256) so a cursor cannot be replayed
+ * against another query.
+ */
+public class ProductCursorCodec {
+
+    private static final String VERSION = "2";
+    private static final int FINGERPRINT_BYTES = 16;
+    private static final String SEP = "\u001f";
+
+    private static final Map<String, List<Class<?>>> KEY_TYPES = Map.of(
+            "relevance", List.of(Double.class, Instant.class),
+            "createdAt", List.of(Instant.class),
+            "updatedAt", List.of(Instant.class),
+            "price", List.of(Double.class),
+            "name", List.of(String.class));
+
+    public String encode(ProductCursor cursor, String q, String categoryId) {
+        List<String> parts = new ArrayList<>();
+        parts.add(VERSION);
+        parts.add(fingerprint(q, categoryId));
+        parts.add(cursor.getSortBy());
+        parts.add(cursor.isAsc() ? "asc" : "desc");
+        parts.add(cursor.getId());
+        for (Object key : cursor.getKeys()) {
+            parts.add(encodeKey(key));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(SEP, parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the token is malformed or was issued for other filters
+     */
+    public ProductCursor decode(String token, String q, String categoryId) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEP, -1);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length < 6 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!fingerprint(q, categoryId).equals(parts[1])) {
+            throw new IllegalArgumentException("Cursor does not match the requested filters");
+        }
+        List<Class<?>> types = KEY_TYPES.get(parts[2]);
+        if (types == null || types.size() != parts.length - 5) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        List<Object> keys = new ArrayList<>(types.size());
+        for (int i = 0; i < types.size(); i++) {
+            Object key = decodeKey(parts[5 + i]);
+            if (!types.get(i).isInstance(key)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            keys.add(key);
+        }
+        return new ProductCursor(parts[2], "asc".equals(parts[3]), keys, parts[4]);
+    }
+
+    // first 128 bits of SHA-256 over the length-prefixed filters, so no two filter sets share a fingerprint in practice
+    private static String fingerprint(String q, String categoryId) {
+        String query = q == null || q.isBlank() ? "" : q;
+        String category = categoryId == null || categoryId.isBlank() ? "" : categoryId;
+        byte[] filters = (query.length() + ":" + query + SEP + category).getBytes(StandardCharsets.UTF_8);
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(filters);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, FINGERPRINT_BYTES));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static String encodeKey(Object key) {
+        if (key instanceof Instant instant) {
+            return "t" + instant;
+        }
+        if (key instanceof Double number) {
+            return "d" + number;
+        }
+        return "s" + key;
+    }
+
+    private static Object decodeKey(String raw) {
+        if (raw.isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String value = raw.substring(1);
+        try {
+            return switch (raw.charAt(0)) {
+                case 't' -> Instant.parse(value);
+                case 'd' -> Double.valueOf(value);
+                case 's' -> value;
+                default -> throw new IllegalArgumentException("Invalid cursor");
+            };
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -2,11 +2,22 @@ package com.turkcell.aimobile.web.mapper;
 
 import com.turkcell.aimobile.dto.v2.CreateProductV2Request;
 import com.turkcell.aimobile.dto.v2.PagedProductV2Response;
+import com.turkcell.aimobile.dto.v2.ProductChangesV2Response;
 import com.turkcell.aimobile.dto.v2.ProductV2Response;
 import com.turkcell.aimobile.dto.v2.UpdateProductV2Request;
 import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductChanges;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductField;
+import com.turkcell.aimobile.model.ProductSlice;
 
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class ProductV2WebMapper {
@@ -50,13 +61,127 @@ public class ProductV2WebMapper {
         r.setImageUrl(p.getImageUrl());
         r.setCreatedAt(p.getCreatedAt());
         r.setUpdatedAt(p.getUpdatedAt());
+        r.setVersion(p.getVersion());
         return r;
     }
 
-    public PagedProductV2Response toPagedResponse(List<Product> domainItems, int page, int size, long totalItems) {
-        PagedProductV2Response resp = new PagedProductV2Response();
-        List<ProductV2Response> items = domainItems.stream()
-                .map(this::toResponse)
+    /**
+     * Only the requested properties, in declaration order. A requested property that has no
+     * value is still written, as null.
+     */
+    public Map<String, Object> toFields(Product p, Set<ProductField> fields) {
+        Map<String, Object> r = new LinkedHashMap<>();
+        for (ProductField field : fields) {
+            r.put(field.property(), switch (field) {
+                case ID -> p.getId();
+                case NAME -> p.getName();
+                case SKU -> p.getSku();
+                case DESCRIPTION -> p.getDescription();
+                case PRICE -> p.getPrice();
+                case CURRENCY -> p.getCurrency();
+                case IS_ACTIVE -> p.getIsActive();
+                case CATEGORY_ID -> p.getCategoryId();
+                case IMAGE_URL -> p.getImageUrl();
+                case CREATED_AT -> p.getCreatedAt();
+                case UPDATED_AT -> p.getUpdatedAt();
+                case VERSION -> p.getVersion();
+            });
+        }
+        return r;
+    }
+
+    /**
+     * Resolve {@code fields=} (comma-separated property names) and {@code view=}
+     * ({@code summary} or {@code full}) to the set of fields to return; null means all.
+     * An explicit field list wins over the view, and must name at least one property.
+     */
+    public Set<ProductField> toFieldSet(String fields, String view) {
+        if (fields != null && !fields.isBlank()) {
+            Set<ProductField> set = EnumSet.noneOf(ProductField.class);
+            for (String name : fields.split(",")) {
+                if (!name.isBlank()) {
+                    set.add(ProductField.fromProperty(name.trim()));
+                }
+            }
+            if (set.isEmpty()) {
+                throw new IllegalArgumentException("fields must name at least one property");
+            }
+            return set;
+        }
+        if (view == null || view.isBlank() || "full".equals(view)) {
+            return null;
+        }
+        if ("summary".equals(view)) {
+            return ProductField.SUMMARY;
+        }
+        throw new IllegalArgumentException("Unknown view: " + view);
+    }
+
+    /**
+     * Resolve {@code ids=} to the ids to look up, trimmed and without blank entries; null
+     * when the parameter is absent or names no id, so a bare {@code ?ids=} is a plain list.
+     */
+    public List<String> toIdList(List<String> ids) {
+        if (ids == null) {
+            return null;
+        }
+        List<String> list = ids.stream().filter(id -> id != null && !id.isBlank()).map(String::trim).toList();
+        return list.isEmpty() ? null : list;
+    }
+
+    /**
+     * Resolve {@code facets=} (comma-separated facet names); empty when absent.
+     */
+    public Set<ProductFacet> toFacetSet(String facets) {
+        Set<ProductFacet> set = EnumSet.noneOf(ProductFacet.class);
+        if (facets != null) {
+            for (String name : facets.split(",")) {
+                if (!name.isBlank()) {
+                    set.add(ProductFacet.fromProperty(name.trim()));
+                }
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Facet counts keyed by facet name. Price buckets keep their price order, other values
+     * are listed by descending count, then by value.
+     */
+    public Map<String, Map<String, Long>> toFacets(Map<ProductFacet, Map<String, Long>> counts) {
+        Map<String, Map<String, Long>> r = new LinkedHashMap<>();
+        counts.forEach((facet, values) -> {
+            if (facet == ProductFacet.PRICE_BUCKET) {
+                r.put(facet.property(), values);
+                return;
+            }
+            Map<String, Long> ordered = new LinkedHashMap<>();
+            values.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(e -> ordered.put(e.getKey(), e.getValue()));
+            r.put(facet.property(), ordered);
+        });
+        return r;
+    }
+
+    public PagedProductV2Response<ProductV2Response> toPagedResponse(List<Product> domainItems, int page, int size, long totalItems) {
+        return toPagedResponse(domainItems, page, size, totalItems, this::toResponse);
+    }
+
+    public PagedProductV2Response<?> toPagedResponse(List<Product> domainItems, int page, int size, long totalItems,
+                                                     Set<ProductField> fields) {
+        if (fields == null) {
+            return toPagedResponse(domainItems, page, size, totalItems);
+        }
+        return toPagedResponse(domainItems, page, size, totalItems, p -> toFields(p, fields));
+    }
+
+    private <T> PagedProductV2Response<T> toPagedResponse(List<Product> domainItems, int page, int size, long totalItems,
+                                                          Function<Product, T> item) {
+        PagedProductV2Response<T> resp = new PagedProductV2Response<>();
+        List<T> items = domainItems.stream()
+                .map(item)
                 .collect(Collectors.toList());
         resp.setItems(items);
         resp.setPage(page);
@@ -64,6 +189,60 @@ public class ProductV2WebMapper {
         resp.setTotalItems(totalItems);
         int totalPages = (int) Math.ceil(totalItems / (double) Math.max(size, 1));
         resp.setTotalPages(totalPages);
+        resp.setHasNext(((long) page + 1) * size < totalItems);
+        return resp;
+    }
+
+    /**
+     * Multi-get result: the products found, in request order, and the requested ids that
+     * matched no active product.
+     */
+    public PagedProductV2Response<?> toLookupResponse(List<String> ids, List<Product> found, Set<ProductField> fields) {
+        PagedProductV2Response<?> resp = fields == null
+                ? toSlicedResponse(new ProductSlice(found, false), null, found.size(), null)
+                : toSlicedResponse(new ProductSlice(found, false), null, found.size(), null, fields);
+        Set<String> foundIds = found.stream().map(Product::getId).collect(Collectors.toSet());
+        resp.setMissingIds(ids.stream().distinct().filter(id -> !foundIds.contains(id)).toList());
+        return resp;
+    }
+
+    /**
+     * Change feed batch: active products as items, inactive ones reduced to their id.
+     */
+    public ProductChangesV2Response toChangesResponse(ProductChanges changes) {
+        ProductChangesV2Response resp = new ProductChangesV2Response();
+        resp.setItems(changes.products().stream().filter(p -> Boolean.TRUE.equals(p.getIsActive()))
+                .map(this::toResponse).toList());
+        resp.setTombstones(changes.products().stream().filter(p -> !Boolean.TRUE.equals(p.getIsActive()))
+                .map(Product::getId).toList());
+        resp.setWatermark(changes.watermark());
+        resp.setHasMore(changes.hasMore());
+        return resp;
+    }
+
+    // Count-free page: no totals; page is null and nextCursor set in keyset mode.
+    public PagedProductV2Response<ProductV2Response> toSlicedResponse(ProductSlice slice, Integer page, int size, String nextCursor) {
+        return toSlicedResponse(slice, page, size, nextCursor, this::toResponse);
+    }
+
+    public PagedProductV2Response<?> toSlicedResponse(ProductSlice slice, Integer page, int size, String nextCursor,
+                                                      Set<ProductField> fields) {
+        if (fields == null) {
+            return toSlicedResponse(slice, page, size, nextCursor);
+        }
+        return toSlicedResponse(slice, page, size, nextCursor, p -> toFields(p, fields));
+    }
+
+    private <T> PagedProductV2Response<T> toSlicedResponse(ProductSlice slice, Integer page, int size, String nextCursor,
+                                                           Function<Product, T> item) {
+        PagedProductV2Response<T> resp = new PagedProductV2Response<>();
+        resp.setItems(slice.getItems().stream()
+                .map(item)
+                .collect(Collectors.toList()));
+        resp.setPage(page);
+        resp.setSize(size);
+        resp.setHasNext(slice.hasNext());
+        resp.setNextCursor(nextCursor);
         return resp;
     }
 }
@@ -5,6 +5,7 @@ import com.turkcell.aimobile.dto.PagedProductResponse;
 import com.turkcell.aimobile.dto.ProductResponse;
 import com.turkcell.aimobile.dto.UpdateProductRequest;
 import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductSlice;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -44,6 +45,7 @@ public class ProductWebMapper {
         r.setIsActive(p.getIsActive());
         r.setCreatedAt(p.getCreatedAt());
         r.setUpdatedAt(p.getUpdatedAt());
+        r.setVersion(p.getVersion());
         return r;
     }
 
@@ -58,6 +60,19 @@ public class ProductWebMapper {
         resp.setTotalItems(totalItems);
         int totalPages = (int) Math.ceil(totalItems / (double) Math.max(size, 1));
         resp.setTotalPages(totalPages);
+        resp.setHasNext(((long) page + 1) * size < totalItems);
+        return resp;
+    }
+
+    // includeTotal=false: no totals, only whether another page exists.
+    public PagedProductResponse toSlicedResponse(ProductSlice slice, int page, int size) {
+        PagedProductResponse resp = new PagedProductResponse();
+        resp.setItems(slice.getItems().stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList()));
+        resp.setPage(page);
+        resp.setSize(size);
+        resp.setHasNext(slice.hasNext());
         return resp;
     }
 }
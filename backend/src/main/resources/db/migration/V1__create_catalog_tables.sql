@@ -0,0 +1,32 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update) from the entities.
+
+CREATE TABLE categories (
+    id          VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    description VARCHAR(2000),
+    parent_id   VARCHAR(255),
+    ordering    INTEGER,
+    is_active   BOOLEAN,
+    created_at  TIMESTAMP(6) WITH TIME ZONE,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE,
+    version     BIGINT,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE products (
+    id          VARCHAR(255) NOT NULL,
+    name        VARCHAR(255) NOT NULL,
+    sku         VARCHAR(255),
+    description VARCHAR(2000),
+    price       FLOAT(53),
+    currency    VARCHAR(3),
+    is_active   BOOLEAN,
+    category_id VARCHAR(255),
+    image_url   VARCHAR(1024),
+    created_at  TIMESTAMP(6) WITH TIME ZONE,
+    updated_at  TIMESTAMP(6) WITH TIME ZONE,
+    version     BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_products_name UNIQUE (name),
+    CONSTRAINT uk_products_sku UNIQUE (sku)
+);
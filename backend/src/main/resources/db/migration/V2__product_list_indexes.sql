@@ -0,0 +1,9 @@
+-- One index per list access path: active products, optionally in one category, in the
+-- order of a sortable field (see ProductSortField). Each leads with is_active so the
+-- ORDER BY ... LIMIT of a page is read in index order instead of sorting the table.
+
+CREATE INDEX idx_products_active_created ON products (is_active, created_at);
+CREATE INDEX idx_products_active_category_created ON products (is_active, category_id, created_at);
+CREATE INDEX idx_products_active_updated ON products (is_active, updated_at);
+CREATE INDEX idx_products_active_price ON products (is_active, price);
+CREATE INDEX idx_products_active_name ON products (is_active, name);
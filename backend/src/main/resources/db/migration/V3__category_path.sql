@@ -0,0 +1,16 @@
+-- Materialized path of every category ("/<root id>/.../<own id>/"), so a subtree is
+-- one prefix range on an index and the ancestors of a category are in its own row.
+
+ALTER TABLE categories ADD COLUMN path VARCHAR(2048);
+
+-- Backfill top-down; a category whose parent does not exist starts its own path.
+MERGE INTO categories (id, path) KEY (id)
+WITH RECURSIVE tree (id, path) AS (
+    SELECT id, '/' || id || '/' FROM categories
+    WHERE parent_id IS NULL OR parent_id NOT IN (SELECT id FROM categories)
+    UNION ALL
+    SELECT c.id, t.path || c.id || '/' FROM categories c JOIN tree t ON c.parent_id = t.id
+)
+SELECT id, path FROM tree;
+
+CREATE INDEX idx_categories_path ON categories (path);
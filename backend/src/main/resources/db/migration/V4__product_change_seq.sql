@@ -0,0 +1,11 @@
+-- Position of each product in the change feed (GET /api/v2/products/changes). Every
+-- write, deactivation included, gives the row the next number, so "what changed since
+-- N" is one range scan on this index whatever the size of the catalog.
+
+ALTER TABLE products ADD COLUMN change_seq BIGINT;
+
+-- Existing rows are numbered in the order they were last updated.
+MERGE INTO products (id, change_seq) KEY (id)
+SELECT id, ROW_NUMBER() OVER (ORDER BY updated_at, id) FROM products;
+
+CREATE UNIQUE INDEX idx_products_change_seq ON products (change_seq);
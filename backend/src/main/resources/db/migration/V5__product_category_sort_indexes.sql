@@ -0,0 +1,7 @@
+-- The per-category counterparts of the V2 sort indexes for the remaining sortable fields,
+-- so a category page sorted by price, name or updatedAt is also read in index order
+-- rather than filtered on category and then sorted.
+
+CREATE INDEX idx_products_active_category_updated ON products (is_active, category_id, updated_at);
+CREATE INDEX idx_products_active_category_price ON products (is_active, category_id, price);
+CREATE INDEX idx_products_active_category_name ON products (is_active, category_id, name);
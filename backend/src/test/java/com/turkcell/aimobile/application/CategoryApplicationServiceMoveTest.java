@@ -0,0 +1,97 @@
+package com.turkcell.aimobile.application;
+
+import com.turkcell.aimobile.domain.port.CatalogEventPublisher;
+import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
+import com.turkcell.aimobile.infrastructure.cache.SnapshotCategoryRepository;
+import com.turkcell.aimobile.model.CatalogChange;
+import com.turkcell.aimobile.model.Category;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryApplicationServiceMoveTest {
+
+    private final CategoryRepositoryPort store = mock(CategoryRepositoryPort.class);
+    private final SnapshotCategoryRepository snapshot = new SnapshotCategoryRepository(store);
+    private final CatalogEventPublisher events = mock(CatalogEventPublisher.class);
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final CategoryApplicationService service = new CategoryApplicationService(snapshot, catalogVersion, events);
+
+    private final List<Category> stored = new ArrayList<>();
+
+    private static Category category(String id, String parentId, String path) {
+        Category c = new Category();
+        c.setId(id);
+        c.setName(id);
+        c.setParentId(parentId);
+        c.setPath(path);
+        c.setOrdering(0);
+        c.setIsActive(true);
+        c.setVersion(0L);
+        return c;
+    }
+
+    @BeforeEach
+    void electronicsPhonesSmartAndOutlet() {
+        stored.add(category("electronics", null, "/electronics/"));
+        stored.add(category("phones", "electronics", "/electronics/phones/"));
+        stored.add(category("smart", "phones", "/electronics/phones/smart/"));
+        stored.add(category("outlet", null, "/outlet/"));
+        when(store.findAll()).thenAnswer(call -> List.copyOf(stored));
+    }
+
+    private static Category under(String parentId) {
+        Category changes = new Category();
+        changes.setParentId(parentId);
+        return changes;
+    }
+
+    @Test
+    void movePublishesTheTreeOnlyAfterTheStoreMovedTheSubtree() {
+        when(store.move(any())).thenAnswer(call -> {
+            Category moved = call.getArgument(0);
+            stored.set(1, moved);
+            stored.set(2, category("smart", "phones", "/outlet/phones/smart/"));
+            return moved;
+        });
+        long revision = catalogVersion.current();
+
+        Category moved = service.update("phones", under("outlet"), null);
+
+        assertThat(moved.getPath()).isEqualTo("/outlet/phones/");
+        verify(store, never()).save(any());
+        assertThat(snapshot.findSubtree("outlet")).extracting(Category::getId)
+                .containsExactlyInAnyOrder("outlet", "phones", "smart");
+        assertThat(snapshot.findById("smart").orElseThrow().getPath()).isEqualTo("/outlet/phones/smart/");
+        assertThat(catalogVersion.current()).isGreaterThan(revision);
+        verify(events).publish(CatalogChange.of(snapshot.findById("smart").orElseThrow()));
+    }
+
+    @Test
+    void moveThatFailsInTheStoreChangesNothing() {
+        snapshot.reload();
+        when(store.move(any())).thenThrow(new DataAccessResourceFailureException("connection lost"));
+        long revision = catalogVersion.current();
+
+        assertThatThrownBy(() -> service.update("phones", under("outlet"), null))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        assertThat(snapshot.findSubtree("electronics")).extracting(Category::getId)
+                .containsExactlyInAnyOrder("electronics", "phones", "smart");
+        assertThat(snapshot.findById("phones").orElseThrow().getParentId()).isEqualTo("electronics");
+        assertThat(catalogVersion.current()).isEqualTo(revision);
+        verify(events, never()).publish(any());
+    }
+}
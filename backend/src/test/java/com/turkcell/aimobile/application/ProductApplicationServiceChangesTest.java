@@ -0,0 +1,51 @@
+package com.turkcell.aimobile.application;
+
+import com.turkcell.aimobile.domain.port.CatalogEventPublisher;
+import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
+import com.turkcell.aimobile.domain.service.ProductDomainService;
+import com.turkcell.aimobile.model.ProductChanges;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductApplicationServiceChangesTest {
+
+    private final ProductRepositoryPort repository = mock(ProductRepositoryPort.class);
+    private final ProductApplicationService service = new ProductApplicationService(repository,
+            new ProductDomainService(), mock(CategoryRepositoryPort.class), new CatalogVersion(),
+            mock(CatalogEventPublisher.class));
+
+    @Test
+    void readsTheFeedFromTheWatermark() {
+        ProductChanges changes = new ProductChanges(List.of(), 7, false);
+        when(repository.findChanges(7, 50)).thenReturn(changes);
+
+        assertThat(service.changesSince(7, 50)).isSameAs(changes);
+    }
+
+    @Test
+    void negativeWatermarkIsRejected() {
+        assertThatThrownBy(() -> service.changesSince(-1, 10)).isInstanceOf(IllegalArgumentException.class);
+        verify(repository, never()).findChanges(anyLong(), anyInt());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -5, ProductApplicationService.MAX_CHANGES_PER_REQUEST + 1})
+    void limitOutsideTheBatchBoundsIsRejected(int limit) {
+        assertThatThrownBy(() -> service.changesSince(0, limit)).isInstanceOf(IllegalArgumentException.class);
+        verify(repository, never()).findChanges(anyLong(), anyInt());
+    }
+}
@@ -0,0 +1,71 @@
+package com.turkcell.aimobile.application;
+
+import com.turkcell.aimobile.domain.port.CatalogEventPublisher;
+import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
+import com.turkcell.aimobile.domain.service.ProductDomainService;
+import com.turkcell.aimobile.model.ProductFilter;
+import com.turkcell.aimobile.model.ProductSlice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ProductApplicationServicePagingTest {
+
+    private final ProductRepositoryPort repository = mock(ProductRepositoryPort.class);
+    private final ProductApplicationService service = new ProductApplicationService(repository,
+            new ProductDomainService(), mock(CategoryRepositoryPort.class), new CatalogVersion(),
+            mock(CatalogEventPublisher.class));
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, ProductApplicationService.MAX_PAGE_SIZE + 1})
+    void rejectsSizeOutOfRangeInEveryListMode(int size) {
+        assertThatThrownBy(() -> service.listV2After(null, size, "phone", null, "relevance", false, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.listV2After(null, size, null, null, "createdAt", false, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.listV2(0, size, null, "c1", "createdAt", false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.listV2Slice(0, size, ProductFilter.of(null, null), "createdAt", false, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.list(0, size, "phone", "createdAt", false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.listSlice(0, size, null, "createdAt", false))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void rejectsNegativePage() {
+        assertThatThrownBy(() -> service.listV2(-1, 20, null, null, "createdAt", false))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void passesDefaultsAndBoundsThrough() {
+        when(repository.findAfter(any(), any(), any(), anyInt(), any(), anyBoolean(), any()))
+                .thenReturn(new ProductSlice(List.of(), false));
+
+        service.listV2After(null, null, null, null, "createdAt", false, null);
+        service.listV2After(null, ProductApplicationService.MAX_PAGE_SIZE, null, null, "createdAt", false, null);
+
+        verify(repository).findAfter(isNull(), isNull(), isNull(), eq(20), eq("createdAt"), eq(false), isNull());
+        verify(repository).findAfter(isNull(), isNull(), isNull(), eq(ProductApplicationService.MAX_PAGE_SIZE),
+                eq("createdAt"), eq(false), isNull());
+    }
+}
@@ -0,0 +1,96 @@
+package com.turkcell.aimobile.application;
+
+import com.turkcell.aimobile.domain.port.CatalogEventPublisher;
+import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
+import com.turkcell.aimobile.domain.service.ProductDomainService;
+import com.turkcell.aimobile.exception.ConflictException;
+import com.turkcell.aimobile.exception.PreconditionFailedException;
+import com.turkcell.aimobile.model.Product;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductApplicationServiceUpdateTest {
+
+    private final ProductRepositoryPort repository = mock(ProductRepositoryPort.class);
+    private final CatalogEventPublisher events = mock(CatalogEventPublisher.class);
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+    private final ProductApplicationService service = new ProductApplicationService(repository,
+            new ProductDomainService(), mock(CategoryRepositoryPort.class), catalogVersion, events);
+
+    @BeforeEach
+    void storedProductAtVersion3() {
+        Product stored = new Product();
+        stored.setId("p1");
+        stored.setName("Phone");
+        stored.setSku("SKU-1");
+        stored.setPrice(10.0);
+        stored.setIsActive(true);
+        stored.setVersion(3L);
+        when(repository.findById("p1")).thenReturn(Optional.of(stored));
+    }
+
+    private static Product rename(String name) {
+        Product changes = new Product();
+        changes.setName(name);
+        return changes;
+    }
+
+    @Test
+    void staleIfMatchFailsBeforeWriting() {
+        long revision = catalogVersion.current();
+
+        assertThatThrownBy(() -> service.update("p1", rename("Phone 2"), 2L))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage(ProductDomainService.VERSION_MISMATCH);
+
+        verify(repository, never()).save(any());
+        assertThat(catalogVersion.current()).isEqualTo(revision);
+    }
+
+    @Test
+    void matchingIfMatchSavesAndAdvancesTheCatalog() {
+        when(repository.save(any())).thenAnswer(call -> {
+            Product p = call.getArgument(0);
+            p.setVersion(p.getVersion() + 1);
+            return p;
+        });
+        long revision = catalogVersion.current();
+
+        Product saved = service.update("p1", rename("Phone 2"), 3L);
+
+        assertThat(saved.getName()).isEqualTo("Phone 2");
+        assertThat(saved.getVersion()).isEqualTo(4L);
+        assertThat(catalogVersion.current()).isGreaterThan(revision);
+        verify(events).publish(any());
+    }
+
+    @Test
+    void lostRaceIsAPreconditionFailureWithIfMatch() {
+        when(repository.save(any())).thenThrow(new PreconditionFailedException(ProductDomainService.VERSION_MISMATCH));
+
+        assertThatThrownBy(() -> service.update("p1", rename("Phone 2"), 3L))
+                .isInstanceOf(PreconditionFailedException.class);
+        verify(events, never()).publish(any());
+    }
+
+    @Test
+    void lostRaceIsAConflictWithoutIfMatch() {
+        when(repository.save(any())).thenThrow(new PreconditionFailedException(ProductDomainService.VERSION_MISMATCH));
+
+        assertThatThrownBy(() -> service.update("p1", rename("Phone 2"), null))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage(ProductDomainService.MODIFIED_CONCURRENTLY);
+    }
+}
@@ -0,0 +1,52 @@
+package com.turkcell.aimobile.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogVersionTest {
+
+    @Test
+    void sameWriteCountInDifferentEpochsGivesDifferentRevisions() {
+        CatalogVersion beforeRestart = new CatalogVersion(7);
+        CatalogVersion afterRestart = new CatalogVersion(8);
+        beforeRestart.advance();
+        afterRestart.advance();
+
+        assertThat(beforeRestart.current()).isNotEqualTo(afterRestart.current());
+        assertThat(beforeRestart.current() >>> CatalogVersion.COUNTER_BITS).isEqualTo(7);
+    }
+
+    @Test
+    void advanceMovesOnlyTheCounter() {
+        CatalogVersion version = new CatalogVersion(3);
+        long start = version.current();
+
+        version.advance();
+        version.advance();
+
+        assertThat(version.current()).isEqualTo(start + 2);
+        assertThat(version.current() >>> CatalogVersion.COUNTER_BITS).isEqualTo(3);
+    }
+
+    @Test
+    void eachBootDrawsAPositiveRandomEpoch() {
+        Set<Long> epochs = new HashSet<>();
+        for (int i = 0; i < 20; i++) {
+            long revision = new CatalogVersion().current();
+            assertThat(revision).isPositive();
+            epochs.add(revision >>> CatalogVersion.COUNTER_BITS);
+        }
+        assertThat(epochs).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void epochMustFitAboveTheCounter() {
+        assertThatThrownBy(() -> new CatalogVersion(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CatalogVersion(1L << 23)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
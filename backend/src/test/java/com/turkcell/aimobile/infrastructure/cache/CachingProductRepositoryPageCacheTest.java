@@ -0,0 +1,169 @@
+package com.turkcell.aimobile.infrastructure.cache;
+
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.service.CatalogVersion;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductFilter;
+import com.turkcell.aimobile.model.ProductSlice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachingProductRepositoryPageCacheTest {
+
+    private final ProductRepositoryPort delegate = mock(ProductRepositoryPort.class);
+    private final CachingProductRepository repository =
+            new CachingProductRepository(delegate, 100, Duration.ofMinutes(10), 0, new CatalogVersion(), 100, 100);
+
+    private static Product product(String id, String categoryId) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName("name-" + id);
+        p.setCategoryId(categoryId);
+        p.setIsActive(true);
+        return p;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(delegate.findAllByCategory(anyString(), anyInt(), anyInt(), anyString(), anyBoolean()))
+                .thenAnswer(call -> List.of(product("in-" + call.getArgument(0), call.getArgument(0))));
+        when(delegate.findAll(anyInt(), anyInt(), anyString(), anyBoolean())).thenReturn(List.of(product("x", "A")));
+        when(delegate.save(any())).thenAnswer(call -> call.getArgument(0));
+        when(delegate.insert(any())).thenAnswer(call -> call.getArgument(0));
+    }
+
+    private void listA() {
+        repository.findAllByCategory("A", 0, 20, "name", true);
+    }
+
+    private void listB() {
+        repository.findAllByCategory("B", 0, 20, "name", true);
+    }
+
+    private void listAll() {
+        repository.findAll(0, 20, "name", true);
+    }
+
+    @Test
+    void identicalPagesAreServedFromTheCacheAsCopies() {
+        List<Product> first = repository.findAllByCategory("A", 0, 20, "name", true);
+        first.get(0).setName("changed by the caller");
+        first.clear();
+
+        List<Product> second = repository.findAllByCategory("A", 0, 20, "name", true);
+
+        assertThat(second).extracting(Product::getName).containsExactly("name-in-A");
+        verify(delegate, times(1)).findAllByCategory("A", 0, 20, "name", true);
+        assertThat(repository.pageStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void aWriteInvalidatesItsCategoryAndTheFullListingOnly() {
+        listA();
+        listB();
+        listAll();
+
+        repository.insert(product("new", "A"));
+        listA();
+        listB();
+        listAll();
+
+        verify(delegate, times(2)).findAllByCategory("A", 0, 20, "name", true);
+        verify(delegate, times(1)).findAllByCategory("B", 0, 20, "name", true);
+        verify(delegate, times(2)).findAll(0, 20, "name", true);
+    }
+
+    @Test
+    void movingAProductInvalidatesTheOldAndTheNewCategory() {
+        when(delegate.findById("p")).thenReturn(Optional.of(product("p", "A")));
+        listA();
+        listB();
+
+        repository.save(product("p", "B"));
+        listA();
+        listB();
+
+        verify(delegate, times(2)).findAllByCategory("A", 0, 20, "name", true);
+        verify(delegate, times(2)).findAllByCategory("B", 0, 20, "name", true);
+    }
+
+    @Test
+    void deletingInvalidatesTheCategoryItWasIn() {
+        when(delegate.findById("p")).thenReturn(Optional.of(product("p", "A")));
+        listA();
+        listB();
+
+        repository.deleteById("p");
+        listA();
+        listB();
+
+        verify(delegate, times(2)).findAllByCategory("A", 0, 20, "name", true);
+        verify(delegate, times(1)).findAllByCategory("B", 0, 20, "name", true);
+    }
+
+    @Test
+    void aFilterOverSeveralCategoriesIsInvalidatedByAWriteInAnyOfThem() {
+        ProductFilter filter = new ProductFilter(Set.of("A", "B"), null, null, null, null);
+        when(delegate.findSlice(eq(filter), anyInt(), anyInt(), anyString(), anyBoolean(), isNull()))
+                .thenReturn(new ProductSlice(List.of(product("a", "A")), false));
+        when(delegate.count(filter)).thenReturn(1L);
+
+        repository.findSlice(filter, 0, 20, "name", true, null);
+        repository.count(filter);
+        repository.insert(product("other", "C"));
+        repository.findSlice(filter, 0, 20, "name", true, null);
+        repository.count(filter);
+        repository.insert(product("b", "B"));
+        repository.findSlice(filter, 0, 20, "name", true, null);
+        repository.count(filter);
+
+        verify(delegate, times(2)).findSlice(filter, 0, 20, "name", true, null);
+        verify(delegate, times(2)).count(filter);
+    }
+
+    @Test
+    void aPageReadAcrossAWriteIsNeverServedAfterIt() {
+        when(delegate.findAllByCategory("A", 0, 20, "name", true))
+                .thenAnswer(call -> {
+                    // the key is already taken; the write commits before the stale page is put
+                    repository.insert(product("new", "A"));
+                    return List.of(product("old", "A"));
+                })
+                .thenReturn(List.of(product("old", "A"), product("new", "A")));
+
+        List<Product> raced = repository.findAllByCategory("A", 0, 20, "name", true);
+        List<Product> after = repository.findAllByCategory("A", 0, 20, "name", true);
+
+        assertThat(raced).extracting(Product::getId).containsExactly("old");
+        assertThat(after).extracting(Product::getId).containsExactly("old", "new");
+        verify(delegate, times(2)).findAllByCategory("A", 0, 20, "name", true);
+    }
+
+    @Test
+    void keysetPagesAreNeverCached() {
+        when(delegate.findAfter(any(), any(), any(), anyInt(), anyString(), anyBoolean(), any()))
+                .thenReturn(new ProductSlice(List.of(), false));
+
+        repository.findAfter("A", null, null, 20, "name", true, null);
+        repository.findAfter("A", null, null, 20, "name", true, null);
+
+        verify(delegate, times(2)).findAfter("A", null, null, 20, "name", true, null);
+    }
+}
@@ -0,0 +1,141 @@
+package com.turkcell.aimobile.infrastructure.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    private double calls(String role) {
+        return registry.get("app.coalescing.calls").tag("role", role).counter().count();
+    }
+
+    // Waits until {@code joiners} callers are parked on the load in flight.
+    private void awaitJoins(int joiners) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls("join") < joiners && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(calls("join")).isEqualTo(joiners);
+    }
+
+    @Test
+    void callersArrivingDuringALoadShareItsResult() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>(Duration.ofSeconds(5), registry, "test");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> first = callers.submit(() -> flight.get("k", () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "value";
+        }));
+        started.await();
+        List<Future<String>> joined = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            joined.add(callers.submit(() -> flight.get("k", () -> {
+                loads.incrementAndGet();
+                return "other";
+            })));
+        }
+        awaitJoins(3);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        for (Future<String> f : joined) {
+            assertThat(f.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(calls("load")).isEqualTo(1);
+    }
+
+    @Test
+    void joinedCallersFailWithTheLoadersException() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>(Duration.ofSeconds(5), registry, "test");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database gone");
+
+        Future<String> first = callers.submit(() -> flight.<String>get("k", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        started.await();
+        Future<String> joined = callers.submit(() -> flight.get("k", () -> "unused"));
+        awaitJoins(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).cause().isSameAs(failure);
+        assertThatThrownBy(() -> joined.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class).cause().isSameAs(failure);
+    }
+
+    @Test
+    void joinedCallerGivesUpAfterTheTimeout() throws Exception {
+        SingleFlight<String> flight = new SingleFlight<>(Duration.ofMillis(50), registry, "test");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = callers.submit(() -> flight.get("k", () -> {
+            started.countDown();
+            await(release);
+            return "late";
+        }));
+        started.await();
+
+        try {
+            assertThatThrownBy(() -> flight.get("k", () -> "unused")).isInstanceOf(QueryTimeoutException.class);
+            assertThat(registry.get("app.coalescing.timeouts").counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+        // the loader itself is not bound by the timeout
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("late");
+    }
+
+    @Test
+    void completedLoadsAreNotKept() {
+        SingleFlight<String> flight = new SingleFlight<>(Duration.ofSeconds(5), registry, "test");
+        AtomicInteger loads = new AtomicInteger();
+
+        flight.get("k", loads::incrementAndGet);
+        flight.get("k", loads::incrementAndGet);
+        flight.get("other", loads::incrementAndGet);
+
+        assertThat(loads).hasValue(3);
+        assertThat(calls("join")).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.turkcell.aimobile.infrastructure.catalog;
+
+import com.turkcell.aimobile.model.PriceBuckets;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductFacet;
+import com.turkcell.aimobile.model.ProductFilter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarProductCatalogTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final ColumnarProductCatalog catalog = new ColumnarProductCatalog();
+
+    private static Product product(String id, String category, Double price, String currency) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName("name-" + id);
+        p.setCategoryId(category);
+        p.setPrice(price);
+        p.setCurrency(currency);
+        p.setIsActive(true);
+        p.setCreatedAt(T0.plusSeconds(id.hashCode() & 0xff));
+        p.setUpdatedAt(T0);
+        return p;
+    }
+
+    @Test
+    void pagesFollowTheSortFieldWithIdAsTieBreak() {
+        catalog.indexAll(List.of(
+                product("c", "phones", 20.0, "TRY"),
+                product("a", "phones", 20.0, "TRY"),
+                product("b", "phones", 5.0, "TRY"),
+                product("d", "phones", null, "TRY")));
+
+        assertThat(catalog.page((String) null, "price", true, 0, 10)).containsExactly("d", "b", "a", "c");
+        assertThat(catalog.page((String) null, "price", false, 0, 10)).containsExactly("c", "a", "b", "d");
+        assertThat(catalog.page((String) null, "price", true, 1, 2)).containsExactly("b", "a");
+        assertThat(catalog.page((String) null, "name", true, 3, 10)).containsExactly("d");
+    }
+
+    @Test
+    void filtersCombineCategoryCurrencyAndPriceRange() {
+        catalog.indexAll(List.of(
+                product("a", "phones", 50.0, "TRY"),
+                product("b", "phones", 150.0, "USD"),
+                product("c", "tablets", 250.0, "TRY"),
+                product("d", "laptops", 900.0, "TRY")));
+        ProductFilter phonesAndTablets = new ProductFilter(Set.of("phones", "tablets"), null, 100.0, null, "TRY");
+
+        assertThat(catalog.page(phonesAndTablets, "price", true, 0, 10)).containsExactly("c");
+        assertThat(catalog.count(phonesAndTablets)).isEqualTo(1);
+        assertThat(catalog.count(ProductFilter.of(null, null, null, 200.0, null))).isEqualTo(2);
+        assertThat(catalog.count(ProductFilter.of("phones", null))).isEqualTo(2);
+    }
+
+    @Test
+    void unknownDictionaryValuesMatchNothing() {
+        catalog.index(product("a", "phones", 50.0, "TRY"));
+
+        assertThat(catalog.page("watches", "price", true, 0, 10)).isEmpty();
+        assertThat(catalog.count(ProductFilter.of(null, null, null, null, "EUR"))).isZero();
+    }
+
+    @Test
+    void updatesMoveTheRowAndInactiveOrRemovedProductsDisappear() {
+        catalog.indexAll(List.of(
+                product("a", "phones", 10.0, "TRY"),
+                product("b", "phones", 20.0, "TRY"),
+                product("c", "phones", 30.0, "TRY")));
+
+        catalog.index(product("a", "tablets", 40.0, "TRY"));
+        Product inactive = product("b", "phones", 20.0, "TRY");
+        inactive.setIsActive(false);
+        catalog.index(inactive);
+        catalog.remove("c");
+        catalog.index(product("d", "phones", 5.0, "TRY"));
+
+        assertThat(catalog.page((String) null, "price", true, 0, 10)).containsExactly("d", "a");
+        assertThat(catalog.page("phones", "price", true, 0, 10)).containsExactly("d");
+        assertThat(catalog.size()).isEqualTo(2);
+    }
+
+    @Test
+    void facetsCountMatchingRowsInOnePass() {
+        PriceBuckets buckets = new PriceBuckets(0, 100, 500);
+        catalog.indexAll(List.of(
+                product("a", "phones", 50.0, "TRY"),
+                product("b", "phones", 150.0, "USD"),
+                product("c", "tablets", 700.0, "TRY"),
+                product("d", "tablets", null, "TRY")));
+
+        Map<ProductFacet, Map<String, Long>> facets = catalog.facets(ProductFilter.of(null, null),
+                Set.of(ProductFacet.CATEGORY_ID, ProductFacet.CURRENCY, ProductFacet.PRICE_BUCKET), buckets);
+
+        assertThat(facets.get(ProductFacet.CATEGORY_ID)).containsOnly(Map.entry("phones", 2L), Map.entry("tablets", 2L));
+        assertThat(facets.get(ProductFacet.CURRENCY)).containsOnly(Map.entry("TRY", 3L), Map.entry("USD", 1L));
+        assertThat(facets.get(ProductFacet.PRICE_BUCKET)).containsExactly(
+                Map.entry(buckets.label(0), 1L), Map.entry(buckets.label(1), 1L), Map.entry(buckets.label(2), 1L));
+        assertThat(catalog.facets(ProductFilter.of("phones", null), Set.of(ProductFacet.CURRENCY), buckets))
+                .containsOnlyKeys(ProductFacet.CURRENCY);
+    }
+
+    @Test
+    void purgingRetiredRowsKeepsEveryOrder() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            products.add(product("p" + i, "phones", (double) i, "TRY"));
+        }
+        catalog.rebuild(products);
+
+        // enough rewrites to retire far more rows than stay live, so purges run along the way
+        for (int round = 1; round <= 500; round++) {
+            for (int i = 0; i < 10; i++) {
+                catalog.index(product("p" + i, "phones", (double) (round * 10 + (9 - i)), "TRY"));
+            }
+        }
+
+        assertThat(catalog.size()).isEqualTo(10);
+        assertThat(catalog.page((String) null, "price", true, 0, 3)).containsExactly("p9", "p8", "p7");
+        assertThat(catalog.page((String) null, "name", false, 0, 2)).containsExactly("p9", "p8");
+        assertThat(catalog.count(ProductFilter.of(null, null, 5009.0, null, null))).isEqualTo(1);
+    }
+
+    @Test
+    void rebuildReplacesTheContent() {
+        catalog.index(product("old", "phones", 10.0, "TRY"));
+        Product inactive = product("x", "phones", 1.0, "TRY");
+        inactive.setIsActive(false);
+
+        catalog.rebuild(List.of(product("new", "tablets", 20.0, "USD"), inactive));
+
+        assertThat(catalog.page((String) null, "createdAt", true, 0, 10)).containsExactly("new");
+        assertThat(catalog.count(ProductFilter.of("phones", null))).isZero();
+    }
+
+    @Test
+    void searchQueriesAndOtherSortFieldsAreNotServed() {
+        assertThat(catalog.supports("sku")).isFalse();
+        assertThatThrownBy(() -> catalog.page((String) null, "sku", true, 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> catalog.count(ProductFilter.of(null, "phone")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
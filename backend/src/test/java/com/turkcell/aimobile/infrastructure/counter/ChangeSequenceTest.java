@@ -0,0 +1,53 @@
+package com.turkcell.aimobile.infrastructure.counter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeSequenceTest {
+
+    private final ChangeSequence sequence = new ChangeSequence();
+
+    @Test
+    void numbersContinueAfterTheStoredMaximum() {
+        sequence.advanceTo(41);
+
+        assertThat(sequence.next()).isEqualTo(42);
+        assertThat(sequence.next()).isEqualTo(43);
+    }
+
+    @Test
+    void advanceNeverMovesBackwards() {
+        sequence.advanceTo(10);
+        sequence.advanceTo(3);
+
+        assertThat(sequence.visible()).isEqualTo(10);
+        assertThat(sequence.next()).isEqualTo(11);
+    }
+
+    @Test
+    void visibleStopsBelowTheOldestWriteInFlight() {
+        sequence.advanceTo(5);
+        long first = sequence.next();
+        long second = sequence.next();
+        long third = sequence.next();
+
+        sequence.release(third);
+        sequence.release(second);
+        assertThat(sequence.visible()).isEqualTo(5);
+
+        sequence.release(first);
+        assertThat(sequence.visible()).isEqualTo(third);
+    }
+
+    @Test
+    void aFailedWriteReleasesItsNumberToo() {
+        long failed = sequence.next();
+        long committed = sequence.next();
+        sequence.release(committed);
+
+        assertThat(sequence.visible()).isEqualTo(failed - 1);
+        sequence.release(failed);
+        assertThat(sequence.visible()).isEqualTo(committed);
+    }
+}
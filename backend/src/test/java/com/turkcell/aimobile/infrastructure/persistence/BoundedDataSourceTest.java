@@ -0,0 +1,63 @@
+package com.turkcell.aimobile.infrastructure.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BoundedDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+
+    @Test
+    void callersPastConnectionsPlusWaitersAreRejectedAtOnce() throws SQLException {
+        when(pool.getConnection()).thenAnswer(call -> mock(Connection.class));
+        BoundedDataSource bounded = new BoundedDataSource(pool, 1, 1);
+
+        Connection first = bounded.getConnection();
+        bounded.getConnection();
+
+        assertThatThrownBy(bounded::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(bounded.admitted()).isEqualTo(2);
+        assertThat(bounded.rejected()).isEqualTo(1);
+
+        first.close();
+        first.close();
+        assertThat(bounded.admitted()).isEqualTo(1);
+        bounded.getConnection();
+        assertThatThrownBy(bounded::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void closeReachesThePooledConnection() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        BoundedDataSource bounded = new BoundedDataSource(pool, 1, 0);
+
+        Connection connection = bounded.getConnection();
+        connection.close();
+
+        verify(pooled).close();
+        assertThat(connection.unwrap(Connection.class)).isSameAs(pooled);
+        assertThat(bounded.admitted()).isZero();
+    }
+
+    @Test
+    void aFailedBorrowGivesTheAdmissionBack() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        BoundedDataSource bounded = new BoundedDataSource(pool, 1, 0);
+
+        assertThatThrownBy(bounded::getConnection).hasMessage("pool timeout");
+
+        assertThat(bounded.admitted()).isZero();
+        assertThat(bounded.rejected()).isZero();
+    }
+}
@@ -0,0 +1,382 @@
+package com.turkcell.aimobile.infrastructure.persistence;
+
+import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.domain.service.ProductDomainService;
+import com.turkcell.aimobile.exception.ConflictException;
+import com.turkcell.aimobile.exception.PreconditionFailedException;
+import com.turkcell.aimobile.model.Category;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductChanges;
+import com.turkcell.aimobile.model.ProductSlice;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Behaviour every {@link ProductRepositoryPort} and {@link CategoryRepositoryPort} store
+ * must share, so the application cannot tell the adapters apart. Each subclass binds the
+ * ports to one adapter and says what a restart and a maintenance run mean for it.
+ *
+ * Stores may be shared between tests, so every test works in categories and names of its
+ * own and never asserts catalog-wide totals.
+ */
+public abstract class RepositoryPortContractTest {
+
+    // a full-length description, so rewriting a product leaves a sizeable superseded record
+    private static final int DESCRIPTION_LENGTH = 2000;
+
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+
+    protected abstract ProductRepositoryPort products();
+
+    protected abstract CategoryRepositoryPort categories();
+
+    /** Reopen the store on the data written so far, with nothing kept in memory. */
+    protected abstract void restart();
+
+    /** Run the store's background maintenance (flushing, compaction) right now. */
+    protected abstract void maintain();
+
+    @Test
+    void insertAssignsIdAndFirstVersion() {
+        String categoryId = newCategory("phones", null).getId();
+
+        Product saved = products().insert(product(categoryId, "Phone"));
+
+        assertThat(saved.getId()).isNotBlank();
+        assertThat(saved.getVersion()).isZero();
+        assertThat(saved.getCreatedAt()).isNotNull();
+        assertThat(products().findById(saved.getId())).get()
+                .extracting(Product::getName, Product::getSku, Product::getPrice)
+                .containsExactly(name("Phone"), sku("Phone"), 100.0);
+    }
+
+    @Test
+    void saveAdvancesTheVersionAndRejectsAStaleOne() {
+        String categoryId = newCategory("phones", null).getId();
+        Product stored = products().insert(product(categoryId, "Phone"));
+
+        stored.setPrice(120.0);
+        Product updated = products().save(stored);
+        Product stale = products().findById(stored.getId()).orElseThrow();
+        stale.setVersion(0L);
+        stale.setPrice(90.0);
+
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThatThrownBy(() -> products().save(stale))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage(ProductDomainService.VERSION_MISMATCH);
+        assertThat(products().findById(stored.getId()).orElseThrow().getPrice()).isEqualTo(120.0);
+    }
+
+    @Test
+    void nameAndSkuAreUnique() {
+        String categoryId = newCategory("phones", null).getId();
+        products().insert(product(categoryId, "Phone"));
+
+        Product sameName = product(categoryId, "Phone");
+        sameName.setSku(sku("Other"));
+        Product sameSku = product(categoryId, "Other");
+        sameSku.setSku(sku("Phone"));
+
+        assertThatThrownBy(() -> products().insert(sameName))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage(ProductDomainService.NAME_TAKEN);
+        assertThatThrownBy(() -> products().insert(sameSku))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage(ProductDomainService.SKU_TAKEN);
+        assertThat(products().findExistingNames(List.of(name("Phone"), name("Other")))).containsExactly(name("Phone"));
+        assertThat(products().findExistingSkus(List.of(sku("Phone"), sku("Other")))).containsExactly(sku("Phone"));
+    }
+
+    @Test
+    void batchWithAConflictStoresNothing() {
+        String categoryId = newCategory("phones", null).getId();
+        Product clash = product(categoryId, "Second");
+        clash.setSku(sku("First"));
+
+        assertThatThrownBy(() -> products().saveAll(List.of(product(categoryId, "First"), clash)))
+                .isInstanceOf(ConflictException.class);
+
+        assertThat(products().findExistingNames(List.of(name("First"), name("Second")))).isEmpty();
+        assertThat(products().countByCategory(categoryId)).isZero();
+    }
+
+    @Test
+    void inactiveAndDeletedProductsAreNotServed() {
+        String categoryId = newCategory("phones", null).getId();
+        Product a = products().insert(product(categoryId, "A"));
+        Product b = products().insert(product(categoryId, "B"));
+        Product c = products().insert(product(categoryId, "C"));
+
+        b.setIsActive(false);
+        products().save(b);
+        products().deleteById(c.getId());
+
+        assertThat(products().findById(b.getId())).isEmpty();
+        assertThat(products().findById(c.getId())).isEmpty();
+        assertThat(products().findAllByIds(List.of(c.getId(), b.getId(), a.getId())))
+                .extracting(Product::getId).containsExactly(a.getId());
+        assertThat(products().countByCategory(categoryId)).isEqualTo(1);
+        assertThat(products().findAllByCategory(categoryId, 0, 10, "name", true))
+                .extracting(Product::getId).containsExactly(a.getId());
+    }
+
+    @Test
+    void findAllByIdsKeepsTheRequestedOrder() {
+        String categoryId = newCategory("phones", null).getId();
+        Product a = products().insert(product(categoryId, "A"));
+        Product b = products().insert(product(categoryId, "B"));
+
+        assertThat(products().findAllByIds(List.of(b.getId(), "missing", a.getId())))
+                .extracting(Product::getId).containsExactly(b.getId(), a.getId());
+    }
+
+    @Test
+    void changeFeedListsTheLatestWriteOfEachProductInOrder() {
+        String categoryId = newCategory("phones", null).getId();
+        Product a = products().insert(product(categoryId, "A"));
+        long since = a.getChangeSeq() - 1;
+        Product b = products().insert(product(categoryId, "B"));
+        a.setIsActive(false);
+        products().save(a);
+
+        ProductChanges changes = products().findChanges(since, 10);
+
+        assertThat(changes.products()).extracting(Product::getId).containsExactly(b.getId(), a.getId());
+        assertThat(changes.products().get(1).getIsActive()).isFalse();
+        assertThat(changes.hasMore()).isFalse();
+        ProductChanges first = products().findChanges(since, 1);
+        assertThat(first.hasMore()).isTrue();
+        assertThat(products().findChanges(first.watermark(), 10).products())
+                .extracting(Product::getId).containsExactly(a.getId());
+    }
+
+    @Test
+    void searchMatchesNameSkuAndDescription() {
+        String categoryId = newCategory("phones", null).getId();
+        Product phone = product(categoryId, "Phone");
+        phone.setDescription("Waterproof handset " + run);
+        Product tablet = products().insert(product(categoryId, "Tablet"));
+        products().insert(phone);
+
+        assertThat(products().searchByCategory(categoryId, "waterproof", 0, 10, "name", true))
+                .extracting(Product::getName).containsExactly(name("Phone"));
+        assertThat(products().searchByCategory(categoryId, sku("Tablet"), 0, 10, "name", true))
+                .extracting(Product::getId).containsExactly(tablet.getId());
+        assertThat(products().countSearch(categoryId, run)).isEqualTo(2);
+    }
+
+    @Test
+    void pagesWhoseOffsetPassesTheIntRangeAreEmpty() {
+        String categoryId = newCategory("phones", null).getId();
+        products().insert(product(categoryId, "Phone"));
+        int page = Integer.MAX_VALUE / 10;
+
+        assertThat(products().search(name("Phone"), page, 50, "name", true)).isEmpty();
+        assertThat(products().searchByCategory(categoryId, name("Phone"), page, 50, "name", true)).isEmpty();
+        ProductSlice slice = products().findSlice(categoryId, name("Phone"), page, 50, "name", true, null);
+        assertThat(slice.getItems()).isEmpty();
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(products().findAllByCategory(categoryId, page, 50, "name", true)).isEmpty();
+    }
+
+    @Test
+    void categoryVersionAndSubtree() {
+        Category root = newCategory("electronics", null);
+        Category child = newCategory("phones", root);
+        Category other = newCategory("books", null);
+
+        root.setDescription("changed");
+        Category updated = categories().save(root);
+        Category stale = categories().findById(root.getId()).orElseThrow();
+        stale.setVersion(0L);
+
+        assertThat(updated.getVersion()).isEqualTo(1L);
+        assertThatThrownBy(() -> categories().save(stale)).isInstanceOf(PreconditionFailedException.class);
+        assertThat(categories().findSubtree(root.getId()))
+                .extracting(Category::getId).containsExactlyInAnyOrder(root.getId(), child.getId());
+        assertThat(categories().findChildren(root.getId())).extracting(Category::getId).containsExactly(child.getId());
+        assertThat(categories().existsByNameAndParentId(child.getName(), root.getId())).isTrue();
+        assertThat(categories().existsByIdAndIsActiveTrue(other.getId())).isTrue();
+        assertThat(categories().findSubtree("missing")).isEmpty();
+    }
+
+    @Test
+    void moveRewritesTheWholeSubtreeAndRejectsStaleDescendants() {
+        Category root = newCategory("electronics", null);
+        Category phones = newCategory("phones", root);
+        Category smart = newCategory("smart", phones);
+        Category other = newCategory("outlet", null);
+        Category staleSmart = categories().findById(smart.getId()).orElseThrow();
+
+        phones.setParentId(other.getId());
+        phones.setPath(other.getPath() + phones.getId() + "/");
+        Category moved = categories().move(phones);
+
+        assertThat(moved.getVersion()).isEqualTo(1L);
+        assertThat(categories().findSubtree(root.getId())).extracting(Category::getId).containsExactly(root.getId());
+        assertThat(categories().findSubtree(other.getId()))
+                .extracting(Category::getId).containsExactlyInAnyOrder(other.getId(), phones.getId(), smart.getId());
+        Category movedSmart = categories().findById(smart.getId()).orElseThrow();
+        assertThat(movedSmart.getPath()).isEqualTo(moved.getPath() + smart.getId() + "/");
+        assertThat(movedSmart.getVersion()).isEqualTo(1L);
+        // an edit from a copy read before the move would put the old path back
+        staleSmart.setDescription("edited");
+        assertThatThrownBy(() -> categories().save(staleSmart)).isInstanceOf(PreconditionFailedException.class);
+        assertThat(categories().findById(smart.getId()).orElseThrow().getPath()).isEqualTo(movedSmart.getPath());
+    }
+
+    @Test
+    void everythingIsReplayedAfterARestart() {
+        Category root = newCategory("electronics", null);
+        Category child = newCategory("phones", root);
+        Product kept = products().insert(product(child.getId(), "Kept"));
+        Product hidden = products().insert(product(child.getId(), "Hidden"));
+        Product deleted = products().insert(product(child.getId(), "Deleted"));
+        kept.setPrice(150.0);
+        kept = products().save(kept);
+        hidden.setIsActive(false);
+        hidden = products().save(hidden);
+        products().deleteById(deleted.getId());
+
+        restart();
+
+        Product replayed = products().findById(kept.getId()).orElseThrow();
+        assertThat(replayed.getPrice()).isEqualTo(150.0);
+        assertThat(replayed.getVersion()).isEqualTo(kept.getVersion());
+        assertThat(products().findById(hidden.getId())).isEmpty();
+        assertThat(products().findById(deleted.getId())).isEmpty();
+        assertThat(products().countByCategory(child.getId())).isEqualTo(1);
+        assertThat(products().searchByCategory(child.getId(), name("Kept"), 0, 10, "name", true))
+                .extracting(Product::getId).containsExactly(kept.getId());
+        assertThat(products().findExistingSkus(Set.of(sku("Hidden"), sku("Deleted")))).containsExactly(sku("Hidden"));
+        assertThat(categories().findSubtree(root.getId()))
+                .extracting(Category::getId).containsExactlyInAnyOrder(root.getId(), child.getId());
+
+        // the change sequence continues after the replayed writes
+        Product after = products().insert(product(child.getId(), "After"));
+        assertThat(after.getChangeSeq()).isGreaterThan(hidden.getChangeSeq());
+        assertThat(products().findChanges(hidden.getChangeSeq(), 10).products())
+                .extracting(Product::getId).containsExactly(after.getId());
+    }
+
+    @Test
+    void concurrentWritesSurviveMaintenanceAndARestart() throws Exception {
+        String categoryId = newCategory("phones", null).getId();
+        int writers = 4;
+        int updates = 150;
+        List<Product> stored = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            stored.add(products().insert(product(categoryId, "Concurrent " + w)));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> work = new ArrayList<>();
+            for (Product p : stored) {
+                work.add(pool.submit(() -> {
+                    start.await();
+                    Product current = p;
+                    for (int i = 1; i <= updates; i++) {
+                        current.setDescription(description(i));
+                        current = products().save(current);
+                    }
+                    return null;
+                }));
+            }
+            Future<?> maintenance = pool.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    maintain();
+                }
+                return null;
+            });
+            Future<?> reader = pool.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    for (Product p : stored) {
+                        Product read = products().findById(p.getId()).orElseThrow();
+                        assertThat(read.getName()).isEqualTo(p.getName());
+                    }
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> f : work) {
+                f.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            maintenance.get(60, TimeUnit.SECONDS);
+            reader.get(60, TimeUnit.SECONDS);
+        } finally {
+            writing.set(false);
+            pool.shutdownNow();
+        }
+        maintain();
+
+        assertLatestWrites(stored, updates);
+        restart();
+        assertLatestWrites(stored, updates);
+        assertThat(products().countByCategory(categoryId)).isEqualTo(writers);
+    }
+
+    private void assertLatestWrites(List<Product> stored, int updates) {
+        for (Product p : stored) {
+            Product read = products().findById(p.getId()).orElseThrow();
+            assertThat(read.getVersion()).isEqualTo(updates);
+            assertThat(read.getDescription()).isEqualTo(description(updates));
+        }
+    }
+
+    private static String description(int revision) {
+        String prefix = "revision " + revision + " ";
+        return prefix + "x".repeat(DESCRIPTION_LENGTH - prefix.length());
+    }
+
+    protected Category newCategory(String name, Category parent) {
+        Category c = new Category();
+        c.setId(run + "-" + name);
+        c.setName(name + " " + run);
+        c.setParentId(parent == null ? null : parent.getId());
+        c.setPath((parent == null ? "/" : parent.getPath()) + c.getId() + "/");
+        c.setOrdering(0);
+        c.setIsActive(true);
+        return categories().save(c);
+    }
+
+    protected Product product(String categoryId, String name) {
+        Product p = new Product();
+        p.setName(name(name));
+        p.setSku(sku(name));
+        p.setDescription(name + " of run " + run);
+        p.setPrice(100.0);
+        p.setCurrency("TRY");
+        p.setIsActive(true);
+        p.setCategoryId(categoryId);
+        return p;
+    }
+
+    protected String name(String name) {
+        return name + " " + run;
+    }
+
+    protected String sku(String name) {
+        return ("SKU-" + name + "-" + run).replace(' ', '-').toUpperCase();
+    }
+}
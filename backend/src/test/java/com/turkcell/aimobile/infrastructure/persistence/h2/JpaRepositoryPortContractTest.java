@@ -0,0 +1,154 @@
+package com.turkcell.aimobile.infrastructure.persistence.h2;
+
+import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.infrastructure.catalog.ColumnarProductCatalog;
+import com.turkcell.aimobile.infrastructure.counter.ActiveProductCounts;
+import com.turkcell.aimobile.infrastructure.counter.ChangeSequence;
+import com.turkcell.aimobile.infrastructure.persistence.RepositoryPortContractTest;
+import com.turkcell.aimobile.infrastructure.persistence.h2.adapter.CategoryRepositoryJpaAdapter;
+import com.turkcell.aimobile.infrastructure.persistence.h2.adapter.ProductRepositoryJpaAdapter;
+import com.turkcell.aimobile.infrastructure.persistence.h2.repository.CategoryJpaRepository;
+import com.turkcell.aimobile.infrastructure.persistence.h2.repository.ProductJpaRepository;
+import com.turkcell.aimobile.infrastructure.search.ProductSearchIndex;
+import com.turkcell.aimobile.model.Category;
+import com.turkcell.aimobile.model.PriceBuckets;
+import jakarta.persistence.EntityManager;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the contract against the H2 adapters of the default profile. A restart keeps the
+ * database and builds new adapters with empty indexes and counters, loaded the way the
+ * ready event loads them.
+ */
+@SpringBootTest
+class JpaRepositoryPortContractTest extends RepositoryPortContractTest {
+
+    @Autowired
+    @Qualifier("store")
+    private ProductRepositoryPort storeProducts;
+
+    @Autowired
+    @Qualifier("store")
+    private CategoryRepositoryPort storeCategories;
+
+    @Autowired
+    private ProductJpaRepository productJpaRepository;
+
+    @Autowired
+    private CategoryJpaRepository categoryJpaRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private ProductRepositoryPort products;
+    private CategoryRepositoryPort categories;
+
+    @BeforeEach
+    void useTheContextAdapters() {
+        products = storeProducts;
+        categories = storeCategories;
+    }
+
+    // writes made through a restarted adapter went past the context's counters and indexes
+    @AfterEach
+    void reloadTheContextAdapter() {
+        if (products != storeProducts) {
+            ProductRepositoryJpaAdapter adapter = (ProductRepositoryJpaAdapter) storeProducts;
+            adapter.loadActiveCounts();
+            adapter.loadChangeSequence();
+            adapter.rebuildIndexes();
+        }
+    }
+
+    @Override
+    protected ProductRepositoryPort products() {
+        return products;
+    }
+
+    @Override
+    protected CategoryRepositoryPort categories() {
+        return categories;
+    }
+
+    @Override
+    protected void restart() {
+        ProductRepositoryJpaAdapter restarted = new ProductRepositoryJpaAdapter(productJpaRepository,
+                new ProductSearchIndex(), new ColumnarProductCatalog(), new ActiveProductCounts(),
+                new PriceBuckets(0, 100, 500), new ChangeSequence(), entityManager);
+        restarted.loadActiveCounts();
+        restarted.loadChangeSequence();
+        restarted.rebuildIndexes();
+        products = restarted;
+        categories = new CategoryRepositoryJpaAdapter(categoryJpaRepository);
+    }
+
+    // the database compacts itself
+    @Override
+    protected void maintain() {
+    }
+
+    @Test
+    void moveThatFailsOnADescendantLeavesTheWholeSubtreeInPlace() throws SQLException {
+        Category root = newCategory("electronics", null);
+        Category phones = newCategory("phones", root);
+        Category smart = newCategory("smart", phones);
+        Category feature = newCategory("feature", phones);
+        Category other = newCategory("outlet", null);
+
+        phones.setParentId(other.getId());
+        phones.setPath(other.getPath() + phones.getId() + "/");
+        FailingUpdate.id = feature.getId();
+        execute("CREATE TRIGGER fail_category_update BEFORE UPDATE ON categories FOR EACH ROW CALL '"
+                + FailingUpdate.class.getName() + "'");
+        try {
+            assertThatThrownBy(() -> categories().move(phones)).isInstanceOf(RuntimeException.class);
+        } finally {
+            execute("DROP TRIGGER fail_category_update");
+        }
+
+        Category stored = categories().findById(phones.getId()).orElseThrow();
+        assertThat(stored.getParentId()).isEqualTo(root.getId());
+        assertThat(stored.getVersion()).isZero();
+        assertThat(categories().findSubtree(root.getId())).extracting(Category::getId)
+                .containsExactlyInAnyOrder(root.getId(), phones.getId(), smart.getId(), feature.getId());
+        assertThat(categories().findById(smart.getId()).orElseThrow().getPath())
+                .isEqualTo(root.getPath() + phones.getId() + "/" + smart.getId() + "/");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    /** Rejects the update of one category row, as a lost connection or a constraint would. */
+    public static class FailingUpdate implements Trigger {
+
+        static volatile String id;
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+            if (oldRow != null && oldRow[0].equals(id)) {
+                throw new SQLException("update of " + id + " rejected");
+            }
+        }
+    }
+}
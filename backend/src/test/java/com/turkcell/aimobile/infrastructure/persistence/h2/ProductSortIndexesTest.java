@@ -0,0 +1,43 @@
+package com.turkcell.aimobile.infrastructure.persistence.h2;
+
+import com.turkcell.aimobile.model.ProductSortField;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ProductSortIndexesTest {
+
+    @Autowired
+    private ProductSortIndexes sortIndexes;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void everySortFieldIsIndexedForTheCatalogAndWithinACategory() {
+        for (ProductSortField field : ProductSortField.values()) {
+            assertThat(field.index()).isNotNull();
+            assertThat(field.categoryIndex()).isNotNull();
+        }
+
+        assertThatCode(sortIndexes::verify).doesNotThrowAnyException();
+    }
+
+    @Test
+    void aMissingCategorySortIndexIsReported() {
+        jdbc.execute("DROP INDEX idx_products_active_category_price");
+        try {
+            assertThatThrownBy(sortIndexes::verify)
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("idx_products_active_category_price");
+        } finally {
+            jdbc.execute("CREATE INDEX idx_products_active_category_price ON products (is_active, category_id, price)");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.turkcell.aimobile.infrastructure.persistence.mmap;
+
+import com.turkcell.aimobile.domain.port.CategoryRepositoryPort;
+import com.turkcell.aimobile.domain.port.ProductRepositoryPort;
+import com.turkcell.aimobile.infrastructure.catalog.ColumnarProductCatalog;
+import com.turkcell.aimobile.infrastructure.counter.ActiveProductCounts;
+import com.turkcell.aimobile.infrastructure.counter.ChangeSequence;
+import com.turkcell.aimobile.infrastructure.persistence.RepositoryPortContractTest;
+import com.turkcell.aimobile.infrastructure.search.ProductSearchIndex;
+import com.turkcell.aimobile.model.PriceBuckets;
+import com.turkcell.aimobile.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MmapRepositoryPortContractTest extends RepositoryPortContractTest {
+
+    @TempDir
+    Path directory;
+
+    private MmapProductRepository products;
+    private MmapCategoryRepository categories;
+
+    @BeforeEach
+    void open() {
+        // an hour between scheduled runs: maintenance only happens when a test asks for it
+        products = new MmapProductRepository(new ProductSearchIndex(), new ColumnarProductCatalog(),
+                new ActiveProductCounts(), new PriceBuckets(0, 100, 500), new ChangeSequence(),
+                directory.toString(), Duration.ofHours(1), 0.5);
+        categories = new MmapCategoryRepository(directory.toString());
+    }
+
+    @AfterEach
+    void close() {
+        products.close();
+        categories.close();
+    }
+
+    @Override
+    protected ProductRepositoryPort products() {
+        return products;
+    }
+
+    @Override
+    protected CategoryRepositoryPort categories() {
+        return categories;
+    }
+
+    @Override
+    protected void restart() {
+        close();
+        open();
+    }
+
+    @Override
+    protected void maintain() {
+        products.maintain();
+    }
+
+    @Test
+    void compactionDropsSupersededRecords() throws IOException {
+        String categoryId = newCategory("phones", null).getId();
+        Product p = products.insert(product(categoryId, "Phone"));
+        for (int i = 0; i < 600; i++) {
+            p.setDescription(String.valueOf(i).repeat(2000 / String.valueOf(i).length()));
+            p = products.save(p);
+        }
+        Path log = directory.resolve("products.log");
+        long before = Files.size(log);
+
+        products.maintain();
+
+        assertThat(Files.size(log)).isLessThan(before / 4);
+        assertThat(products.findById(p.getId())).get().extracting(Product::getVersion).isEqualTo(600L);
+        restart();
+        assertThat(products.findById(p.getId())).get().extracting(Product::getDescription)
+                .isEqualTo(p.getDescription());
+    }
+}
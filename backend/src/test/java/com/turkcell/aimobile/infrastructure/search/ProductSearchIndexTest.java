@@ -0,0 +1,118 @@
+package com.turkcell.aimobile.infrastructure.search;
+
+import com.turkcell.aimobile.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchIndexTest {
+
+    private final ProductSearchIndex index = new ProductSearchIndex();
+
+    private static Product product(String id, String name, String sku, String description) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName(name);
+        p.setSku(sku);
+        p.setDescription(description);
+        p.setIsActive(true);
+        p.setCategoryId("c1");
+        p.setCreatedAt(Instant.parse("2024-01-01T00:00:00Z"));
+        p.setUpdatedAt(p.getCreatedAt());
+        return p;
+    }
+
+    @Test
+    void descriptionMatchesOnlyRealSubstrings() {
+        for (int i = 0; i < 5; i++) {
+            index.index(product("p" + i, "Item " + i, "SKU-" + i, "abc xyz bcd item " + i));
+        }
+
+        ProductSearchIndex.Hits scattered = index.search("abcd", null, "name", true, 0, 10);
+        ProductSearchIndex.Hits real = index.search("xyz bcd", null, "name", true, 0, 10);
+
+        assertThat(scattered.ids()).isEmpty();
+        assertThat(scattered.total()).isZero();
+        assertThat(real.ids()).hasSize(5);
+        assertThat(real.total()).isEqualTo(5);
+    }
+
+    @Test
+    void nameAndSkuMatchesAreCaseInsensitiveAndRanked() {
+        index.index(product("exact", "Galaxy", "G-1", null));
+        index.index(product("prefix", "Galaxy S24", "G-2", null));
+        index.index(product("inner", "Samsung Galaxy", "G-3", null));
+        index.index(product("sku", "Phone", "GALAXY-9", null));
+
+        ProductSearchIndex.Hits hits = index.search("GALAXY", null, ProductSearchIndex.RELEVANCE, false, 0, 10);
+
+        assertThat(hits.ids()).containsExactly("exact", "prefix", "inner", "sku");
+    }
+
+    @Test
+    void windowsPastTheLastMatchAreEmptyHoweverDeep() {
+        index.index(product("p1", "Galaxy", "G-1", null));
+        index.index(product("p2", "Galaxy S24", "G-2", null));
+
+        ProductSearchIndex.Hits deep = index.search("galaxy", null, "name", true, (long) Integer.MAX_VALUE * 50, 50);
+
+        assertThat(deep.ids()).isEmpty();
+        assertThat(deep.total()).isEqualTo(2);
+        assertThat(index.search("galaxy", null, "name", true, 1, 50).ids()).containsExactly("p2");
+    }
+
+    @Test
+    void inactiveAndUpdatedProductsLeaveTheOldTextBehind() {
+        index.index(product("p1", "Old name", "S-1", null));
+        Product renamed = product("p1", "New name", "S-1", null);
+        index.index(renamed);
+        Product inactive = product("p2", "Old timer", "S-2", null);
+        inactive.setIsActive(false);
+        index.index(inactive);
+
+        assertThat(index.search("old", null, "name", true, 0, 10).ids()).isEmpty();
+        assertThat(index.search("new", null, "name", true, 0, 10).ids()).containsExactly("p1");
+    }
+
+    @Test
+    void purgeRenumbersAndShrinksTheDocs() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            products.add(product("p" + i, "Phone " + i, "SKU-" + i, "desc " + i));
+        }
+        index.indexAll(products);
+        for (int round = 0; round < 30; round++) {
+            for (Product p : products) {
+                p.setName("Phone " + p.getId() + " rev" + round);
+                index.index(p);
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(100);
+        assertThat(index.slots()).isLessThan(100 + 1024 + 100);
+        ProductSearchIndex.Hits hits = index.search("rev29", null, "name", true, 0, 200);
+        assertThat(hits.total()).isEqualTo(100);
+        assertThat(index.search("rev28", null, "name", true, 0, 200).ids()).isEmpty();
+        assertThat(index.search("p42 rev29", null, "name", true, 0, 10).ids()).containsExactly("p42");
+    }
+
+    @Test
+    void pagesAndKeysetContinuationCoverEveryHitOnce() {
+        for (int i = 0; i < 25; i++) {
+            index.index(product(String.format("p%02d", i), String.format("Tablet %02d", i), "T-" + i, null));
+        }
+
+        ProductSearchIndex.Hits first = index.searchAfter("tablet", null, "name", true, null, null, 10);
+        List<Object> lastKeys = first.keys().get(first.keys().size() - 1);
+        String lastId = first.ids().get(first.ids().size() - 1);
+        ProductSearchIndex.Hits second = index.searchAfter("tablet", null, "name", true, lastKeys, lastId, 10);
+        ProductSearchIndex.Hits offset = index.search("tablet", null, "name", true, 10, 10);
+
+        assertThat(first.ids()).startsWith("p00").hasSize(10);
+        assertThat(second.ids()).isEqualTo(offset.ids()).startsWith("p10");
+    }
+}
@@ -0,0 +1,58 @@
+package com.turkcell.aimobile.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductCopyTest {
+
+    private static Product sample() {
+        Product p = new Product();
+        p.setId("p1");
+        p.setName("Phone");
+        p.setSku("SKU-1");
+        p.setDescription("A phone");
+        p.setPrice(99.5);
+        p.setCurrency("TRY");
+        p.setIsActive(true);
+        p.setCategoryId("c1");
+        p.setImageUrl("https://example.com/p1.png");
+        p.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        p.setUpdatedAt(Instant.parse("2026-01-02T00:00:00Z"));
+        p.setVersion(3L);
+        p.setChangeSeq(42L);
+        return p;
+    }
+
+    @Test
+    void copyHasEveryAttributeAndIsDetached() {
+        Product source = sample();
+
+        Product copy = Product.copyOf(source);
+        source.setName("Changed");
+
+        assertThat(copy).isNotSameAs(source);
+        assertThat(copy).usingRecursiveComparison().isEqualTo(sample());
+    }
+
+    @Test
+    void sliceCopyKeepsItsPagingAndCopiesItsItems() {
+        ProductCursor cursor = new ProductCursor("name", true, List.of("Phone"), "p1");
+        ProductSlice keyset = new ProductSlice(List.of(sample()), cursor);
+        ProductSlice offset = new ProductSlice(List.of(sample()), true);
+
+        ProductSlice keysetCopy = ProductSlice.copyOf(keyset);
+        ProductSlice offsetCopy = ProductSlice.copyOf(offset);
+
+        assertThat(keysetCopy.getNext()).isSameAs(cursor);
+        assertThat(keysetCopy.getItems().get(0)).isNotSameAs(keyset.getItems().get(0))
+                .usingRecursiveComparison().isEqualTo(sample());
+        assertThat(offsetCopy.hasNext()).isTrue();
+        assertThat(offsetCopy.getNext()).isNull();
+        offsetCopy.getItems().clear();
+        assertThat(offset.getItems()).hasSize(1);
+    }
+}
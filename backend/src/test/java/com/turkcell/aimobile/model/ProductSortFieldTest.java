@@ -0,0 +1,26 @@
+package com.turkcell.aimobile.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSortFieldTest {
+
+    @Test
+    void parsesFieldAndDirectionInEitherSeparator() {
+        assertThat(ProductSortField.parse("price,asc", null)).isEqualTo(new ProductSortField.Requested("price", true));
+        assertThat(ProductSortField.parse(" name : DESC ", null)).isEqualTo(new ProductSortField.Requested("name", false));
+        assertThat(ProductSortField.parse("updatedAt:up", null)).isEqualTo(new ProductSortField.Requested("updatedAt", true));
+    }
+
+    @Test
+    void aBareFieldSortsDescending() {
+        assertThat(ProductSortField.parse("price", "tea")).isEqualTo(new ProductSortField.Requested("price", false));
+    }
+
+    @Test
+    void withoutASortSearchesRankByRelevanceAndListsShowTheLatestFirst() {
+        assertThat(ProductSortField.parse(null, "tea")).isEqualTo(new ProductSortField.Requested("relevance", false));
+        assertThat(ProductSortField.parse(" ", " ")).isEqualTo(new ProductSortField.Requested("createdAt", false));
+    }
+}
@@ -0,0 +1,91 @@
+package com.turkcell.aimobile.web.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Fill every slot, then complete them all with the same latency.
+    private static void saturatedRound(AdaptiveLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos, false);
+        }
+    }
+
+    @Test
+    void startsHalfwayAndRejectsOverTheLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 20);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(10);
+
+        limit.release(FAST, false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void steadyLatencyUnderFullLoadGrowsToTheMaximum() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 20);
+
+        for (int round = 0; round < 50; round++) {
+            saturatedRound(limit, FAST);
+        }
+
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    @Test
+    void risingLatencyShrinksTheLimit() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 20);
+        for (int round = 0; round < 50; round++) {
+            saturatedRound(limit, FAST);
+        }
+
+        for (int round = 0; round < 10; round++) {
+            saturatedRound(limit, SLOW);
+        }
+
+        assertThat(limit.limit()).isLessThan(10).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void lightLoadLeavesTheLimitAlone() {
+        AdaptiveLimit limit = new AdaptiveLimit(2, 20);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(i % 2 == 0 ? FAST : SLOW, false);
+        }
+
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void overloadCutsTheLimitButNotBelowTheMinimum() {
+        AdaptiveLimit limit = new AdaptiveLimit(4, 20);
+
+        limit.tryAcquire();
+        limit.release(FAST, true);
+        assertThat(limit.limit()).isEqualTo(9);
+
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, true);
+        }
+        assertThat(limit.limit()).isEqualTo(4);
+        assertThat(limit.inFlight()).isZero();
+    }
+}
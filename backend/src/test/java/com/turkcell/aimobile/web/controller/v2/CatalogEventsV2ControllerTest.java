@@ -0,0 +1,150 @@
+package com.turkcell.aimobile.web.controller.v2;
+
+import com.turkcell.aimobile.infrastructure.events.CatalogEventStream;
+import com.turkcell.aimobile.model.CatalogChange;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class CatalogEventsV2ControllerTest {
+
+    private static final Pattern ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private final CatalogEventStream stream =
+            new CatalogEventStream(8, 4, Duration.ofMinutes(1), Duration.ofHours(1), 2, 16);
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new CatalogEventsV2Controller(stream)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.close();
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        var request = get("/api/v2/catalog/events");
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+        return mvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static CatalogChange change(String id) {
+        return new CatalogChange(CatalogChange.Kind.PRODUCT, id, 1L, true);
+    }
+
+    // Waits until the stream has written at least {@code count} events and returns their ids.
+    private static List<Long> awaitIds(MockHttpServletResponse response, int count) throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        List<Long> ids = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            ids.clear();
+            Matcher m = ID.matcher(response.getContentAsString());
+            while (m.find()) {
+                ids.add(Long.parseLong(m.group(1)));
+            }
+            if (ids.size() >= count) {
+                return ids;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("expected " + count + " events, got: " + response.getContentAsString());
+    }
+
+    @Test
+    void newSubscriberGetsEventsPublishedAfterItConnected() throws Exception {
+        stream.publish(change("before"));
+        MvcResult result = subscribe(null);
+
+        stream.publish(change("a"));
+        stream.publish(change("b"));
+
+        List<Long> ids = awaitIds(result.getResponse(), 2);
+        String body = result.getResponse().getContentAsString();
+        assertThat(ids).hasSize(2);
+        assertThat(ids.get(1)).isEqualTo(ids.get(0) + 1);
+        assertThat(body).contains("event:product").contains("\"id\":\"a\"").contains("\"id\":\"b\"")
+                .doesNotContain("\"id\":\"before\"").doesNotContain("event:reset");
+    }
+
+    @Test
+    void reconnectingWithLastEventIdResumesAfterIt() throws Exception {
+        MvcResult first = subscribe(null);
+        stream.publish(change("a"));
+        stream.publish(change("b"));
+        stream.publish(change("c"));
+        List<Long> seen = awaitIds(first.getResponse(), 3);
+
+        MvcResult resumed = subscribe(Long.toString(seen.get(0)));
+
+        assertThat(awaitIds(resumed.getResponse(), 2)).containsExactly(seen.get(1), seen.get(2));
+        assertThat(resumed.getResponse().getContentAsString())
+                .doesNotContain("\"id\":\"a\"").doesNotContain("event:reset");
+    }
+
+    @Test
+    void resumingFromBeyondTheBufferStartsWithAReset() throws Exception {
+        MvcResult first = subscribe(null);
+        List<Long> seen = List.of();
+        for (int i = 0; i < 6; i++) {
+            // one at a time: a burst of more than max-lag events would disconnect this reader
+            stream.publish(change("p" + i));
+            seen = awaitIds(first.getResponse(), i + 1);
+        }
+
+        MvcResult tooOld = subscribe(Long.toString(seen.get(0)));
+        MvcResult unknown = subscribe("not-an-id");
+
+        assertThat(awaitIds(tooOld.getResponse(), 1)).containsExactly(seen.get(5));
+        assertThat(tooOld.getResponse().getContentAsString()).startsWith("id:" + seen.get(5) + "\nevent:reset");
+        assertThat(awaitIds(unknown.getResponse(), 1)).containsExactly(seen.get(5));
+        assertThat(unknown.getResponse().getContentAsString()).contains("event:reset");
+    }
+
+    @Test
+    void subscriberLaggingBeyondMaxLagIsDisconnected() throws Exception {
+        MvcResult result = subscribe(null);
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+
+        // published under the lock that drains also take, so none can run in between
+        synchronized (stream) {
+            for (int i = 0; i < 6; i++) {
+                stream.publish(change("p" + i));
+            }
+        }
+
+        result.getAsyncResult(5000);
+        assertThat(stream.subscriberCount()).isZero();
+    }
+
+    @Test
+    void subscriberIsDroppedWhenItsDrainCannotBeScheduled() throws Exception {
+        // a closed stream's pool takes no more work, like a full queue
+        stream.close();
+        MvcResult result = subscribe(null);
+        assertThat(stream.subscriberCount()).isEqualTo(1);
+
+        stream.publish(change("a"));
+
+        result.getAsyncResult(5000);
+        assertThat(stream.subscriberCount()).isZero();
+        assertThat(result.getResponse().getContentAsString()).doesNotContain("\"id\":\"a\"");
+    }
+}
@@ -0,0 +1,91 @@
+package com.turkcell.aimobile.web.controller.v2;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.turkcell.aimobile.application.ProductApplicationService;
+import com.turkcell.aimobile.model.BulkItemResult;
+import com.turkcell.aimobile.model.Product;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductsBulkV2ControllerTest {
+
+    private final ProductApplicationService service = mock(ProductApplicationService.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new ProductsBulkV2Controller(service, objectMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), 2)).build();
+    }
+
+    private static String rows(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> "{\"name\":\"Phone " + i + "\",\"price\":10,\"categoryId\":\"c1\"}")
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static List<BulkItemResult> created(List<Product> chunk) {
+        return chunk.stream().map(p -> BulkItemResult.created("id-" + p.getName())).toList();
+    }
+
+    private JsonNode importRows(String body) throws Exception {
+        String response = mvc.perform(post("/api/v2/products:bulk").contentType("application/x-ndjson").content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    @Test
+    void aFailureAfterTheFirstChunkStillEndsTheReport() throws Exception {
+        when(service.createAll(anyList()))
+                .thenAnswer(call -> created(call.getArgument(0)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        JsonNode report = importRows(rows(5));
+
+        assertThat(report.get("results")).hasSize(2);
+        assertThat(report.get("created").asInt()).isEqualTo(2);
+        assertThat(report.get("received").asInt()).isEqualTo(4);
+        assertThat(report.get("stoppedAtRow").asInt()).isEqualTo(2);
+        assertThat(report.get("error").asText()).isEqualTo("Import failed at row 2: SERVICE_UNAVAILABLE");
+    }
+
+    @Test
+    void malformedInputStopsAtItsRow() throws Exception {
+        when(service.createAll(anyList())).thenAnswer(call -> created(call.getArgument(0)));
+
+        JsonNode report = importRows(rows(1) + "\n{\"name\": ");
+
+        assertThat(report.get("created").asInt()).isEqualTo(1);
+        assertThat(report.get("stoppedAtRow").asInt()).isEqualTo(1);
+        assertThat(report.get("error").asText()).isEqualTo("Malformed input at row 1");
+    }
+
+    @Test
+    void aCompleteImportHasNoError() throws Exception {
+        when(service.createAll(anyList())).thenAnswer(call -> created(call.getArgument(0)));
+
+        JsonNode report = importRows(rows(3));
+
+        assertThat(report.get("created").asInt()).isEqualTo(3);
+        assertThat(report.has("error")).isFalse();
+        assertThat(report.has("stoppedAtRow")).isFalse();
+    }
+}
@@ -0,0 +1,64 @@
+package com.turkcell.aimobile.web.controller.v2;
+
+import com.turkcell.aimobile.application.ProductApplicationService;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductChanges;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductsV2ControllerChangesTest {
+
+    private final ProductApplicationService service = mock(ProductApplicationService.class);
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new ProductsV2Controller(service)).build();
+    }
+
+    private static Product product(String id, boolean active, long changeSeq) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName("name-" + id);
+        p.setIsActive(active);
+        p.setChangeSeq(changeSeq);
+        return p;
+    }
+
+    @Test
+    void inactiveProductsComeBackAsTombstones() throws Exception {
+        when(service.changesSince(10, 2)).thenReturn(new ProductChanges(
+                List.of(product("a", true, 11), product("b", false, 12)), 12, true));
+
+        mvc.perform(get("/api/v2/products/changes").param("since", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value("a"))
+                .andExpect(jsonPath("$.tombstones[0]").value("b"))
+                .andExpect(jsonPath("$.watermark").value(12))
+                .andExpect(jsonPath("$.hasMore").value(true));
+    }
+
+    @Test
+    void aFirstSyncStartsFromZero() throws Exception {
+        when(service.changesSince(0, 100)).thenReturn(new ProductChanges(List.of(), 0, false));
+
+        mvc.perform(get("/api/v2/products/changes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0))
+                .andExpect(jsonPath("$.watermark").value(0))
+                .andExpect(jsonPath("$.hasMore").value(false));
+        verify(service).changesSince(0, 100);
+    }
+}
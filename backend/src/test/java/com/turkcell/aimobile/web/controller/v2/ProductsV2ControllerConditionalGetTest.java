@@ -0,0 +1,80 @@
+package com.turkcell.aimobile.web.controller.v2;
+
+import com.turkcell.aimobile.application.ProductApplicationService;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.web.mapper.EntityTagCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductsV2ControllerConditionalGetTest {
+
+    private final ProductApplicationService service = mock(ProductApplicationService.class);
+    private final String tag = new EntityTagCodec().format(5L);
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new ProductsV2Controller(service)).build();
+        Product product = new Product();
+        product.setId("p1");
+        product.setName("Phone");
+        product.setVersion(5L);
+        when(service.getById("p1")).thenReturn(product);
+        when(service.catalogVersion()).thenReturn(9L);
+    }
+
+    @Test
+    void productIsTaggedWithItsVersion() throws Exception {
+        mvc.perform(get("/api/v2/products/p1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", tag))
+                .andExpect(jsonPath("$.id").value("p1"));
+    }
+
+    @Test
+    void currentProductTagIsNotModified() throws Exception {
+        mvc.perform(get("/api/v2/products/p1").header("If-None-Match", "W/" + tag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", tag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void staleProductTagGetsTheBody() throws Exception {
+        mvc.perform(get("/api/v2/products/p1").header("If-None-Match", new EntityTagCodec().format(4L)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Phone"));
+    }
+
+    // a tag of the same version issued by an earlier process, e.g. before a reseed
+    @Test
+    void sameVersionFromAnotherBootGetsTheBody() throws Exception {
+        mvc.perform(get("/api/v2/products/p1").header("If-None-Match", "\"5\", \"5-earlierboot\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", tag));
+    }
+
+    @Test
+    void currentCatalogRevisionSkipsTheListQuery() throws Exception {
+        mvc.perform(get("/api/v2/products").header("If-None-Match", "\"c9\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"c9\""));
+
+        verify(service, never()).listV2(any(), any(), any(), any(), anyString(), anyBoolean(), any());
+    }
+}
@@ -0,0 +1,104 @@
+package com.turkcell.aimobile.web.controller.v2;
+
+import com.turkcell.aimobile.application.ProductApplicationService;
+import com.turkcell.aimobile.model.Product;
+import com.turkcell.aimobile.model.ProductSlice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductsV2ControllerLookupTest {
+
+    private final ProductApplicationService service = mock(ProductApplicationService.class);
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new ProductsV2Controller(service)).build();
+        when(service.listV2Slice(any(), any(), any(), any(), anyString(), anyBoolean(), any()))
+                .thenReturn(new ProductSlice(List.of(), false));
+        when(service.listV2(any(), any(), any(), any(), anyString(), anyBoolean(), any())).thenReturn(List.of());
+        when(service.catalogVersion()).thenReturn(7L);
+    }
+
+    private static Product product(String id) {
+        Product p = new Product();
+        p.setId(id);
+        p.setName("Phone " + id);
+        return p;
+    }
+
+    @Test
+    void blankIdsIsAPlainList() throws Exception {
+        for (String ids : new String[]{"", " ", ",", " , "}) {
+            mvc.perform(get("/api/v2/products").param("ids", ids))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.missingIds").doesNotExist());
+        }
+
+        verify(service, never()).getByIds(any());
+    }
+
+    @Test
+    void blankEntriesAreSkippedInAMultiGet() throws Exception {
+        Product found = new Product();
+        found.setId("a");
+        found.setName("Phone");
+        when(service.getByIds(List.of("a", "b"))).thenReturn(List.of(found));
+
+        mvc.perform(get("/api/v2/products").param("ids", "a,, b ,"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("a"))
+                .andExpect(jsonPath("$.missingIds[0]").value("b"))
+                .andExpect(jsonPath("$.missingIds.length()").value(1));
+    }
+
+    @Test
+    void postMultiGetAnswersLikeTheGetForm() throws Exception {
+        when(service.getByIds(List.of("a", "b"))).thenReturn(List.of(product("a")));
+
+        String etag = mvc.perform(get("/api/v2/products").param("ids", "a,b"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(post("/api/v2/products:batchGet").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"a\",\"b\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.items[0].id").value("a"))
+                .andExpect(jsonPath("$.missingIds[0]").value("b"));
+    }
+
+    @Test
+    void postMultiGetHonoursIfNoneMatch() throws Exception {
+        String etag = mvc.perform(post("/api/v2/products:batchGet").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"a\"]}"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mvc.perform(post("/api/v2/products:batchGet").contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .content("{\"ids\":[\"a\"]}"))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verify(service, times(1)).getByIds(any());
+    }
+}
@@ -0,0 +1,66 @@
+package com.turkcell.aimobile.web.controller.v2;
+
+import com.turkcell.aimobile.application.ProductApplicationService;
+import com.turkcell.aimobile.model.ProductSlice;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProductsV2ControllerTotalsTest {
+
+    private final ProductApplicationService service = mock(ProductApplicationService.class);
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.standaloneSetup(new ProductsV2Controller(service)).build();
+        when(service.listV2Slice(any(), any(), any(), any(), anyString(), anyBoolean(), any()))
+                .thenReturn(new ProductSlice(List.of(), true));
+        when(service.listV2(any(), any(), any(), any(), anyString(), anyBoolean(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void searchWithoutIncludeTotalIsCountFree() throws Exception {
+        mvc.perform(get("/api/v2/products").param("q", "phone"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(service, never()).countV2(anyString(), any());
+        verify(service, never()).countV2(anyString());
+    }
+
+    @Test
+    void searchCountsWhenAskedTo() throws Exception {
+        when(service.countV2(eq("phone"), isNull())).thenReturn(42L);
+
+        mvc.perform(get("/api/v2/products").param("q", "phone").param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(42));
+    }
+
+    @Test
+    void plainListKeepsItsTotalByDefault() throws Exception {
+        when(service.countV2(isNull(), isNull())).thenReturn(7L);
+
+        mvc.perform(get("/api/v2/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(7));
+    }
+}
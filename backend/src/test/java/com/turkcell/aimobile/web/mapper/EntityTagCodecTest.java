@@ -0,0 +1,68 @@
+package com.turkcell.aimobile.web.mapper;
+
+import com.turkcell.aimobile.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EntityTagCodecTest {
+
+    private final EntityTagCodec codec = new EntityTagCodec("boot1");
+
+    @Test
+    void versionTagRoundTripsThroughIfMatch() {
+        String tag = codec.format(7L);
+
+        assertThat(tag).isEqualTo("\"7-boot1\"");
+        assertThat(codec.parseIfMatch(tag, "MISMATCH")).isEqualTo(7L);
+        assertThat(codec.parseIfMatch("  \"7\" ", "MISMATCH")).isEqualTo(7L);
+    }
+
+    @Test
+    void versionTagsOfAnotherBootDoNotMatch() {
+        String earlier = new EntityTagCodec("boot0").format(7L);
+
+        assertThat(codec.notModified(earlier, codec.format(7L))).isFalse();
+        assertThat(codec.notModified("\"7\"", codec.format(7L))).isFalse();
+        assertThat(codec.parseIfMatch(earlier, "MISMATCH")).isEqualTo(7L);
+        assertThat(new EntityTagCodec().format(7L)).isEqualTo(new EntityTagCodec().format(7L));
+    }
+
+    @Test
+    void absentOrWildcardIfMatchExpectsNoVersion() {
+        assertThat(codec.parseIfMatch(null, "MISMATCH")).isNull();
+        assertThat(codec.parseIfMatch(" ", "MISMATCH")).isNull();
+        assertThat(codec.parseIfMatch("*", "MISMATCH")).isNull();
+    }
+
+    @Test
+    void weakListedOrMalformedIfMatchFailsThePrecondition() {
+        for (String header : new String[]{"W/\"7\"", "\"7\", \"8\"", "7", "\"\"", "\"seven\"", "\"c123\"", "\"-7\""}) {
+            assertThatThrownBy(() -> codec.parseIfMatch(header, "MISMATCH"))
+                    .as(header)
+                    .isInstanceOf(PreconditionFailedException.class)
+                    .hasMessage("MISMATCH");
+        }
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        String etag = codec.formatRevision(42L);
+
+        assertThat(codec.notModified("\"c42\"", etag)).isTrue();
+        assertThat(codec.notModified("W/\"c42\"", etag)).isTrue();
+        assertThat(codec.notModified("\"c41\", \"c42\"", etag)).isTrue();
+        assertThat(codec.notModified("*", etag)).isTrue();
+    }
+
+    @Test
+    void ifNoneMatchMissesOnOtherOrAbsentTags() {
+        String etag = codec.formatRevision(42L);
+
+        assertThat(codec.notModified(null, etag)).isFalse();
+        assertThat(codec.notModified("", etag)).isFalse();
+        assertThat(codec.notModified("\"c41\"", etag)).isFalse();
+        assertThat(codec.notModified("\"42\"", etag)).isFalse();
+    }
+}
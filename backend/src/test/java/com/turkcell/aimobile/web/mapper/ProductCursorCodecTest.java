@@ -0,0 +1,82 @@
+package com.turkcell.aimobile.web.mapper;
+
+import com.turkcell.aimobile.model.ProductCursor;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductCursorCodecTest {
+
+    private final ProductCursorCodec codec = new ProductCursorCodec();
+
+    @Test
+    void roundTripsEverySortKeyType() {
+        ProductCursor relevance = new ProductCursor("relevance", false,
+                List.of(4.0, Instant.parse("2024-05-01T10:15:30.123456Z")), "p-1");
+        ProductCursor name = new ProductCursor("name", true, List.of("Ünlü çay, 1/2"), "p-2");
+
+        ProductCursor decodedRelevance = codec.decode(codec.encode(relevance, "tea", "c1"), "tea", "c1");
+        ProductCursor decodedName = codec.decode(codec.encode(name, null, null), "", " ");
+
+        assertThat(decodedRelevance.getSortBy()).isEqualTo("relevance");
+        assertThat(decodedRelevance.isAsc()).isFalse();
+        assertThat(decodedRelevance.getKeys()).isEqualTo(relevance.getKeys());
+        assertThat(decodedRelevance.getId()).isEqualTo("p-1");
+        assertThat(decodedName.getKeys()).containsExactly("Ünlü çay, 1/2");
+        assertThat(decodedName.isAsc()).isTrue();
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = codec.encode(new ProductCursor("name", true, List.of("a?b&c=d/+"), "id"), "q", null);
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsCursorReplayedAgainstOtherFilters() {
+        String token = codec.encode(new ProductCursor("price", true, List.of(10.0), "p-1"), "phone", "c1");
+
+        assertThatThrownBy(() -> codec.decode(token, "phone", "c2"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("filters");
+        assertThatThrownBy(() -> codec.decode(token, "tablet", "c1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void filtersWithEqualStringHashesStillGetDifferentFingerprints() {
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        String token = codec.encode(new ProductCursor("price", true, List.of(10.0), "p-1"), "Aa", null);
+
+        assertThatThrownBy(() -> codec.decode(token, "BB", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("filters");
+        assertThatThrownBy(() -> codec.decode(token, "Aa\u001f", ""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(codec.decode(token, "Aa", null).getId()).isEqualTo("p-1");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String wrongKeyType = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                String.join("\u001f", "2", fingerprintOf(), "price", "asc", "p-1", "snot-a-number").getBytes());
+
+        assertThatThrownBy(() -> codec.decode("%%%", null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> codec.decode("", null, null)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> codec.decode(wrongKeyType, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    // fingerprint of no filters, taken from a token the codec issued itself
+    private String fingerprintOf() {
+        String token = codec.encode(new ProductCursor("price", true, List.of(1.0), "x"), null, null);
+        return new String(Base64.getUrlDecoder().decode(token)).split("\u001f")[1];
+    }
+}
@@ -0,0 +1,49 @@
+package com.turkcell.aimobile.web.mapper;
+
+import com.turkcell.aimobile.model.ProductField;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductV2WebMapperFieldSetTest {
+
+    private final ProductV2WebMapper mapper = new ProductV2WebMapper();
+
+    @Test
+    void namedFieldsIgnoreSpacingAndEmptyEntries() {
+        assertThat(mapper.toFieldSet(" id, name,,price ", null))
+                .containsExactlyInAnyOrder(ProductField.ID, ProductField.NAME, ProductField.PRICE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {",", " , ,", ",,,"})
+    void fieldListNamingNothingIsRejected(String fields) {
+        assertThatThrownBy(() -> mapper.toFieldSet(fields, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at least one");
+    }
+
+    @Test
+    void unknownFieldIsRejected() {
+        assertThatThrownBy(() -> mapper.toFieldSet("id,colour", null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown field: colour");
+    }
+
+    @Test
+    void fieldsTakePrecedenceOverView() {
+        assertThat(mapper.toFieldSet("sku", "summary")).containsExactly(ProductField.SKU);
+    }
+
+    @Test
+    void viewSelectsSummaryOrFullRepresentation() {
+        assertThat(mapper.toFieldSet(null, null)).isNull();
+        assertThat(mapper.toFieldSet("", "full")).isNull();
+        assertThat(mapper.toFieldSet(null, "summary")).isEqualTo(ProductField.SUMMARY);
+        assertThatThrownBy(() -> mapper.toFieldSet(null, "compact"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
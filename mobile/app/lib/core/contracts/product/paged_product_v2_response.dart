@@ -28,15 +28,21 @@ class PagedProductV2Response {
   });
 
   /// Create from JSON
+  /// Search pages come without totals unless includeTotal=true is sent; they are
+  /// then derived from hasNext: items seen so far, and one more page while hasNext.
   factory PagedProductV2Response.fromJson(Map<String, dynamic> json) {
+    final items = (json['items'] as List<dynamic>)
+        .map((item) => ProductV2Response.fromJson(item as Map<String, dynamic>))
+        .toList();
+    final page = json['page'] as int;
+    final size = json['size'] as int;
+    final hasNext = json['hasNext'] as bool? ?? false;
     return PagedProductV2Response(
-      items: (json['items'] as List<dynamic>)
-          .map((item) => ProductV2Response.fromJson(item as Map<String, dynamic>))
-          .toList(),
-      page: json['page'] as int,
-      size: json['size'] as int,
-      totalItems: json['totalItems'] as int,
-      totalPages: json['totalPages'] as int,
+      items: items,
+      page: page,
+      size: size,
+      totalItems: json['totalItems'] as int? ?? page * size + items.length,
+      totalPages: json['totalPages'] as int? ?? (hasNext ? page + 2 : page + 1),
     );
   }
 
@@ -0,0 +1,37 @@
+import 'product_v2_response.dart';
+
+/// Product Changes Response V2 - mirrors backend ProductChangesV2Response
+/// Source: docs/openapi/products-v2.yaml (/products/changes)
+/// Per BR-11: one batch of the delta-sync feed
+class ProductChangesV2Response {
+  /// Active products changed since the requested watermark
+  final List<ProductV2Response> items;
+
+  /// Ids of products deactivated since the requested watermark (remove locally)
+  final List<String> tombstones;
+
+  /// Watermark to pass as `since` on the next call
+  final int watermark;
+
+  /// More changes are waiting; call again with [watermark]
+  final bool hasMore;
+
+  ProductChangesV2Response({
+    required this.items,
+    required this.tombstones,
+    required this.watermark,
+    required this.hasMore,
+  });
+
+  /// Create from JSON
+  factory ProductChangesV2Response.fromJson(Map<String, dynamic> json) {
+    return ProductChangesV2Response(
+      items: (json['items'] as List<dynamic>)
+          .map((item) => ProductV2Response.fromJson(item as Map<String, dynamic>))
+          .toList(),
+      tombstones: (json['tombstones'] as List<dynamic>).cast<String>(),
+      watermark: json['watermark'] as int,
+      hasMore: json['hasMore'] as bool,
+    );
+  }
+}
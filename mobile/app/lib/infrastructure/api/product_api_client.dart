@@ -1,6 +1,7 @@
 import '../../config/api_config.dart';
 import '../../core/contracts/product/product_v2_response.dart';
 import '../../core/contracts/product/paged_product_v2_response.dart';
+import '../../core/contracts/product/product_changes_v2_response.dart';
 import '../../core/contracts/product/create_product_v2_request.dart';
 import '../../core/contracts/product/update_product_v2_request.dart';
 import '../../core/pagination/pagination_params.dart';
@@ -50,6 +51,20 @@ class ProductApiClient {
     return PagedProductV2Response.fromJson(response);
   }
 
+  /// Products changed since [since] (delta sync)
+  /// Per BR-11: deactivated products come back as tombstones;
+  /// repeat with the returned watermark while hasMore is true
+  Future<ProductChangesV2Response> fetchChanges({
+    int since = 0,
+    int limit = 100,
+  }) async {
+    final response = await _httpClient.get(
+      '${ApiConfig.productsV2Path}/changes',
+      queryParams: {'since': '$since', 'limit': '$limit'},
+    );
+    return ProductChangesV2Response.fromJson(response);
+  }
+
   /// Get product by ID
   /// Per BR-04: Should return 404 for passive products (backend enforces)
   Future<ProductV2Response> getProductById(String id) async {